@@ -0,0 +1,124 @@
+package com.library.librarymanagement.benchmark;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the lookup of the books of one author.
+ * <p>
+ * The catalogue holds {@code catalogueSize} books, {@value #BOOKS_PER_AUTHOR} per author, so the
+ * result size is the same at every catalogue size. The lookup through the indexed
+ * {@code author_id} foreign key is compared with the lookup by author name that it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorBooksBenchmark {
+
+    static final int BOOKS_PER_AUTHOR = 10;
+
+    @Param({"1000", "100000"})
+    public int catalogueSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Author> authors;
+
+    /**
+     * Boots the application without the web layer and seeds authors and their books.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        bookRepository = context.getBean(BookRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        List<Author> newAuthors = new ArrayList<>();
+        for (int i = 0; i < catalogueSize / BOOKS_PER_AUTHOR; i++) {
+            newAuthors.add(BenchmarkApplication.author(i));
+        }
+        authors = context.getBean(AuthorRepository.class).saveAll(newAuthors);
+
+        for (int from = 0; from < catalogueSize; from += 1000) {
+            List<Book> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1000, catalogueSize); i++) {
+                Author author = authors.get(i % authors.size());
+                Book book = BenchmarkApplication.book(i);
+                book.setAuthor(author.getName());
+                book.setAuthorRef(author);
+                chunk.add(book);
+            }
+            bookRepository.saveAll(chunk);
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Loads the books of a random author through the {@code author_id} index, as
+     * {@code GET /authors/{id}/books} does.
+     *
+     * @return the books of the author
+     */
+    @Benchmark
+    public List<Book> byAuthorId() {
+        Author author = randomAuthor();
+        return bookRepository.findPageByAuthorId(author.getId(), 0L, Limit.of(100));
+    }
+
+    /**
+     * Loads the books of a random author by comparing the author name of every book.
+     *
+     * @return the books of the author
+     */
+    @Benchmark
+    public List<Book> byAuthorName() {
+        Author author = randomAuthor();
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager
+                    .createQuery("select b from Book b where b.author = :name order by b.id", Book.class)
+                    .setParameter("name", author.getName())
+                    .setMaxResults(100)
+                    .getResultList();
+        }
+    }
+
+    private Author randomAuthor() {
+        return authors.get(ThreadLocalRandom.current().nextInt(authors.size()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.library.librarymanagement.benchmark;
+
+import com.library.librarymanagement.LibraryManagementApplication;
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Helpers shared by the benchmarks to boot the application and build sample data.
+ * <p>
+ * Every context gets its own in-memory database, SQL logging and the banner are disabled,
+ * and the embedded server (when requested) listens on a random port.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Boots {@link LibraryManagementApplication} with benchmark-friendly settings. All requests
+     * of a benchmark come from one client, so the per-client rate limit is disabled.
+     *
+     * @param webApplicationType {@link WebApplicationType#NONE} for persistence-only benchmarks,
+     *                           {@link WebApplicationType#SERVLET} to start the embedded server
+     * @param properties         additional {@code key=value} properties, overriding
+     *                           {@code application.properties}
+     * @return the running application context
+     */
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--library.admission.rate-limit.requests-per-second=0",
+                "--server.port=0"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates a sample book.
+     *
+     * @param i sequence number used to vary the content
+     * @return a new transient book
+     */
+    static Book book(int i) {
+        return new Book("Benchmark title number " + i, "Author " + (i % 1000), 1900 + i % 125);
+    }
+
+    /**
+     * Creates a sample author.
+     *
+     * @param i sequence number used to vary the content
+     * @return a new transient author
+     */
+    static Author author(int i) {
+        return new Author("Author " + i, i % 2 == 0 ? "Italiana" : "Inglese");
+    }
+
+    /**
+     * Creates a sample user.
+     *
+     * @param i sequence number used to vary the content
+     * @return a new transient user
+     */
+    static User user(int i) {
+        return new User("User " + i, "user" + i + "@example.com");
+    }
+
+    /**
+     * Assigns an identifier to a transient entity, so that serialisation benchmarks see the same
+     * shape as persisted entities.
+     *
+     * @param entity the entity
+     * @param id     the identifier to assign
+     * @param <T>    the entity type
+     * @return {@code entity}
+     */
+    static <T> T withId(T entity, long id) {
+        return with(entity, "id", id);
+    }
+
+    /**
+     * Assigns a version to a transient entity, as if it had been stored.
+     *
+     * @param entity  the entity
+     * @param version the version to assign
+     * @param <T>     the entity type
+     * @return {@code entity}
+     */
+    static <T> T withVersion(T entity, long version) {
+        return with(entity, "version", version);
+    }
+
+    private static <T> T with(T entity, String name, long value) {
+        try {
+            Field field = entity.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(entity, value);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.library.librarymanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end benchmarks of the {@code /books} endpoints over HTTP.
+ * <p>
+ * The application runs with its embedded server on a random port and a catalogue of
+ * {@value #CATALOGUE_SIZE} books. Each benchmark covers the whole call path: HTTP parsing,
+ * {@code BookController}, the read cache, {@code BookRepository}, H2 and JSON serialisation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookControllerBenchmark {
+
+    static final int CATALOGUE_SIZE = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private ObjectMapper objectMapper;
+    private String baseUri;
+    private long[] ids;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Boots the application with its embedded server and seeds the catalogue.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        baseUri = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        objectMapper = context.getBean(ObjectMapper.class);
+        client = HttpClient.newHttpClient();
+
+        List<Book> books = new ArrayList<>(CATALOGUE_SIZE);
+        for (int i = 0; i < CATALOGUE_SIZE; i++) {
+            books.add(BenchmarkApplication.book(i));
+        }
+        ids = context.getBean(BookRepository.class).saveAll(books).stream().mapToLong(Book::getId).toArray();
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * {@code GET /books?after=&limit=100} from a random cursor.
+     *
+     * @return the response body
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    @Benchmark
+    public byte[] listPage() throws IOException, InterruptedException {
+        long after = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/books?limit=100&after=" + after)).build());
+    }
+
+    /**
+     * {@code GET /books/{id}} for a random book.
+     *
+     * @return the response body
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    @Benchmark
+    public byte[] getById() throws IOException, InterruptedException {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/books/" + id)).build());
+    }
+
+    /**
+     * {@code POST /books} with a new book.
+     *
+     * @return the response body
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    @Benchmark
+    public byte[] create() throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(BenchmarkApplication.book(sequence.incrementAndGet()));
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/books"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build());
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
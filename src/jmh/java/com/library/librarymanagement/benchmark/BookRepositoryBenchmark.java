@@ -0,0 +1,120 @@
+package com.library.librarymanagement.benchmark;
+
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks of the {@link BookRepository} operations behind the book endpoints.
+ * <p>
+ * The catalogue is seeded with {@code catalogueSize} books before the measurements, so the
+ * unbounded {@code findAll()} can be compared with a keyset page and a primary key lookup on
+ * the same data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int catalogueSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private long[] ids;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Boots the application without the web layer and seeds the catalogue.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        bookRepository = context.getBean(BookRepository.class);
+        ids = new long[catalogueSize];
+        for (int from = 0; from < catalogueSize; from += 1000) {
+            List<Book> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1000, catalogueSize); i++) {
+                chunk.add(BenchmarkApplication.book(i));
+            }
+            List<Book> saved = bookRepository.saveAll(chunk);
+            for (int i = 0; i < saved.size(); i++) {
+                ids[from + i] = saved.get(i).getId();
+            }
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Inserts a new book in its own transaction.
+     *
+     * @return the persisted book
+     */
+    @Benchmark
+    public Book save() {
+        return bookRepository.save(BenchmarkApplication.book(sequence.incrementAndGet()));
+    }
+
+    /**
+     * Loads one random book by primary key.
+     *
+     * @return the loaded book
+     */
+    @Benchmark
+    public Optional<Book> findById() {
+        return bookRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    /**
+     * Loads the whole catalogue, as the list endpoint did before keyset pagination.
+     *
+     * @return every book
+     */
+    @Benchmark
+    public List<Book> findAll() {
+        return bookRepository.findAll();
+    }
+
+    /**
+     * Loads one keyset page of 100 books starting at a random position.
+     *
+     * @return the page
+     */
+    @Benchmark
+    public List<Book> findPage() {
+        long after = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(100));
+    }
+}
@@ -0,0 +1,141 @@
+package com.library.librarymanagement.benchmark;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of one page of the book list, loaded as managed entities or as read-only copies.
+ * <p>
+ * {@code entities} runs the page query the list endpoint used before: a {@code select b} in a
+ * read-only transaction, which creates a persistence context entry and an {@code Author} proxy
+ * per book. {@code copies} runs the constructor-expression query that replaced it. Every book
+ * is linked to an author. Run with {@code -prof gc} to compare the allocations per page.
+ * <p>
+ * {@code titlePrefixRare} and {@code titlePrefixShort} load the same page filtered by title
+ * prefix, through the {@code title} index. The rare prefix matches one book; the short one,
+ * {@code B}, matches the whole catalogue. The query reads and sorts every matching row before
+ * it keeps the page, so its cost grows with the number of matches, not with the page size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    static final int CATALOGUE_SIZE = 10_000;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    /**
+     * Boots the application without the web layer and seeds a catalogue of linked books.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        bookRepository = context.getBean(BookRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Author> newAuthors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            newAuthors.add(BenchmarkApplication.author(i));
+        }
+        List<Author> authors = context.getBean(AuthorRepository.class).saveAll(newAuthors);
+        for (int from = 0; from < CATALOGUE_SIZE; from += 1000) {
+            List<Book> chunk = new ArrayList<>();
+            for (int i = from; i < from + 1000; i++) {
+                Book book = BenchmarkApplication.book(i);
+                book.setAuthorRef(authors.get(i % authors.size()));
+                chunk.add(book);
+            }
+            bookRepository.saveAll(chunk);
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Loads the first page as managed entities.
+     *
+     * @return the books of the page
+     */
+    @Benchmark
+    public List<Book> entities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select b from Book b where b.id > :after order by b.id", Book.class)
+                .setParameter("after", 0L)
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    /**
+     * Loads the first page as read-only copies, as the list endpoint does.
+     *
+     * @return the books of the page
+     */
+    @Benchmark
+    public List<Book> copies() {
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(pageSize));
+    }
+
+    /**
+     * Loads the first page of the books whose title starts with the title of the last one.
+     *
+     * @return the books of the page
+     */
+    @Benchmark
+    public List<Book> titlePrefixRare() {
+        return bookRepository.findPageByTitlePrefix("Benchmark title number " + (CATALOGUE_SIZE - 1), 0L,
+                Limit.of(pageSize));
+    }
+
+    /**
+     * Loads the first page of the books whose title starts with a single letter shared by all.
+     *
+     * @return the books of the page
+     */
+    @Benchmark
+    public List<Book> titlePrefixShort() {
+        return bookRepository.findPageByTitlePrefix("B", 0L, Limit.of(pageSize));
+    }
+}
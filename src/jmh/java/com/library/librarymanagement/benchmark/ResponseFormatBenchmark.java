@@ -0,0 +1,105 @@
+package com.library.librarymanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.library.librarymanagement.entity.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks of one page of books in each response format, with and without gzip.
+ * <p>
+ * Measures the CPU time to encode the page, as the message converter and Tomcat's compression
+ * filter do. The mappers are built like those of {@code ResponseFormatConfig}; gzip uses the
+ * default deflate level, as Tomcat does. The encoded size, i.e. the bytes on the wire, is
+ * printed at the end of each trial as {@code bytes on wire: <n>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    /**
+     * Builds the mapper of the format and the page to encode.
+     */
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(BenchmarkApplication.withId(BenchmarkApplication.book(i), i + 1));
+        }
+    }
+
+    /**
+     * Prints the size of the encoded page.
+     *
+     * @throws IOException if encoding fails
+     */
+    @TearDown(Level.Trial)
+    public void printSize() throws IOException {
+        System.out.printf("%nbytes on wire: %d%n", encode());
+    }
+
+    /**
+     * Encodes the page.
+     *
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int encode() throws IOException {
+        buffer.reset();
+        if (gzip) {
+            try (OutputStream out = new GZIPOutputStream(buffer, 8192)) {
+                objectMapper.writeValue(out, books);
+            }
+        } else {
+            objectMapper.writeValue(buffer, books);
+        }
+        return buffer.size();
+    }
+}
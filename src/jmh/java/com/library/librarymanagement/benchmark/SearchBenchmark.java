@@ -0,0 +1,80 @@
+package com.library.librarymanagement.benchmark;
+
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@code GET /books/search} on the in-memory index, at a million books.
+ * <p>
+ * The index is built directly, without an application context or a database. The catalogue
+ * mixes a few common words, shared by a large share of the titles, with rare ones:
+ * <ul>
+ *     <li>{@code calvino} — the author of 1 000 books</li>
+ *     <li>{@code barone rampante} — two title words of 1 000 and 1 100 books, 100 books having
+ *     both</li>
+ *     <li>{@code titolo4} — a prefix of 11 title words, {@code titolo4} to {@code titolo49},
+ *     shared by 110 000 books</li>
+ *     <li>{@code tit} — a prefix of a word of every title</li>
+ *     <li>{@code a}, {@code ca} — short terms, only matched as whole words, one book each</li>
+ *     <li>{@code il} — an article present in every other title</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SearchBenchmark {
+
+    @Param({"1000000"})
+    public int catalogueSize;
+
+    @Param({"calvino", "barone rampante", "titolo4", "tit", "a", "ca", "il"})
+    public String query;
+
+    private BookSearchIndex index;
+
+    /**
+     * Indexes the catalogue.
+     */
+    @Setup
+    public void setup() {
+        index = new BookSearchIndex();
+        for (int i = 0; i < catalogueSize; i++) {
+            index.index(BenchmarkApplication.withId(book(i), i + 1));
+        }
+    }
+
+    /**
+     * Searches the index for the first page of results, as the endpoint does by default.
+     *
+     * @return the hits, so the search is not optimised away
+     */
+    @Benchmark
+    public List<BookSearchHit> search() {
+        return index.search(query, 20);
+    }
+
+    private static Book book(int i) {
+        String title = (i % 2 == 0 ? "Il " : "") + "titolo" + (i % 100)
+                + (i % 1000 == 1 ? " barone" : "") + (i % 1000 == 2 || i % 10_000 == 1 ? " rampante" : "")
+                + " " + Integer.toString(i, Character.MAX_RADIX);
+        return new Book(title, i % 1000 == 3 ? "Italo Calvino" : "Autore " + (i % 5000), 1900 + i % 125);
+    }
+}
@@ -0,0 +1,195 @@
+package com.library.librarymanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.cache.CachedJsonHttpMessageConverter;
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JSON serialisation of entity lists, as performed by the list endpoints.
+ * <p>
+ * The {@link ObjectMapper} is built with {@link Jackson2ObjectMapperBuilder}, the same defaults
+ * Spring MVC applies to the application mapper.
+ * <p>
+ * {@link #booksToResponse()} and {@link #booksFromCache()} write the books into a response
+ * body: as the Jackson message converter does, and as {@link CachedJsonHttpMessageConverter}
+ * does for a repeated read, from encodings already in the {@link EntityCache}. The body is a
+ * reused buffer, like the response buffer of the server, so only the work of the converter is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final Type BOOK_LIST = ResolvableType.forClassWithGenerics(List.class, Book.class).getType();
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private List<Author> authors;
+    private List<User> users;
+    private CachedJsonHttpMessageConverter cachedConverter;
+    private final ResponseBuffer response = new ResponseBuffer();
+
+    /**
+     * Builds the lists to serialise.
+     */
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = new ArrayList<>(size);
+        authors = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(BenchmarkApplication.withId(BenchmarkApplication.book(i), i + 1));
+            authors.add(BenchmarkApplication.withId(BenchmarkApplication.author(i), i + 1));
+            users.add(BenchmarkApplication.withId(BenchmarkApplication.user(i), i + 1));
+        }
+        books.forEach(book -> BenchmarkApplication.withVersion(book, 0));
+        EntityCache<Book> bookCache = new EntityCache<>("books", Book::getId, Book::getVersion, size, 1,
+                DataSize.ofMegabytes(64).toBytes(), Duration.ofHours(1));
+        cachedConverter = new CachedJsonHttpMessageConverter(objectMapper).register(Book.class, bookCache);
+    }
+
+    /**
+     * Serialises the list of books.
+     *
+     * @return the JSON payload
+     * @throws JsonProcessingException if serialisation fails
+     */
+    @Benchmark
+    public byte[] books() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    /**
+     * Serialises the list of books into a response body.
+     *
+     * @return the size of the body
+     * @throws IOException if writing fails
+     */
+    @Benchmark
+    public int booksToResponse() throws IOException {
+        response.reset();
+        objectMapper.writeValue(response.getBody(), books);
+        return response.size();
+    }
+
+    /**
+     * Writes the list of books into a response body from the cached encodings of the books.
+     *
+     * @return the size of the body
+     * @throws IOException if writing fails
+     */
+    @Benchmark
+    public int booksFromCache() throws IOException {
+        response.reset();
+        cachedConverter.write(books, BOOK_LIST, MediaType.APPLICATION_JSON, response);
+        return response.size();
+    }
+
+    /**
+     * Serialises the list of authors.
+     *
+     * @return the JSON payload
+     * @throws JsonProcessingException if serialisation fails
+     */
+    @Benchmark
+    public byte[] authors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    /**
+     * Serialises the list of users.
+     *
+     * @return the JSON payload
+     * @throws JsonProcessingException if serialisation fails
+     */
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    /**
+     * A response body kept in a growing array that is reused from one response to the next.
+     */
+    private static final class ResponseBuffer extends OutputStream implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private byte[] bytes = new byte[8192];
+        private int size;
+
+        void reset() {
+            headers.clear();
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
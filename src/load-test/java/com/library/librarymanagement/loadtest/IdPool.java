@@ -0,0 +1,73 @@
+package com.library.librarymanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The identifiers of the entities of one resource known to exist on the server.
+ * <p>
+ * Clients pick random identifiers for reads and updates, add the identifiers of the entities
+ * they create and take out the ones they delete, so deletes never target the same entity twice.
+ */
+final class IdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    /**
+     * Adds identifiers to the pool.
+     *
+     * @param newIds the identifiers of existing entities
+     */
+    synchronized void addAll(Collection<Long> newIds) {
+        ids.addAll(newIds);
+    }
+
+    /**
+     * Adds one identifier to the pool.
+     *
+     * @param id the identifier of an existing entity
+     */
+    synchronized void add(long id) {
+        ids.add(id);
+    }
+
+    /**
+     * Returns a random identifier, leaving it in the pool.
+     *
+     * @return an identifier, or empty if the pool is empty
+     */
+    synchronized OptionalLong pick() {
+        if (ids.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    /**
+     * Removes and returns a random identifier.
+     *
+     * @return an identifier, or empty if the pool is empty
+     */
+    synchronized OptionalLong take() {
+        if (ids.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return OptionalLong.of(id);
+    }
+
+    /**
+     * Returns the number of identifiers in the pool.
+     *
+     * @return the pool size
+     */
+    synchronized int size() {
+        return ids.size();
+    }
+}
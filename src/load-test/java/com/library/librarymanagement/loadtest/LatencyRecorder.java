@@ -0,0 +1,199 @@
+package com.library.librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distributions and status counts of a load test run, one per resource and operation.
+ * <p>
+ * Latencies are recorded in microseconds into HdrHistograms with three significant digits, so
+ * percentiles up to p99.9 and the maximum are exact to 0.1%. The report embeds each histogram
+ * in its compressed, base64-encoded form, which the HdrHistogram tools can decode to compare or
+ * merge runs offline.
+ */
+final class LatencyRecorder {
+
+    /**
+     * Status recorded when the request failed without an HTTP response.
+     */
+    static final int NO_RESPONSE = -1;
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final Map<Resource, Map<Operation, Series>> series = new EnumMap<>(Resource.class);
+
+    /**
+     * Creates a recorder for the given resources.
+     *
+     * @param resources the resources driven by the run
+     */
+    LatencyRecorder(Iterable<Resource> resources) {
+        for (Resource resource : resources) {
+            Map<Operation, Series> byOperation = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                byOperation.put(operation, new Series());
+            }
+            series.put(resource, byOperation);
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param resource     the resource
+     * @param operation    the operation
+     * @param status       the HTTP status, or {@link #NO_RESPONSE}
+     * @param latencyNanos the latency, from the intended start of the request to the end of the
+     *                     response
+     */
+    void record(Resource resource, Operation operation, int status, long latencyNanos) {
+        Series s = series.get(resource).get(operation);
+        s.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        s.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            s.errors.increment();
+        }
+    }
+
+    /**
+     * Writes the JSON report and prints a summary table.
+     *
+     * @param options   the options of the run
+     * @param target    the base URI of the server
+     * @param startedAt when the measured part of the run started
+     * @param measured  the length of the measured part of the run, in nanoseconds
+     * @param out       where to print the summary
+     * @throws IOException if the report cannot be written
+     */
+    void report(LoadTestOptions options, String target, Instant startedAt, long measured, PrintStream out)
+            throws IOException {
+        double seconds = measured / 1e9;
+        List<Map<String, Object>> results = new ArrayList<>();
+        Histogram total = newHistogram();
+        long totalErrors = 0;
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+
+        out.printf("%n%-8s %-7s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "RESOURCE", "OP", "COUNT", "ERRORS", "REQ/S", "P50 ms", "P90 ms", "P99 ms", "P99.9 ms", "MAX ms");
+        for (Map.Entry<Resource, Map<Operation, Series>> byResource : series.entrySet()) {
+            for (Map.Entry<Operation, Series> entry : byResource.getValue().entrySet()) {
+                Series s = entry.getValue();
+                Histogram histogram = s.histogram.copy();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                Map<Integer, Long> statuses = s.statuses();
+                long errors = s.errors.sum();
+                total.add(histogram);
+                totalErrors += errors;
+                statuses.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("resource", byResource.getKey().path());
+                result.put("operation", entry.getKey().name());
+                result.putAll(summary(histogram, errors, statuses, seconds));
+                results.add(result);
+                print(out, byResource.getKey().name(), entry.getKey().name(), histogram, errors, seconds);
+            }
+        }
+        print(out, "TOTAL", "", total, totalErrors, seconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("target", target);
+        report.put("stack", options.target() == null ? options.stack().name().toLowerCase() : null);
+        report.put("clients", options.clients());
+        report.put("mode", options.openLoop() ? "open-loop" : "closed-loop");
+        report.put("targetRate", options.openLoop() ? options.rate() : null);
+        report.put("mix", options.mix());
+        report.put("warmupSeconds", options.warmup().toMillis() / 1e3);
+        report.put("measuredSeconds", seconds);
+        report.put("latencyUnit", "microseconds");
+        report.put("total", summary(total, totalErrors, totalStatuses, seconds));
+        report.put("results", results);
+
+        Path file = options.report().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        out.printf("%nReport written to %s%n", file);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, Map<Integer, Long> statuses,
+                                               double seconds) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latency.put(PERCENTILE_NAMES[i], histogram.getValueAtPercentile(PERCENTILES[i]));
+        }
+        latency.put("max", histogram.getMaxValue());
+        latency.put("mean", histogram.getMean());
+        latency.put("stdDev", histogram.getStdDeviation());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        summary.put("statuses", statuses);
+        summary.put("latency", latency);
+        summary.put("histogram", encode(histogram));
+        return summary;
+    }
+
+    private static void print(PrintStream out, String resource, String operation, Histogram histogram, long errors,
+                              double seconds) {
+        out.printf("%-8s %-7s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                resource, operation, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(90) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMaxValue() / 1e3);
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * The recorded data of one resource and operation.
+     */
+    private static final class Series {
+
+        private final ConcurrentHistogram histogram =
+                new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        private Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
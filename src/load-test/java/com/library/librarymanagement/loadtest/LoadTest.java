@@ -0,0 +1,297 @@
+package com.library.librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.LibraryManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load generator for the {@code /books}, {@code /authors} and {@code /users} endpoints.
+ * <p>
+ * A run goes through the following steps:
+ * <ol>
+ *     <li>start the application in-process on a random port, MVC or reactive depending on
+ *     {@code --stack}, unless {@code --target} points to a running server. All clients share one
+ *     address, so the per-client rate limit of the server is disabled unless set with
+ *     {@code --app.};</li>
+ *     <li>seed every resource through its {@code /batch} endpoint;</li>
+ *     <li>start one virtual thread per client, each sending requests drawn from the configured
+ *     mix of operations and resources;</li>
+ *     <li>discard the warm-up, record the latency of every request of the measured part in a
+ *     {@link LatencyRecorder}, then print a summary and write the JSON report.</li>
+ * </ol>
+ * In open-loop mode ({@code --rate}) every request has an intended start time on a fixed
+ * schedule and its latency is measured from that time, so a stalled server shows up in the
+ * percentiles instead of silently lowering the request rate (coordinated omission).
+ *
+ * @see LoadTestOptions
+ */
+public final class LoadTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int SEED_CHUNK_SIZE = 500;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String REACTIVE_APPLICATION =
+            "com.library.librarymanagement.reactive.ReactiveLibraryApplication";
+    private static final String RATE_LIMIT_PROPERTY = "library.admission.rate-limit.requests-per-second";
+
+    private final LoadTestOptions options;
+    private final String target;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Resource, IdPool> pools = new EnumMap<>(Resource.class);
+    // Starts from the clock so that repeated runs against the same server create unique emails
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Resource[] resources;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private LoadTest(LoadTestOptions options, String target, HttpClient client) {
+        this.options = options;
+        this.target = target;
+        this.client = client;
+        this.resources = options.resources().toArray(Resource[]::new);
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += options.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        for (Resource resource : resources) {
+            pools.put(resource, new IdPool());
+        }
+    }
+
+    /**
+     * Runs a load test.
+     *
+     * @param args the options, see {@link LoadTestOptions}
+     * @throws Exception if the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.target() == null ? start(options.stack(), options.app()) : null;
+        String target = context == null
+                ? options.target().replaceAll("/+$", "")
+                : "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(httpExecutor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(REQUEST_TIMEOUT)
+                     .build()) {
+            new LoadTest(options, target, client).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Stack stack, Map<String, String> properties)
+            throws ClassNotFoundException {
+        String database = "load-test-" + UUID.randomUUID();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0"));
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        if (!properties.containsKey(RATE_LIMIT_PROPERTY)) {
+            // every client of the run has the same address
+            args.add("--" + RATE_LIMIT_PROPERTY + "=0");
+        }
+        SpringApplicationBuilder application = switch (stack) {
+            case MVC -> new SpringApplicationBuilder(LibraryManagementApplication.class);
+            // Only compiled with the reactive Maven profile, hence looked up by name
+            case REACTIVE -> new SpringApplicationBuilder(Class.forName(REACTIVE_APPLICATION))
+                    .profiles("reactive")
+                    .web(WebApplicationType.REACTIVE);
+        };
+        return application.run(args.toArray(String[]::new));
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Target %s, %d clients, %s, mix %s%n", target, options.clients(),
+                options.openLoop() ? options.rate() + " req/s" : "closed loop", options.mix());
+        for (Resource resource : resources) {
+            seed(resource);
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder(options.resources());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        Instant measuredAt = Instant.now().plus(options.warmup());
+        System.out.printf("Warming up for %s, then recording for %s%n", options.warmup(), options.duration());
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                int clientIndex = i;
+                clients.submit(() -> {
+                    drive(clientIndex, start, measureFrom, end, recorder);
+                    return null;
+                });
+            }
+        }
+        recorder.report(options, target, measuredAt, end - measureFrom, System.out);
+    }
+
+    /**
+     * The loop of one client: sends requests until the end of the run.
+     */
+    private void drive(int clientIndex, long start, long measureFrom, long end, LatencyRecorder recorder)
+            throws InterruptedException {
+        // In open-loop mode the clients share the schedule, each taking every clients-th slot
+        long interval = options.openLoop() ? (long) (options.clients() * 1e9 / options.rate()) : 0;
+        long next = start + (options.openLoop() ? interval * clientIndex / options.clients() : 0);
+        while (true) {
+            long intended = options.openLoop() ? next : System.nanoTime();
+            if (intended >= end) {
+                return;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Resource resource = resources[ThreadLocalRandom.current().nextInt(resources.length)];
+            Outcome outcome = execute(resource, pickOperation());
+            if (intended >= measureFrom) {
+                recorder.record(resource, outcome.operation(), outcome.status(), System.nanoTime() - intended);
+            }
+            next += interval;
+        }
+    }
+
+    private Operation pickOperation() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Sends one request. Reads, updates and deletes fall back to a create when no entity is
+     * left in the pool, and the fallback is recorded as such.
+     */
+    private Outcome execute(Resource resource, Operation operation) throws InterruptedException {
+        IdPool pool = pools.get(resource);
+        String base = target + resource.path();
+        OptionalLong id = switch (operation) {
+            case GET, PUT -> pool.pick();
+            case DELETE -> pool.take();
+            case LIST, POST -> OptionalLong.empty();
+        };
+        if (id.isEmpty() && operation != Operation.LIST && operation != Operation.POST) {
+            operation = Operation.POST;
+        }
+
+        HttpRequest request = switch (operation) {
+            case GET -> HttpRequest.newBuilder(URI.create(base + "/" + id.getAsLong())).timeout(REQUEST_TIMEOUT).GET().build();
+            case LIST -> HttpRequest.newBuilder(URI.create(base + "?limit=" + PAGE_SIZE + "&after="
+                    + pool.pick().orElse(0))).timeout(REQUEST_TIMEOUT).GET().build();
+            case POST -> json(HttpRequest.newBuilder(URI.create(base)), "POST", resource.body(sequence.incrementAndGet()));
+            case PUT -> json(HttpRequest.newBuilder(URI.create(base + "/" + id.getAsLong())), "PUT",
+                    resource.body(sequence.incrementAndGet()));
+            case DELETE -> HttpRequest.newBuilder(URI.create(base + "/" + id.getAsLong())).timeout(REQUEST_TIMEOUT).DELETE().build();
+        };
+
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (operation == Operation.DELETE) {
+                pool.add(id.getAsLong());
+            }
+            return new Outcome(operation, LatencyRecorder.NO_RESPONSE);
+        }
+
+        boolean success = response.statusCode() / 100 == 2;
+        if (operation == Operation.POST && success) {
+            // a book accepted in write-behind mode (202) has no ID yet
+            readId(response.body()).ifPresent(pool::add);
+        } else if (operation == Operation.DELETE && !success && response.statusCode() != 404) {
+            pool.add(id.getAsLong());
+        }
+        return new Outcome(operation, response.statusCode());
+    }
+
+    /**
+     * Creates {@code --seed} entities through the batch endpoint and fills the pool with their IDs.
+     */
+    private void seed(Resource resource) throws IOException, InterruptedException {
+        for (int from = 0; from < options.seed(); from += SEED_CHUNK_SIZE) {
+            List<Map<String, Object>> bodies = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_CHUNK_SIZE, options.seed()); i++) {
+                bodies.add(resource.body(sequence.incrementAndGet()));
+            }
+            HttpResponse<byte[]> response = client.send(
+                    json(HttpRequest.newBuilder(URI.create(target + resource.path() + "/batch")), "POST", bodies),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding " + resource.path() + " failed with " + response.statusCode());
+            }
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode item : objectMapper.readTree(response.body())) {
+                if (item.hasNonNull("id")) {
+                    ids.add(item.get("id").asLong());
+                }
+            }
+            pools.get(resource).addAll(ids);
+        }
+        System.out.printf("Seeded %d %s%n", pools.get(resource).size(), resource.path());
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+        try {
+            return builder.timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OptionalLong readId(byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            return id != null && id.isNumber() ? OptionalLong.of(id.asLong()) : OptionalLong.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The operation actually performed by a request and the status it returned.
+     */
+    private record Outcome(Operation operation, int status) {
+    }
+}
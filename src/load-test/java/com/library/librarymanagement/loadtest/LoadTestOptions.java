@@ -0,0 +1,143 @@
+package com.library.librarymanagement.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a load test run, parsed from {@code --name=value} command-line arguments.
+ *
+ * <h2>Options</h2>
+ * <ul>
+ *     <li><strong>--target</strong> — base URI of a running server; when absent the application
+ *     is started in-process on a random port with a private in-memory database</li>
+ *     <li><strong>--stack</strong> — application started in-process: {@code mvc} (the default) or
+ *     {@code reactive}, which needs the {@code reactive} Maven profile; ignored with
+ *     {@code --target}</li>
+ *     <li><strong>--resources</strong> — comma-separated resources to drive
+ *     (default {@code books,authors,users})</li>
+ *     <li><strong>--mix</strong> — relative weights of the operations, e.g.
+ *     {@code GET:60,LIST:20,POST:10,PUT:5,DELETE:5} (the default)</li>
+ *     <li><strong>--clients</strong> — number of concurrent virtual-thread clients (default 64)</li>
+ *     <li><strong>--rate</strong> — total requests per second for an open-loop run; {@code 0}
+ *     (the default) runs closed-loop, each client sending its next request as soon as the
+ *     previous one completes</li>
+ *     <li><strong>--warmup</strong> — load applied before recording starts (default {@code 10s})</li>
+ *     <li><strong>--duration</strong> — recorded part of the run (default {@code 30s})</li>
+ *     <li><strong>--seed</strong> — entities created per resource before the run (default 1000)</li>
+ *     <li><strong>--report</strong> — JSON report location
+ *     (default {@code target/load-test/report.json})</li>
+ *     <li><strong>--app.&lt;property&gt;</strong> — application property passed to the in-process
+ *     server, e.g. {@code --app.spring.jpa.show-sql=true}; ignored with {@code --target}</li>
+ * </ul>
+ *
+ * @param target    the base URI of the server, or {@code null} to start one in-process
+ * @param stack     the application to start in-process
+ * @param resources the resources to drive
+ * @param mix       the weight of each operation
+ * @param clients   the number of concurrent clients
+ * @param rate      the total request rate per second, {@code 0} for a closed-loop run
+ * @param warmup    the warm-up duration
+ * @param duration  the measured duration
+ * @param seed      the number of entities created per resource before the run
+ * @param report    the JSON report location
+ * @param app       the application properties of the in-process server
+ */
+record LoadTestOptions(String target, Stack stack, Set<Resource> resources, Map<Operation, Integer> mix,
+                       int clients, double rate, Duration warmup, Duration duration, int seed,
+                       Path report, Map<String, String> app) {
+
+    /**
+     * Parses the command-line arguments, applying the defaults for missing options.
+     *
+     * @param args the command-line arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> app = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String name = arg.substring(2, separator);
+            if (name.startsWith("app.")) {
+                app.put(name.substring("app.".length()), arg.substring(separator + 1));
+            } else {
+                values.put(name, arg.substring(separator + 1));
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("target"),
+                Stack.valueOf(values.getOrDefault("stack", "mvc").trim().toUpperCase()),
+                parseResources(values.getOrDefault("resources", "books,authors,users")),
+                parseMix(values.getOrDefault("mix", "GET:60,LIST:20,POST:10,PUT:5,DELETE:5")),
+                Integer.parseInt(values.getOrDefault("clients", "64")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                Integer.parseInt(values.getOrDefault("seed", "1000")),
+                Path.of(values.getOrDefault("report", "target/load-test/report.json")),
+                app);
+
+        values.keySet().removeAll(Set.of("stack", "resources", "mix", "clients", "rate", "warmup",
+                "duration", "seed", "report"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.clients < 1) {
+            throw new IllegalArgumentException("--clients must be at least 1");
+        }
+        if (options.seed < 1) {
+            throw new IllegalArgumentException("--seed must be at least 1");
+        }
+        return options;
+    }
+
+    /**
+     * Returns whether the run paces requests at a fixed rate.
+     *
+     * @return {@code true} for an open-loop run
+     */
+    boolean openLoop() {
+        return rate > 0;
+    }
+
+    private static Set<Resource> parseResources(String value) {
+        Set<Resource> resources = EnumSet.noneOf(Resource.class);
+        for (String name : value.split(",")) {
+            resources.add(Resource.valueOf(name.trim().toUpperCase()));
+        }
+        return resources;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected OPERATION:weight but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + entry);
+            }
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain at least one operation");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.librarymanagement.loadtest;
+
+/**
+ * The requests a load test client can send against a {@link Resource}.
+ */
+enum Operation {
+
+    /**
+     * {@code GET /{resource}/{id}} for a random existing entity.
+     */
+    GET,
+
+    /**
+     * {@code GET /{resource}?after={id}&limit=100} from a random cursor.
+     */
+    LIST,
+
+    /**
+     * {@code POST /{resource}} with a new entity.
+     */
+    POST,
+
+    /**
+     * {@code PUT /{resource}/{id}} on a random existing entity.
+     */
+    PUT,
+
+    /**
+     * {@code DELETE /{resource}/{id}} of a random existing entity.
+     */
+    DELETE
+}
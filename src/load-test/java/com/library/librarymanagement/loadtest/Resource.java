@@ -0,0 +1,55 @@
+package com.library.librarymanagement.loadtest;
+
+import java.util.Map;
+
+/**
+ * The REST resources exercised by the load test, with the request bodies used to create and
+ * update them.
+ */
+enum Resource {
+
+    BOOKS("/books") {
+        @Override
+        Map<String, Object> body(long n) {
+            return Map.of("title", "Load test title " + n, "author", "Author " + n % 1000,
+                    "publicationYear", 1900 + (int) (n % 125));
+        }
+    },
+
+    AUTHORS("/authors") {
+        @Override
+        Map<String, Object> body(long n) {
+            return Map.of("name", "Author " + n, "nationality", n % 2 == 0 ? "Italiana" : "Inglese");
+        }
+    },
+
+    USERS("/users") {
+        @Override
+        Map<String, Object> body(long n) {
+            return Map.of("name", "User " + n, "email", "loadtest" + n + "@example.com");
+        }
+    };
+
+    private final String path;
+
+    Resource(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the collection path of the resource.
+     *
+     * @return the path, e.g. {@code /books}
+     */
+    String path() {
+        return path;
+    }
+
+    /**
+     * Builds the JSON body of a create or update request.
+     *
+     * @param n a unique sequence number used to vary the content
+     * @return the fields of the entity
+     */
+    abstract Map<String, Object> body(long n);
+}
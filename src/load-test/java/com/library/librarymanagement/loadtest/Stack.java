@@ -0,0 +1,18 @@
+package com.library.librarymanagement.loadtest;
+
+/**
+ * The serving stacks the load test can start in-process.
+ */
+enum Stack {
+
+    /**
+     * Spring MVC on Tomcat with JPA, {@code LibraryManagementApplication}.
+     */
+    MVC,
+
+    /**
+     * Spring WebFlux on Netty with R2DBC, {@code ReactiveLibraryApplication}; needs the
+     * {@code reactive} Maven profile.
+     */
+    REACTIVE
+}
@@ -0,0 +1,233 @@
+package com.library.librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark: time from launching the JVM to the first successful {@code GET /books}.
+ * <p>
+ * Every run starts the application in a new JVM from the jar extracted by the
+ * {@code fast-startup} Maven profile, polls {@code GET /books?limit=1} every few milliseconds
+ * until it answers 200, then stops the process. The modes are run in turns, so that a change of
+ * machine load affects all of them alike.
+ *
+ * <h2>Options</h2>
+ * <ul>
+ *     <li><strong>--dir</strong> — directory of the extracted jar and of the CDS archive
+ *     (default {@code target/fast-startup})</li>
+ *     <li><strong>--modes</strong> — comma-separated modes to compare, each a {@code +}-separated
+ *     combination of {@code aot}, {@code cds} and {@code lazy}, or {@code plain}
+ *     (default {@code plain,aot,cds,aot+cds})</li>
+ *     <li><strong>--runs</strong> — starts per mode (default 5)</li>
+ *     <li><strong>--report</strong> — JSON report location
+ *     (default {@code target/load-test/startup.json})</li>
+ *     <li><strong>--app.&lt;property&gt;</strong> — application property passed to every start</li>
+ * </ul>
+ * The output of every start is kept next to the report, in {@code startup-<mode>-<run>.log}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(5);
+    private static final long POLL_INTERVAL_MILLIS = 5;
+    private static final String CDS_ARCHIVE = "application.jsa";
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    private final Path dir;
+    private final Path jar;
+    private final Path logs;
+    private final List<String> appArgs;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Path dir, Path logs, List<String> appArgs) throws IOException {
+        this.dir = dir;
+        this.logs = logs;
+        this.appArgs = appArgs;
+        try (Stream<Path> files = Files.list(dir)) {
+            this.jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "No jar in " + dir + ", build it with ./mvnw -Pfast-startup -DskipTests package"));
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the options, see the class documentation
+     * @throws Exception if a start fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            if (arg.startsWith("--app.")) {
+                appArgs.add("--" + arg.substring("--app.".length()));
+            } else {
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        Path dir = Path.of(values.getOrDefault("dir", "target/fast-startup"));
+        List<String> modes = Arrays.asList(values.getOrDefault("modes", "plain,aot,cds,aot+cds").split(","));
+        int runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+        Path report = Path.of(values.getOrDefault("report", "target/load-test/startup.json")).toAbsolutePath();
+        values.keySet().removeAll(List.of("dir", "modes", "runs", "report"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        Files.createDirectories(report.getParent());
+        new StartupBenchmark(dir, report.getParent(), appArgs).run(modes, runs, report);
+    }
+
+    private void run(List<String> modes, int runs, Path report) throws Exception {
+        Map<String, List<Start>> starts = new LinkedHashMap<>();
+        modes.forEach(mode -> starts.put(mode.trim(), new ArrayList<>()));
+        for (int run = 1; run <= runs; run++) {
+            for (Map.Entry<String, List<Start>> entry : starts.entrySet()) {
+                Start start = start(entry.getKey(), run);
+                entry.getValue().add(start);
+                System.out.printf("%-10s run %d: first GET /books after %6d ms (Spring: started in %6d ms, "
+                        + "JVM running for %6d ms)%n", entry.getKey(), run, start.firstGetMillis(),
+                        start.startedMillis(), start.processMillis());
+            }
+        }
+
+        System.out.printf("%n%-10s %8s %8s %8s %14s%n", "MODE", "MIN ms", "MEDIAN", "MAX ms", "SPRING MEDIAN");
+        Map<String, Object> results = new LinkedHashMap<>();
+        starts.forEach((mode, list) -> {
+            long[] firstGet = list.stream().mapToLong(Start::firstGetMillis).sorted().toArray();
+            long[] started = list.stream().mapToLong(Start::startedMillis).sorted().toArray();
+            System.out.printf("%-10s %8d %8d %8d %14d%n", mode, firstGet[0], median(firstGet),
+                    firstGet[firstGet.length - 1], median(started));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jvmArgs", jvmArgs(mode));
+            result.put("firstGetMillis", firstGet);
+            result.put("firstGetMedianMillis", median(firstGet));
+            result.put("springStartedMedianMillis", median(started));
+            result.put("starts", list);
+            results.put(mode, result);
+        });
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("startedAt", Instant.now().toString());
+        document.put("jar", jar.toAbsolutePath().toString());
+        document.put("java", System.getProperty("java.version"));
+        document.put("processors", Runtime.getRuntime().availableProcessors());
+        document.put("runs", runs);
+        document.put("appArgs", appArgs);
+        document.put("modes", results);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), document);
+        System.out.printf("%nReport written to %s%n", report);
+    }
+
+    /**
+     * Starts the application once and waits for its first successful {@code GET /books}.
+     */
+    private Start start(String mode, int run) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs(mode));
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+        command.addAll(appArgs);
+        Path log = logs.resolve("startup-" + mode.replace('+', '-') + "-" + run + ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books?limit=1"))
+                .timeout(Duration.ofSeconds(10)).GET().build();
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - launched > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("No successful GET /books within " + START_TIMEOUT + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            long firstGet = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            Matcher started = STARTED.matcher(Files.readString(log));
+            return started.find()
+                    ? new Start(firstGet, seconds(started.group(1)), seconds(started.group(2)))
+                    : new Start(firstGet, -1, -1);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> jvmArgs(String mode) {
+        List<String> args = new ArrayList<>();
+        for (String part : mode.split("\\+")) {
+            switch (part) {
+                case "plain" -> {
+                }
+                case "aot" -> args.add("-Dspring.aot.enabled=true");
+                case "cds" -> {
+                    Path archive = dir.resolve(CDS_ARCHIVE);
+                    if (!Files.exists(archive)) {
+                        throw new IllegalArgumentException("No CDS archive " + archive);
+                    }
+                    args.add("-XX:SharedArchiveFile=" + archive);
+                }
+                case "lazy" -> args.add("-Dspring.profiles.active=lazy-init");
+                default -> throw new IllegalArgumentException("Unknown mode: " + part);
+            }
+        }
+        return args;
+    }
+
+    private static long seconds(String value) {
+        return Math.round(Double.parseDouble(value) * 1000);
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * One start of the application.
+     *
+     * @param firstGetMillis from the launch of the JVM to the first 200 of {@code GET /books}
+     * @param startedMillis  the startup time logged by Spring Boot, {@code -1} if not found
+     * @param processMillis  the JVM uptime logged with it, {@code -1} if not found
+     */
+    private record Start(long firstGetMillis, long startedMillis, long processMillis) {
+    }
+}
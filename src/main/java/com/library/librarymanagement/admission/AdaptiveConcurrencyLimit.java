@@ -0,0 +1,169 @@
+package com.library.librarymanagement.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit on the number of requests in flight, adapted to the latency they observe.
+ * <p>
+ * The limit follows the gradient between the usual latency and the latency of each completed
+ * request:
+ * <ul>
+ *     <li>the <strong>long-term latency</strong> is an exponential moving average over the last
+ *     {@value #LONG_WINDOW} samples, the latency of the server when it is not overloaded;</li>
+ *     <li>the <strong>gradient</strong> is {@code 1.5 × long-term / sample}, clamped to
+ *     {@code [0.5, 1]}: 1 while a request takes at most 1.5 times the usual latency, less when
+ *     requests start queueing in front of the database;</li>
+ *     <li>the new limit is {@code limit × gradient + }{@value #QUEUE_SIZE}, blended into the
+ *     current one with a factor of {@value #SMOOTHING}. At a gradient of 1 the limit grows;
+ *     as the gradient falls it shrinks, until latency is back within the tolerance;</li>
+ *     <li>a request failing for lack of resources (a 503 from the connection pool) cuts the
+ *     limit by 10% at once.</li>
+ * </ul>
+ * The limit only grows while at least half of it is in use, so an idle server does not drift
+ * to the maximum. After an overload the long-term latency has absorbed part of the slow
+ * samples; when it is twice the latency being observed it is decayed faster, so the limit
+ * recovers.
+ * <p>
+ * Permits are taken and returned with atomic operations. Samples update the limit under a
+ * lock that is only tried: a latency sample arriving while another one is being applied is
+ * skipped. A dropped request waits for the lock instead, so that no back-off is lost during an
+ * overload, when drops arrive together.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * Number of samples averaged into the long-term latency.
+     */
+    static final int LONG_WINDOW = 600;
+
+    /**
+     * Requests allowed to queue above the limit derived from the gradient.
+     */
+    static final int QUEUE_SIZE = 4;
+
+    /**
+     * Weight of a new limit estimate against the current one.
+     */
+    static final double SMOOTHING = 0.2;
+
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampling = new ReentrantLock();
+    private volatile int limit;
+    private double estimate;
+    private double longRttNanos;
+
+    /**
+     * Creates a concurrency limit.
+     *
+     * @param initialLimit the limit until latency has been observed
+     * @param minLimit     the limit is never lowered below this value
+     * @param maxLimit     the limit is never raised above this value
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimate = initialLimit;
+    }
+
+    /**
+     * Takes a permit if fewer requests than the limit are in flight.
+     *
+     * @return {@code true} if the request may proceed; it must then call one of the
+     * {@code release} methods
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and adapts the limit to the latency of the request.
+     *
+     * @param rttNanos the time the request took
+     * @param dropped  whether the request failed for lack of resources, e.g. no database
+     *                 connection was available
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (dropped) {
+            sampling.lock();
+        } else if (!sampling.tryLock()) {
+            return;
+        }
+        try {
+            sample(rttNanos, inFlightBefore, dropped);
+        } finally {
+            sampling.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit without a latency sample, e.g. for a response that goes on being written
+     * asynchronously.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of requests allowed in flight
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests holding a permit.
+     *
+     * @return the requests in flight
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(long rttNanos, int inFlightBefore, boolean dropped) {
+        if (dropped) {
+            update(estimate * BACKOFF);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        longRttNanos = longRttNanos == 0
+                ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+        if (longRttNanos > 2 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightBefore < estimate / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double next = estimate * gradient + QUEUE_SIZE;
+        update(estimate * (1 - SMOOTHING) + next * SMOOTHING);
+    }
+
+    private void update(double next) {
+        estimate = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,149 @@
+package com.library.librarymanagement.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits or rejects requests before they reach the controllers.
+ * <ul>
+ *     <li>each client, identified by its address, is limited by a {@link ClientRateLimiter};
+ *     over the rate it is answered <strong>429 Too Many Requests</strong> with a
+ *     {@code Retry-After} header holding the seconds until its next permit;</li>
+ *     <li>the requests in flight are limited by an {@link AdaptiveConcurrencyLimit}; over the
+ *     limit the request is answered <strong>503 Service Unavailable</strong> with
+ *     {@code Retry-After: 1}, as when no database connection is available (see
+ *     {@link com.library.librarymanagement.controller.ApiExceptionHandler ApiExceptionHandler}).</li>
+ * </ul>
+ * Rejected requests cost a map lookup and an atomic operation, and never wait: a client flooding
+ * the server is turned away before it takes a worker thread, a connection or a permit from the
+ * other clients, and the requests that are admitted keep their usual latency.
+ * <p>
+ * The latency of each admitted request, and whether it ran out of database connections,
+ * adapts the concurrency limit. Running out is signalled by the {@link #RESOURCE_EXHAUSTED}
+ * request attribute, not inferred from the status: a 503 answered for another reason, such as a
+ * full write-behind buffer, is not a sign that more concurrency would overload the server. A
+ * request whose response goes on being written asynchronously (the streaming export) returns
+ * its permit when the request thread is released, without a latency sample.
+ * <p>
+ * Behind a proxy, the address of the client is the one of the proxy unless
+ * {@code server.forward-headers-strategy} is set. Actuator endpoints and the H2 console are not
+ * limited.
+ *
+ * <h2>Metrics</h2>
+ * <ul>
+ *     <li>{@code library.admission.rejected} — rejected requests, tagged
+ *     {@code reason=rate-limit} or {@code reason=concurrency}</li>
+ *     <li>{@code library.admission.concurrency.limit}, {@code library.admission.concurrency.in-flight}
+ *     — the current limit and the admitted requests in flight</li>
+ *     <li>{@code library.admission.clients} — clients whose rate is being tracked</li>
+ * </ul>
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**
+     * Request attribute set when the request failed because a shared resource, such as the
+     * connection pool, was exhausted. Such a request counts as dropped for the concurrency limit.
+     */
+    public static final String RESOURCE_EXHAUSTED = AdmissionControlFilter.class.getName() + ".RESOURCE_EXHAUSTED";
+
+    private static final List<String> UNLIMITED_PATHS = List.of("/actuator", "/h2-console");
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * Creates the filter.
+     *
+     * @param rateLimiter      the per-client rate limit, or {@code null} to admit any rate
+     * @param concurrencyLimit the limit on the requests in flight
+     */
+    public AdmissionControlFilter(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimit concurrencyLimit) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UNLIMITED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            long wait = rateLimiter.tryAcquire(request.getRemoteAddr());
+            if (wait > 0) {
+                rateLimited.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.ceilDiv(wait, TimeUnit.SECONDS.toNanos(1)));
+                return;
+            }
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                concurrencyLimit.release();
+            } else {
+                concurrencyLimit.release(System.nanoTime() - start,
+                        request.getAttribute(RESOURCE_EXHAUSTED) != null);
+            }
+        }
+    }
+
+    /**
+     * Registers the admission meters.
+     *
+     * @param registry the registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.admission.rejected", rateLimited, LongAdder::sum)
+                .tag("reason", "rate-limit")
+                .description("Requests rejected because their client exceeded its rate")
+                .register(registry);
+        FunctionCounter.builder("library.admission.rejected", shed, LongAdder::sum)
+                .tag("reason", "concurrency")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("library.admission.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Requests allowed in flight")
+                .register(registry);
+        Gauge.builder("library.admission.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Admitted requests in flight")
+                .register(registry);
+        if (rateLimiter != null) {
+            Gauge.builder("library.admission.clients", rateLimiter, ClientRateLimiter::clients)
+                    .description("Clients whose request rate is tracked")
+                    .register(registry);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,95 @@
+package com.library.librarymanagement.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket: each client may send {@code burst} requests at once, then
+ * {@code permitsPerSecond} requests per second.
+ * <p>
+ * The bucket of a client is kept as a single timestamp, the time at which it will be full again
+ * (the generic cell rate algorithm). A request adds one interval ({@code 1 / permitsPerSecond})
+ * to it and is admitted if the result is at most {@code burst} intervals in the future. This is
+ * the token bucket without a refill task, and a permit costs one compare-and-set, without a lock.
+ * <p>
+ * Buckets are kept in a Caffeine cache bounded by {@code maxClients}. A bucket left alone for
+ * {@code burst} intervals is full, so it expires after that time: a new bucket is the same.
+ * When more clients than {@code maxClients} are active at once, the least recently used ones
+ * are forgotten and get a full bucket back.
+ */
+public class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Creates a rate limiter reading the time from {@link System#nanoTime()}.
+     *
+     * @param permitsPerSecond requests per second allowed to each client in the long run
+     * @param burst            requests a client may send at once after being idle
+     * @param maxClients       maximum number of clients tracked at once
+     */
+    public ClientRateLimiter(double permitsPerSecond, int burst, long maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param permitsPerSecond requests per second allowed to each client in the long run
+     * @param burst            requests a client may send at once after being idle
+     * @param maxClients       maximum number of clients tracked at once
+     * @param nanoClock        the time source, in nanoseconds
+     */
+    public ClientRateLimiter(double permitsPerSecond, int burst, long maxClients, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(burstNanos, TimeUnit.NANOSECONDS)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Takes a permit from the bucket of a client.
+     *
+     * @param client identifies the client, e.g. its address
+     * @return {@code 0} if the request is admitted, otherwise the time in nanoseconds until the
+     * client is allowed its next request
+     */
+    public long tryAcquire(String client) {
+        AtomicLong full = buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = full.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (full.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of clients whose bucket is currently tracked.
+     *
+     * @return the approximate number of tracked clients
+     */
+    public long clients() {
+        return buckets.estimatedSize();
+    }
+}
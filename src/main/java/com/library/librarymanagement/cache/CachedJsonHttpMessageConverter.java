@@ -0,0 +1,180 @@
+package com.library.librarymanagement.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes entities and lists of entities as JSON from their cached encodings.
+ * <p>
+ * Each entity is encoded once per version by the application's {@link ObjectMapper} and kept
+ * in its {@link EntityCache}. A list is written as the concatenation of the cached encodings,
+ * separated by commas and enclosed in brackets, which is the document Jackson would write for
+ * the list. Hot reads therefore cost a copy of bytes instead of a serialisation.
+ * <p>
+ * The converter only writes {@code application/json}, for the registered entity types and
+ * {@link List lists} of them; everything else, including the CBOR and Smile encodings and all
+ * request bodies, is left to the Jackson converters after it. As the length of the body is known
+ * before it is written, the response carries a {@code Content-Length}, and responses under
+ * {@code server.compression.min-response-size} are not compressed.
+ */
+public class CachedJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final Map<Class<?>, Registration<?>> registrations = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a converter without registered types.
+     *
+     * @param objectMapper the mapper encoding the entities, normally the one of the JSON converter
+     */
+    public CachedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the entities of a type from the encodings kept in their cache.
+     *
+     * @param type  the entity type
+     * @param cache the cache of the entities
+     * @param <T>   the entity type
+     * @return this converter
+     */
+    public <T> CachedJsonHttpMessageConverter register(Class<T> type, EntityCache<T> cache) {
+        registrations.put(type, new Registration<>(type, cache, objectMapper.writerFor(type)));
+        return this;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return registration(clazz) != null;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> raw = resolved.resolve(clazz);
+        if (List.class.isAssignableFrom(raw)) {
+            Class<?> element = resolved.asCollection().getGeneric(0).resolve();
+            return element != null && registration(element) != null;
+        }
+        return registration(raw) != null;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        List<byte[]> parts;
+        long length;
+        if (object instanceof List<?> list) {
+            parts = new ArrayList<>(list.size());
+            length = 2 + Math.max(0, list.size() - 1);
+            for (Object entity : list) {
+                byte[] part = encoded(entity);
+                parts.add(part);
+                length += part.length;
+            }
+        } else {
+            parts = List.of(encoded(object));
+            length = parts.getFirst().length;
+        }
+
+        outputMessage.getHeaders().setContentLength(length);
+        OutputStream body = outputMessage.getBody();
+        if (object instanceof List<?>) {
+            body.write('[');
+            for (int i = 0; i < parts.size(); i++) {
+                if (i > 0) {
+                    body.write(',');
+                }
+                body.write(parts.get(i));
+            }
+            body.write(']');
+        } else {
+            body.write(parts.getFirst());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Request bodies are read by the Jackson converter");
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Request bodies are read by the Jackson converter");
+    }
+
+    private byte[] encoded(Object entity) {
+        Registration<?> registration = registration(entity.getClass());
+        if (registration == null) {
+            throw new HttpMessageNotWritableException("No cached encoding for " + entity.getClass());
+        }
+        return registration.encoded(entity);
+    }
+
+    /**
+     * Finds the registration of a type or of one of its supertypes, e.g. for a Hibernate proxy.
+     */
+    private Registration<?> registration(Class<?> clazz) {
+        Registration<?> registration = registrations.get(clazz);
+        if (registration == null) {
+            for (Registration<?> candidate : registrations.values()) {
+                if (candidate.type().isAssignableFrom(clazz)) {
+                    return candidate;
+                }
+            }
+        }
+        return registration;
+    }
+
+    /**
+     * A registered entity type.
+     *
+     * @param type   the entity type
+     * @param cache  the cache keeping its encodings
+     * @param writer encodes it on a cache miss
+     * @param <T>    the entity type
+     */
+    private record Registration<T>(Class<T> type, EntityCache<T> cache, ObjectWriter writer) {
+
+        byte[] encoded(Object entity) {
+            return cache.encoded(type.cast(entity), this::encode);
+        }
+
+        private byte[] encode(T entity) {
+            try {
+                return writer.writeValueAsBytes(entity);
+            } catch (JsonProcessingException e) {
+                throw new HttpMessageNotWritableException("Could not encode " + type.getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.library.librarymanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read cache for one entity type.
+ * <p>
+ * Four Caffeine caches are kept per entity type:
+ * <ul>
+ *     <li><strong>by ID</strong> — the result of a primary key lookup, including misses</li>
+ *     <li><strong>pages</strong> — the result of a keyset page query, keyed by cursor and size</li>
+ *     <li><strong>encoded</strong> — the JSON encoding of each entity, keyed by ID and version</li>
+ *     <li><strong>versions</strong> — the version of each entity looked up by ID</li>
+ * </ul>
+ * All are bounded in size, expire a fixed time after being loaded and record hit/miss
+ * statistics.
+ *
+ * <h2>Invalidation</h2>
+ * <p>
+ * Controllers report every write through {@link #saved(Object)} and {@link #deleted(Long)}.
+ * The entry of the written ID is dropped, together with the cached pages that could contain it:
+ * a page covers the IDs in {@code (after, last ID of the page]}, or every ID above {@code after}
+ * when it is the last, partially filled page. Pages covering other ID ranges are left intact.
+ * </p>
+ *
+ * <h2>Loading</h2>
+ * <p>
+ * Misses are loaded outside of Caffeine's atomic {@code compute}: a database query must not
+ * run while a hash bin of the cache is locked. That would block unrelated keys, and pin the
+ * carrier of a virtual thread while it waits for a connection. Concurrent misses on the same
+ * key may therefore query the database twice. A loaded value is only stored if no write was
+ * reported while it was being loaded, so a stale read cannot outlive the write that made it stale.
+ * </p>
+ *
+ * <h2>Modifications</h2>
+ * <p>
+ * {@link #modifications()} counts the writes reported so far. It is incremented once the entries
+ * made stale by a write are dropped, so a reader that sees the new count also reads the new
+ * content. The count identifies a state of the whole collection, e.g. for the {@code ETag} of a
+ * list response.
+ * </p>
+ *
+ * <h2>Encoded entities</h2>
+ * <p>
+ * {@link #encoded(Object, Function)} returns the bytes of an entity as written in a response,
+ * encoding it only if the cache has no encoding of the same ID and version. A response can then
+ * be assembled from the stored bytes without serialising the entities again (see
+ * {@link CachedJsonHttpMessageConverter}). The version is part of the key, so an encoding made
+ * from a stale copy is never returned for a newer one, even if it is stored after the write that
+ * made it stale. Writes still drop the encoding, to free its memory. The region is bounded by the
+ * total size of the encodings, not by their number.
+ * </p>
+ *
+ * <h2>Versions</h2>
+ * <p>
+ * {@link #version(Long)} returns the last known version of an entity without loading it, so a
+ * conditional {@code GET} can be answered with <strong>304 Not Modified</strong> without a
+ * query. A version takes a fraction of the memory of an entity, so the region holds
+ * {@value #VERSIONS_PER_ENTITY} times as many entries as the by-ID one and usually outlives the
+ * entity it was read from. Writes drop it like the other entries. An ID whose version is not
+ * cached (never read, written or expired since) costs one lookup.
+ * </p>
+ *
+ * <h2>Metrics</h2>
+ * <p>
+ * As a {@link MeterBinder} bean, the cache publishes the standard Micrometer cache meters
+ * ({@code cache.gets} by hit/miss, {@code cache.evictions}, {@code cache.size}, ...). They are
+ * tagged with {@code cache=<name>} and {@code region=by-id}, {@code region=pages},
+ * {@code region=encoded} or {@code region=versions}.
+ * </p>
+ *
+ * @param <T> the cached entity type
+ */
+public class EntityCache<T> implements MeterBinder {
+
+    /**
+     * Size of the versions region, in entries per entry of the by-ID region.
+     */
+    static final int VERSIONS_PER_ENTITY = 10;
+
+    private final String name;
+    private final Function<T, Long> idOf;
+    private final Function<T, Long> versionOf;
+    private final Cache<Long, Optional<T>> byId;
+    private final Cache<PageKey, List<T>> pages;
+    private final Cache<Long, Encoded> encoded;
+    private final Cache<Long, Long> versions;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+
+    /**
+     * Creates a new cache that does not keep encoded entities.
+     *
+     * @param name        a name identifying the cache, used for metrics
+     * @param idOf        extracts the primary key of an entity
+     * @param maxEntities maximum number of by-ID entries
+     * @param maxPages    maximum number of cached pages
+     * @param ttl         time after which an entry is reloaded from the database
+     */
+    public EntityCache(String name, Function<T, Long> idOf, long maxEntities, long maxPages, Duration ttl) {
+        this(name, idOf, entity -> null, maxEntities, maxPages, 0, ttl);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param name            a name identifying the cache, used for metrics
+     * @param idOf            extracts the primary key of an entity
+     * @param versionOf       extracts the version of an entity; entities without one are
+     *                        encoded on every call
+     * @param maxEntities     maximum number of by-ID entries
+     * @param maxPages        maximum number of cached pages
+     * @param maxEncodedBytes maximum total size of the encoded entities
+     * @param ttl             time after which an entry is reloaded from the database
+     */
+    public EntityCache(String name, Function<T, Long> idOf, Function<T, Long> versionOf, long maxEntities,
+                       long maxPages, long maxEncodedBytes, Duration ttl) {
+        this.name = name;
+        this.idOf = idOf;
+        this.versionOf = versionOf;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxEntities)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.encoded = Caffeine.newBuilder()
+                .maximumWeight(maxEncodedBytes)
+                .weigher((Long id, Encoded entry) -> entry.bytes().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntities * VERSIONS_PER_ENTITY)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached result of a lookup by ID, loading it on a miss.
+     *
+     * @param id     the primary key
+     * @param loader the database lookup used on a miss
+     * @return the entity, or an empty {@link Optional} if it does not exist
+     */
+    public Optional<T> findById(Long id, Function<Long, Optional<T>> loader) {
+        long writesBefore = writes.get();
+        Optional<T> entity = getOrLoad(byId, id, () -> loader.apply(id));
+        entity.map(versionOf).ifPresent(version -> versions.asMap().compute(id,
+                (k, current) -> writes.get() == writesBefore ? version : current));
+        return entity;
+    }
+
+    /**
+     * Returns the version of an entity as last read through {@link #findById(Long, Function)},
+     * without loading it.
+     *
+     * @param id the primary key
+     * @return the version, or an empty {@link Optional} if it is not cached or the entity has none
+     */
+    public Optional<Long> version(Long id) {
+        return Optional.ofNullable(versions.getIfPresent(id));
+    }
+
+    /**
+     * Returns the cached keyset page starting after {@code after}, loading it on a miss.
+     *
+     * @param after  the exclusive ID cursor
+     * @param limit  the page size
+     * @param loader the database query used on a miss
+     * @return the page content, ordered by ascending ID
+     */
+    public List<T> page(long after, int limit, Supplier<List<T>> loader) {
+        return page("", after, limit, loader);
+    }
+
+    /**
+     * Returns the cached keyset page of a filtered query, loading it on a miss.
+     * <p>
+     * Filtered pages are invalidated like unfiltered ones: a write evicts every page whose ID
+     * range contains the written entity, whether or not the entity matches the filter.
+     *
+     * @param filter identifies the filter of the query, e.g. {@code "year=1998"}; pages with
+     *               different filters are cached separately
+     * @param after  the exclusive ID cursor
+     * @param limit  the page size
+     * @param loader the database query used on a miss
+     * @return the page content, ordered by ascending ID
+     */
+    public List<T> page(String filter, long after, int limit, Supplier<List<T>> loader) {
+        return getOrLoad(pages, new PageKey(filter, after, limit), () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Returns the encoding of an entity, from the cache if it holds one of the same version.
+     * <p>
+     * Entities without an ID or a version (e.g. not stored yet) are encoded on every call.
+     * Otherwise the new encoding is stored, unless an encoding of a newer version already is.
+     *
+     * @param entity  the entity to encode
+     * @param encoder encodes the entity on a miss
+     * @return the encoded entity; the array is shared and must not be modified
+     */
+    public byte[] encoded(T entity, Function<T, byte[]> encoder) {
+        Long id = idOf.apply(entity);
+        Long version = versionOf.apply(entity);
+        if (id == null || version == null) {
+            return encoder.apply(entity);
+        }
+        Encoded cached = encoded.getIfPresent(id);
+        if (cached != null && cached.version() == version) {
+            return cached.bytes();
+        }
+        byte[] bytes = encoder.apply(entity);
+        encoded.asMap().merge(id, new Encoded(version, bytes),
+                (current, loaded) -> loaded.version() >= current.version() ? loaded : current);
+        return bytes;
+    }
+
+    /**
+     * Invalidates the entries affected by the creation or update of an entity.
+     *
+     * @param entity the persisted entity
+     */
+    public void saved(T entity) {
+        Long id = idOf.apply(entity);
+        if (id != null) {
+            evict(id);
+        }
+    }
+
+    /**
+     * Invalidates the entries affected by the deletion of an entity.
+     *
+     * @param id the identifier of the deleted entity
+     */
+    public void deleted(Long id) {
+        evict(id);
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public void clear() {
+        writes.incrementAndGet();
+        byId.invalidateAll();
+        pages.invalidateAll();
+        encoded.invalidateAll();
+        versions.invalidateAll();
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Registers the meters of the four caches.
+     *
+     * @param registry the registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, name, "region", "by-id");
+        CaffeineCacheMetrics.monitor(registry, pages, name, "region", "pages");
+        CaffeineCacheMetrics.monitor(registry, encoded, name, "region", "encoded");
+        CaffeineCacheMetrics.monitor(registry, versions, name, "region", "versions");
+    }
+
+    /**
+     * Returns the name of this cache.
+     *
+     * @return the cache name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the number of writes reported to this cache, counted once their entries are dropped.
+     * <p>
+     * A value read before a query is never newer than the result of the query: a write counted in
+     * it no longer has stale entries in the cache.
+     *
+     * @return the number of modifications of the collection since the cache was created
+     */
+    public long modifications() {
+        return modifications.get();
+    }
+
+    /**
+     * Returns hit/miss statistics of the by-ID cache.
+     *
+     * @return a snapshot of the by-ID statistics
+     */
+    public CacheStats byIdStats() {
+        return byId.stats();
+    }
+
+    /**
+     * Returns hit/miss statistics of the page cache.
+     *
+     * @return a snapshot of the page statistics
+     */
+    public CacheStats pageStats() {
+        return pages.stats();
+    }
+
+    /**
+     * Returns hit/miss statistics of the encoded entities.
+     *
+     * @return a snapshot of the encoding statistics
+     */
+    public CacheStats encodedStats() {
+        return encoded.stats();
+    }
+
+    /**
+     * Returns hit/miss statistics of the versions.
+     *
+     * @return a snapshot of the version statistics
+     */
+    public CacheStats versionStats() {
+        return versions.stats();
+    }
+
+    private <K, V> V getOrLoad(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long writesBefore = writes.get();
+        V loaded = loader.get();
+        // evict() counts the write before invalidating, so either the check fails or the
+        // invalidation runs after this entry is stored
+        cache.asMap().compute(key, (k, current) -> writes.get() == writesBefore ? loaded : current);
+        return loaded;
+    }
+
+    private void evict(Long id) {
+        writes.incrementAndGet();
+        byId.invalidate(id);
+        encoded.invalidate(id);
+        versions.invalidate(id);
+        pages.asMap().entrySet().removeIf(page -> covers(page.getKey(), page.getValue(), id));
+        modifications.incrementAndGet();
+    }
+
+    private boolean covers(PageKey key, List<T> content, long id) {
+        if (id <= key.after()) {
+            return false;
+        }
+        return content.size() < key.limit() || id <= idOf.apply(content.get(content.size() - 1));
+    }
+
+    /**
+     * Identifies a cached keyset page.
+     *
+     * @param filter the filter of the query, empty for unfiltered pages
+     * @param after  the exclusive ID cursor
+     * @param limit  the page size
+     */
+    private record PageKey(String filter, long after, int limit) {
+    }
+
+    /**
+     * The encoding of one version of an entity.
+     *
+     * @param version the version that was encoded
+     * @param bytes   the encoded entity
+     */
+    private record Encoded(long version, byte[] bytes) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.librarymanagement.config;
+
+import com.library.librarymanagement.admission.AdaptiveConcurrencyLimit;
+import com.library.librarymanagement.admission.AdmissionControlFilter;
+import com.library.librarymanagement.admission.ClientRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Admission control in front of the controllers (see {@link AdmissionControlFilter}). Tuned
+ * through:
+ * <ul>
+ *     <li>{@code library.admission.enabled} — {@code false} admits every request</li>
+ *     <li>{@code library.admission.rate-limit.requests-per-second} — sustained rate allowed to
+ *     each client; {@code 0} disables the per-client limit</li>
+ *     <li>{@code library.admission.rate-limit.burst} — requests a client may send at once</li>
+ *     <li>{@code library.admission.rate-limit.max-clients} — clients tracked at once</li>
+ *     <li>{@code library.admission.concurrency.initial-limit}, {@code .min-limit},
+ *     {@code .max-limit} — bounds of the adaptive limit on the requests in flight</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    /**
+     * The admission filter, also bound to the meter registry.
+     *
+     * @param requestsPerSecond requests per second allowed to each client, {@code 0} for no limit
+     * @param burst             requests a client may send at once
+     * @param maxClients        maximum number of clients tracked at once
+     * @param initialLimit      requests allowed in flight before latency has been observed
+     * @param minLimit          lowest limit on the requests in flight
+     * @param maxLimit          highest limit on the requests in flight
+     * @return the filter
+     */
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(
+            @Value("${library.admission.rate-limit.requests-per-second:100}") double requestsPerSecond,
+            @Value("${library.admission.rate-limit.burst:200}") int burst,
+            @Value("${library.admission.rate-limit.max-clients:100000}") long maxClients,
+            @Value("${library.admission.concurrency.initial-limit:50}") int initialLimit,
+            @Value("${library.admission.concurrency.min-limit:10}") int minLimit,
+            @Value("${library.admission.concurrency.max-limit:200}") int maxLimit) {
+        ClientRateLimiter rateLimiter = requestsPerSecond > 0
+                ? new ClientRateLimiter(requestsPerSecond, burst, maxClients)
+                : null;
+        return new AdmissionControlFilter(rateLimiter, new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit));
+    }
+
+    /**
+     * Registers the filter right after the observation filter, so that rejected requests are
+     * still measured in {@code http.server.requests}, and before every other filter.
+     *
+     * @param filter the admission filter
+     * @return the registration
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.librarymanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Links the books stored before the {@code author_id} foreign key existed to their authors.
+ * <p>
+ * Books used to reference their author by name only. This component runs once at startup,
+ * after the schema has been migrated, and sets {@code author_id} on every unlinked book
+ * whose author name matches an {@link com.library.librarymanagement.entity.Author Author}.
+ * If several authors share the name, the one with the lowest ID is used. Names are compared
+ * exactly. Books without a matching author stay unlinked, and are linked later if such an
+ * author is created (see {@link com.library.librarymanagement.service.AuthorLinkService
+ * AuthorLinkService}).
+ * <p>
+ * The statement is idempotent: once every book is linked, it no longer matches any row.
+ */
+@Component
+@Lazy(false)
+@DependsOn("entityManagerFactory")
+public class AuthorLinkMigration implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorLinkMigration.class);
+
+    private static final String LINK_BOOKS = """
+            UPDATE book b
+               SET author_id = (SELECT MIN(a.id) FROM author a WHERE a.name = b.author)
+             WHERE b.author_id IS NULL
+               AND EXISTS (SELECT 1 FROM author a WHERE a.name = b.author)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates a new {@code AuthorLinkMigration}.
+     *
+     * @param jdbcTemplate the template used to update the books
+     */
+    public AuthorLinkMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    /**
+     * Links the unlinked books to the authors matching their author names.
+     *
+     * @return the number of books linked
+     */
+    public int migrate() {
+        int linked = jdbcTemplate.update(LINK_BOOKS);
+        if (linked > 0) {
+            log.info("Linked {} books to their authors", linked);
+        }
+        return linked;
+    }
+}
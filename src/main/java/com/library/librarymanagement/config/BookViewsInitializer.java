@@ -0,0 +1,45 @@
+package com.library.librarymanagement.config;
+
+import com.library.librarymanagement.service.BookViews;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory views of the catalogue at startup.
+ * <p>
+ * The search index and the statistics are built from the stored books by
+ * {@link BookViews#rebuild()}, once, before the web server accepts requests. This runs after
+ * {@link AuthorLinkMigration}, so the views see the books already linked to their authors.
+ * With a persistent database, this is where a restart spends most of its time on a large
+ * catalogue; the time is logged.
+ */
+@Component
+@Lazy(false)
+@DependsOn("authorLinkMigration")
+public class BookViewsInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BookViewsInitializer.class);
+
+    private final BookViews bookViews;
+
+    /**
+     * Creates a new {@code BookViewsInitializer}.
+     *
+     * @param bookViews the views to build
+     */
+    public BookViewsInitializer(BookViews bookViews) {
+        this.bookViews = bookViews;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.nanoTime();
+        bookViews.rebuild();
+        log.info("Built the search index and the statistics of the catalogue in {} ms",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
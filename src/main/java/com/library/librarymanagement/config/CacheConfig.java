@@ -0,0 +1,94 @@
+package com.library.librarymanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.cache.CachedJsonHttpMessageConverter;
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Declares the read caches placed in front of the three repositories, and the JSON converter
+ * writing the entities from their cached encodings.
+ * <p>
+ * Sizes and expiration are shared by all entity types and can be tuned through:
+ * <ul>
+ *     <li>{@code library.cache.max-entities} — by-ID entries per entity type</li>
+ *     <li>{@code library.cache.max-pages} — cached list pages per entity type</li>
+ *     <li>{@code library.cache.max-encoded-size} — total size of the encoded entities per
+ *     entity type</li>
+ *     <li>{@code library.cache.ttl} — time after which an entry is reloaded</li>
+ * </ul>
+ *
+ * @see EntityCache
+ * @see CachedJsonHttpMessageConverter
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${library.cache.max-entities:10000}")
+    private long maxEntities;
+
+    @Value("${library.cache.max-pages:1000}")
+    private long maxPages;
+
+    @Value("${library.cache.max-encoded-size:32MB}")
+    private DataSize maxEncodedSize;
+
+    @Value("${library.cache.ttl:5m}")
+    private Duration ttl;
+
+    /**
+     * Cache in front of {@link com.library.librarymanagement.repository.BookRepository BookRepository}.
+     *
+     * @return the book cache
+     */
+    @Bean
+    public EntityCache<Book> bookCache() {
+        return new EntityCache<>("books", Book::getId, Book::getVersion, maxEntities, maxPages,
+                maxEncodedSize.toBytes(), ttl);
+    }
+
+    /**
+     * Cache in front of {@link com.library.librarymanagement.repository.AuthorRepository AuthorRepository}.
+     *
+     * @return the author cache
+     */
+    @Bean
+    public EntityCache<Author> authorCache() {
+        return new EntityCache<>("authors", Author::getId, Author::getVersion, maxEntities, maxPages,
+                maxEncodedSize.toBytes(), ttl);
+    }
+
+    /**
+     * Cache in front of {@link com.library.librarymanagement.repository.UserRepository UserRepository}.
+     *
+     * @return the user cache
+     */
+    @Bean
+    public EntityCache<User> userCache() {
+        return new EntityCache<>("users", User::getId, User::getVersion, maxEntities, maxPages,
+                maxEncodedSize.toBytes(), ttl);
+    }
+
+    /**
+     * Writes books, authors and users, and lists of them, as JSON from the encodings kept in
+     * their caches. Spring Boot places it before the Jackson converters.
+     *
+     * @param objectMapper the mapper of the JSON converter, so the documents are the same
+     * @return the converter
+     */
+    @Bean
+    public CachedJsonHttpMessageConverter cachedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedJsonHttpMessageConverter(objectMapper)
+                .register(Book.class, bookCache())
+                .register(Author.class, authorCache())
+                .register(User.class, userCache());
+    }
+}
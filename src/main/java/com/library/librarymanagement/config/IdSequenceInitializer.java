@@ -0,0 +1,100 @@
+package com.library.librarymanagement.config;
+
+import com.library.librarymanagement.entity.PooledSequenceGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aligns the identifier sequences with the data already stored in the database.
+ * <p>
+ * The sequences used by {@link com.library.librarymanagement.entity.PooledSequence PooledSequence}
+ * are created by the Flyway baseline migration, together with the tables, and only the
+ * application draws from them. They can still fall behind the stored rows of a file database
+ * (the {@code persistent} profile) that outlives the application: rows inserted with explicit
+ * identifiers by an import script, or tables restored from a backup without their sequences.
+ * The sequence would then hand out identifiers that are already taken. The configured
+ * allocation size can also differ from the increment the sequences were created with.
+ * <p>
+ * This component runs once at startup, after Flyway has migrated the schema and before the web
+ * server accepts requests, and for every sequence:
+ * <ul>
+ *     <li>restarts it right after the highest existing identifier if it lags behind;</li>
+ *     <li>sets its increment to the configured allocation size if it differs.</li>
+ * </ul>
+ * On an in-memory or already aligned database it only issues the read queries.
+ */
+@Component
+@Lazy(false)
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    /**
+     * Table name of each entity, mapped to the sequence generating its identifiers.
+     */
+    static final Map<String, String> SEQUENCES = Map.of(
+            "book", "book_seq",
+            "author", "author_seq",
+            "users", "user_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    /**
+     * Creates a new {@code IdSequenceInitializer}.
+     *
+     * @param jdbcTemplate   the template used to inspect and alter the sequences
+     * @param allocationSize the allocation size configured for {@link PooledSequenceGenerator}
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate,
+                                 @Value("${spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_SETTING
+                                         + ":" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+                                 int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    /**
+     * Aligns a single sequence with the identifiers stored in its table.
+     *
+     * @param table    the entity table
+     * @param sequence the sequence generating the identifiers of {@code table}
+     */
+    public void align(String table, String sequence) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                sequence.toUpperCase(Locale.ROOT));
+        if (rows.isEmpty()) {
+            return;
+        }
+        long next = ((Number) rows.get(0).get("BASE_VALUE")).longValue();
+        long increment = ((Number) rows.get(0).get("INCREMENT")).longValue();
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+
+        if (maxId != null && next <= maxId) {
+            log.info("Restarting sequence {} at {} to follow existing rows of {}", sequence, maxId + 1, table);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+        }
+        if (increment != allocationSize) {
+            log.info("Changing increment of sequence {} from {} to {}", sequence, increment, allocationSize);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+        }
+    }
+}
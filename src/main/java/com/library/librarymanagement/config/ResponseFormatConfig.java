@@ -0,0 +1,81 @@
+package com.library.librarymanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binary encodings of the JSON responses, chosen by the client through {@code Accept}.
+ * <ul>
+ *     <li>{@code application/json} — the default, also for {@code Accept: *}{@code /*}</li>
+ *     <li>{@code application/cbor} — CBOR (RFC 8949), readable without Jackson</li>
+ *     <li>{@code application/x-jackson-smile} — Smile, Jackson's binary JSON; repeated field
+ *     names and short strings are written once and referenced afterwards</li>
+ * </ul>
+ * Both carry the same document as the JSON response: the mappers are built from Spring Boot's
+ * {@link Jackson2ObjectMapperBuilder}, with the {@code spring.jackson.*} settings of the JSON
+ * mapper, and only the encoding differs. Spring MVC would register both converters on its own
+ * when the formats are on the classpath, but with default mappers; these beans replace them.
+ * <p>
+ * Compression is applied afterwards by the server to all three types
+ * ({@code server.compression.*}), for clients sending {@code Accept-Encoding: gzip}.
+ * <p>
+ * Every controller response carries {@code Vary: Accept}, 304 responses included, so that a
+ * cache never serves the body of one format to a client asking for another. The entity tags
+ * also differ per format (see {@code ETags}).
+ */
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Writes and reads CBOR.
+     *
+     * @param builder Spring Boot's configured mapper builder, a new instance per injection point
+     * @return the CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Writes and reads Smile.
+     *
+     * @param builder Spring Boot's configured mapper builder, a new instance per injection point
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to the responses of the controllers, before they run, so that
+     * the header is also sent with the 304 responses.
+     *
+     * @param registry the interceptors of the controllers
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.librarymanagement.config;
+
+import com.library.librarymanagement.jdbc.SqlLog;
+import com.library.librarymanagement.jdbc.SqlLoggingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Logs the SQL statements of the application's data source through a {@link SqlLog}.
+ * <p>
+ * The data source bean is wrapped in a {@link SqlLoggingDataSource} as soon as it is created,
+ * so the statements of Flyway, Hibernate and the startup initialisers are all covered. Tuned
+ * through:
+ * <ul>
+ *     <li>{@code library.sql-log.enabled} — {@code false} leaves the data source unwrapped</li>
+ *     <li>{@code library.sql-log.sample-rate} — fraction of the statements logged, 0 to 1</li>
+ *     <li>{@code library.sql-log.slow-threshold} — statements taking at least this long are
+ *     always logged</li>
+ *     <li>{@code library.sql-log.buffer-size} — entries waiting to be written before sampled
+ *     entries are dropped</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.sql-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLogConfig {
+
+    /**
+     * The log of the executed statements.
+     *
+     * @param sampleRate    fraction of the statements to log
+     * @param slowThreshold execution time from which every statement is logged
+     * @param bufferSize    maximum number of entries waiting to be written
+     * @return the SQL log, closed with the application context
+     */
+    @Bean
+    public SqlLog sqlLog(@Value("${library.sql-log.sample-rate:0.01}") double sampleRate,
+                         @Value("${library.sql-log.slow-threshold:100ms}") Duration slowThreshold,
+                         @Value("${library.sql-log.buffer-size:10000}") int bufferSize) {
+        return new SqlLog(sampleRate, slowThreshold, bufferSize);
+    }
+
+    /**
+     * Wraps every {@link DataSource} bean in a {@link SqlLoggingDataSource}. Static, like every
+     * {@link BeanPostProcessor} declared in a configuration class, so that it is registered
+     * before the other beans are created.
+     *
+     * @param sqlLog the SQL log, looked up when the first data source is created
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlLoggingDataSourcePostProcessor(ObjectProvider<SqlLog> sqlLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlLoggingDataSource)
+                        ? new SqlLoggingDataSource(dataSource, sqlLog.getObject())
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.library.librarymanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.BookViews;
+import com.library.librarymanagement.service.BookWriteBehind;
+import com.library.librarymanagement.service.WriteBehindJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Write-behind mode of {@code POST /books} (see {@link BookWriteBehind}). Off by default: a
+ * created book is then stored before the response, as usual. Tuned through:
+ * <ul>
+ *     <li>{@code library.write-behind.enabled} — {@code true} answers book creations with 202
+ *     and stores them in the background</li>
+ *     <li>{@code library.write-behind.capacity} — books accepted and not yet stored</li>
+ *     <li>{@code library.write-behind.batch-size} — books stored per batch</li>
+ *     <li>{@code library.write-behind.offer-timeout} — how long a creation waits for room
+ *     before being answered with 503</li>
+ *     <li>{@code library.write-behind.durability} — {@code memory}, {@code journal} or
+ *     {@code fsync} (see {@link WriteBehindJournal})</li>
+ *     <li>{@code library.write-behind.journal} — the journal file</li>
+ *     <li>{@code library.write-behind.status-ttl}, {@code .max-tracked} — how long and how
+ *     many outcomes can be looked up by tracking ID</li>
+ *     <li>{@code library.write-behind.drain-timeout} — how long shutdown waits for the buffer
+ *     to be stored</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    /**
+     * The write-behind buffer, with its journal unless durability is {@code memory}.
+     *
+     * @param bookRepository     the repository the books are stored in
+     * @param batchInsertService stores each batch in chunked transactions
+     * @param authorLinkService  links the books to their authors
+     * @param bookViews          the in-memory views notified of every stored book
+     * @param objectMapper       writes the books to the journal
+     * @param capacity           maximum number of books accepted and not yet stored
+     * @param batchSize          maximum number of books stored per batch
+     * @param offerTimeout       how long a request waits for room in a full buffer
+     * @param durability         {@code memory}, {@code journal} or {@code fsync}
+     * @param journalFile        the journal file
+     * @param statusTtl          how long the outcome of a book can be looked up
+     * @param maxTracked         maximum number of outcomes kept at once
+     * @param drainTimeout       how long shutdown waits for the buffer to be stored
+     * @return the buffer, started and stopped with the application context
+     * @throws IOException if the journal cannot be opened
+     */
+    @Bean
+    public BookWriteBehind bookWriteBehind(BookRepository bookRepository, BatchInsertService batchInsertService,
+                                           AuthorLinkService authorLinkService, BookViews bookViews,
+                                           ObjectMapper objectMapper,
+                                           @Value("${library.write-behind.capacity:10000}") int capacity,
+                                           @Value("${library.write-behind.batch-size:500}") int batchSize,
+                                           @Value("${library.write-behind.offer-timeout:500ms}") Duration offerTimeout,
+                                           @Value("${library.write-behind.durability:memory}") String durability,
+                                           @Value("${library.write-behind.journal:${library.data-dir:./data}/write-behind.journal}") Path journalFile,
+                                           @Value("${library.write-behind.status-ttl:1h}") Duration statusTtl,
+                                           @Value("${library.write-behind.max-tracked:100000}") long maxTracked,
+                                           @Value("${library.write-behind.drain-timeout:30s}") Duration drainTimeout)
+            throws IOException {
+        WriteBehindJournal journal = switch (durability) {
+            case "memory" -> null;
+            case "journal" -> new WriteBehindJournal(journalFile, false, objectMapper);
+            case "fsync" -> new WriteBehindJournal(journalFile, true, objectMapper);
+            default -> throw new IllegalArgumentException(
+                    "library.write-behind.durability must be memory, journal or fsync: " + durability);
+        };
+        return new BookWriteBehind(bookRepository, batchInsertService, authorLinkService, bookViews, journal,
+                capacity, batchSize, offerTimeout, statusTtl, maxTracked, drainTimeout);
+    }
+}
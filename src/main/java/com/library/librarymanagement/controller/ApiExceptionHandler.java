@@ -0,0 +1,86 @@
+package com.library.librarymanagement.controller;
+
+import com.library.librarymanagement.admission.AdmissionControlFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Translates exceptions raised by the controllers into HTTP status codes.
+ * <p>
+ * Controllers look entities up with {@link java.util.Optional#orElseThrow()}; the resulting
+ * {@link NoSuchElementException} is reported as <strong>404 Not Found</strong> instead of a
+ * generic server error.
+ * <p>
+ * Writes rejected by a database constraint, such as a second user with the same email address,
+ * are reported as <strong>409 Conflict</strong>, and so are updates that lost the race against a
+ * concurrent update of the same entity, detected through its {@code @Version} column.
+ * <p>
+ * When no database connection can be obtained within the pool's connection timeout, the
+ * transaction cannot start, or the repository call fails to acquire a connection (as in the
+ * reactive stack, whose R2DBC pool reports a {@link DataAccessResourceFailureException}); the
+ * request is answered with <strong>503 Service Unavailable</strong> and a {@code Retry-After}
+ * header, so that clients back off instead of retrying into a saturated pool.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Handles lookups of entities that do not exist.
+     *
+     * @param e the exception raised by the lookup
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public void handleNotFound(NoSuchElementException e) {
+        // status only, no body
+    }
+
+    /**
+     * Handles writes that violate a database constraint.
+     *
+     * @param e the exception raised by the write
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void handleConflict(DataIntegrityViolationException e) {
+        // status only, no body
+    }
+
+    /**
+     * Handles updates of an entity changed concurrently since it was read.
+     *
+     * @param e the exception raised when the update found another version
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        // status only, no body
+    }
+
+    /**
+     * Handles requests that could not obtain a database connection in time, and marks them as
+     * such for the concurrency limit (see {@link AdmissionControlFilter#RESOURCE_EXHAUSTED}).
+     *
+     * @param e       the exception raised when starting the transaction or acquiring the connection
+     * @param request the failed request
+     * @return an empty 503 response asking the client to retry after one second
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Void> handleUnavailable(Exception e, HttpServletRequest request) {
+        request.setAttribute(AdmissionControlFilter.RESOURCE_EXHAUSTED, Boolean.TRUE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
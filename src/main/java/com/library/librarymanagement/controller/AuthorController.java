@@ -1,8 +1,20 @@
 package com.library.librarymanagement.controller;
 
+import com.library.librarymanagement.cache.EntityCache;
 import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
 import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.AuthorPatch;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.BatchItemResult;
+import com.library.librarymanagement.service.PatchService;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +26,19 @@ import java.util.List;
  *
  * <h2>Available endpoints</h2>
  * <ul>
- *     <li><strong>GET /authors</strong> — retrieve all authors</li>
+ *     <li><strong>GET /authors?after=&amp;limit=</strong> — retrieve authors one page at a time</li>
+ *     <li><strong>GET /authors/{id}</strong> — retrieve a single author</li>
+ *     <li><strong>GET /authors/{id}/books?after=&amp;limit=</strong> — retrieve the books of an author</li>
  *     <li><strong>POST /authors</strong> — create a new author</li>
+ *     <li><strong>POST /authors/batch</strong> — create many authors in chunked transactions</li>
  *     <li><strong>PUT /authors/{id}</strong> — update an existing author</li>
+ *     <li><strong>PATCH /authors/{id}</strong> — change some fields of an author with one statement</li>
  *     <li><strong>DELETE /authors/{id}</strong> — delete an author</li>
  * </ul>
  *
  * <p>
- * Database interaction is delegated to the {@link AuthorRepository}.
+ * Database interaction is delegated to the {@link AuthorRepository}. Every write is reported to
+ * the {@link AuthorLinkService}, which keeps the books of the author linked and up to date.
  * </p>
  *
  * @see Author
@@ -32,63 +49,200 @@ import java.util.List;
 public class AuthorController {
 
     private final AuthorRepository authorRepository;
+    private final EntityCache<Author> authorCache;
+    private final BatchInsertService batchInsertService;
+    private final AuthorLinkService authorLinkService;
+    private final PatchService patchService;
 
     /**
      * Creates a new {@code AuthorController} with the required repository dependency.
      *
-     * @param authorRepository the repository used to manage persistence of authors
+     * @param authorRepository   the repository used to manage persistence of authors
+     * @param authorCache        the read cache placed in front of the repository
+     * @param batchInsertService the service persisting bulk create requests
+     * @param authorLinkService  the service maintaining the links between books and authors
+     * @param patchService       the service applying partial updates
      */
-    public AuthorController(AuthorRepository authorRepository) {
+    public AuthorController(AuthorRepository authorRepository, EntityCache<Author> authorCache,
+                            BatchInsertService batchInsertService, AuthorLinkService authorLinkService,
+                            PatchService patchService) {
         this.authorRepository = authorRepository;
+        this.authorCache = authorCache;
+        this.batchInsertService = batchInsertService;
+        this.authorLinkService = authorLinkService;
+        this.patchService = patchService;
     }
 
     /**
-     * Retrieves all authors stored in the system.
+     * Retrieves one page of authors using keyset pagination.
+     * <p>
+     * Authors are returned in ascending ID order, starting after the {@code after} cursor. When the
+     * page is full, the response carries a {@code Link} header with {@code rel="next"} pointing
+     * to the following page. Pages are served from the {@link EntityCache} when possible.
+     * <p>
+     * The response carries the tag of the authors as {@code ETag}. A request whose
+     * {@code If-None-Match} holds the current tag is answered with <strong>304 Not
+     * Modified</strong> before the page is looked up.
      *
-     * @return a list containing all {@link Author} entities
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of authors to return
+     * @param request the request, checked for {@code If-None-Match}
+     * @return a page of {@link Author} entities, or {@code null} when not modified
      */
     @GetMapping
-    public List<Author> getAllAuthors() {
-        return authorRepository.findAll();
+    public ResponseEntity<List<Author>> getAllAuthors(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        String eTag = ETags.ofCollection(authorCache);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        Limit page = KeysetPagination.limit(limit);
+        List<Author> authors = authorCache.page(after, page.max(),
+                () -> authorRepository.findByIdGreaterThanOrderByIdAsc(after, page));
+        return KeysetPagination.page(authors, page, Author::getId, eTag);
+    }
+
+    /**
+     * Retrieves a single author by ID, from the {@link EntityCache} when possible.
+     * <p>
+     * If no author exists with the given ID, <strong>404 Not Found</strong> is returned. The
+     * response carries the version of the author as {@code ETag}; a request whose
+     * {@code If-None-Match} holds it is answered with <strong>304 Not Modified</strong>, without
+     * serialising the author. The tag is checked against the version in the cache first, so the
+     * author is not read either; only when that version is not cached does a 304 cost one lookup.
+     *
+     * @param id      the unique identifier of the author
+     * @param request the current request, for its {@code If-None-Match} header
+     * @return the matching {@link Author} entity, or {@code null} when answered with 304
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Author> getAuthor(@PathVariable Long id, WebRequest request) {
+        if (ETags.notModified(request, authorCache.version(id))) {
+            return null;
+        }
+        Author author = authorCache.findById(id, authorRepository::findById).orElseThrow();
+        return ETags.ok(author, author.getVersion());
+    }
+
+    /**
+     * Retrieves one page of the books of an author using keyset pagination.
+     * <p>
+     * Books are found through the indexed {@code author_id} foreign key in ascending ID order,
+     * with the same {@code after}/{@code limit} contract and {@code Link} header as
+     * {@code GET /books}. If no author exists with the given ID, <strong>404 Not Found</strong>
+     * is returned.
+     *
+     * @param id    the unique identifier of the author
+     * @param after the last book ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of books to return
+     * @return a page of the author's {@link Book} entities
+     */
+    @GetMapping("/{id}/books")
+    public ResponseEntity<List<Book>> getAuthorBooks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_LIMIT) int limit) {
+        authorCache.findById(id, authorRepository::findById).orElseThrow();
+        Limit page = KeysetPagination.limit(limit);
+        return KeysetPagination.page(authorLinkService.books(id, after, page), page, Book::getId);
     }
 
     /**
-     * Persists a new author in the system.
+     * Persists a new author in the system, and links the books carrying its name in the same
+     * transaction.
      *
      * @param author the {@link Author} instance sent in the request body
      * @return the saved {@link Author} entity
      */
     @PostMapping
     public Author createAuthor(@RequestBody Author author) {
-        return authorRepository.save(author);
+        Author saved = authorLinkService.create(author);
+        authorCache.saved(saved);
+        return saved;
+    }
+
+    /**
+     * Persists many authors in a single request.
+     * <p>
+     * Authors are saved in chunked transactions using JDBC batching. The response contains one
+     * {@link BatchItemResult} per submitted author, in request order, reporting either the
+     * generated ID or the reason why the author was not persisted. The books carrying the name
+     * of an author are linked in the transaction that saves it.
+     *
+     * @param authors the {@link Author} instances received in the request body
+     * @return the per-author outcome of the operation
+     */
+    @PostMapping("/batch")
+    public List<BatchItemResult> createAuthors(@RequestBody List<Author> authors) {
+        List<BatchItemResult> results = batchInsertService.insertAll(authorRepository, authors, Author::getId,
+                authorLinkService::created);
+        for (BatchItemResult result : results) {
+            if (result.status() == BatchItemResult.Status.CREATED) {
+                authorCache.saved(authors.get(result.index()));
+            }
+        }
+        return results;
     }
 
     /**
      * Updates the information of an existing author.
      * <p>
      * If no author exists with the given ID, an exception is thrown and handled by Spring.
+     * A new name is copied to the books of the author in the same transaction. Versions are
+     * checked as for {@code PUT /books/{id}}: <strong>412</strong> on an {@code If-Match}
+     * mismatch, <strong>409</strong> on a concurrent update.
      *
      * @param id            the unique identifier of the author to update
+     * @param ifMatch       the {@code ETag} the client last saw, if any
      * @param authorDetails an {@link Author} object containing updated fields
      * @return the updated {@link Author} entity
      */
     @PutMapping("/{id}")
-    public Author updateAuthor(@PathVariable Long id, @RequestBody Author authorDetails) {
-        Author author = authorRepository.findById(id).orElseThrow();
-        author.setName(authorDetails.getName());
-        author.setNationality(authorDetails.getNationality());
-        return authorRepository.save(author);
+    public ResponseEntity<Author> updateAuthor(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @RequestBody Author authorDetails) {
+        Author saved = authorLinkService.update(id, ETags.expectedVersion(ifMatch), authorDetails)
+                .orElseThrow(ETags::preconditionFailed);
+        authorCache.saved(saved);
+        return ETags.ok(saved, saved.getVersion());
+    }
+
+    /**
+     * Changes only the supplied fields of an author, with a single {@code UPDATE} statement.
+     * <p>
+     * Behaves like {@code PATCH /books/{id}}. A new name is copied to the books of the author
+     * in the same transaction.
+     *
+     * @param id      the unique identifier of the author to update
+     * @param ifMatch the {@code ETag} the client last saw, if any
+     * @param patch   the fields to change
+     * @return the updated {@link Author} entity, with its new version as {@code ETag}
+     */
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<Author> patchAuthor(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody AuthorPatch patch) {
+        Author patched = patchService.patchAuthor(id, ETags.expectedVersion(ifMatch), patch)
+                .orElseThrow(ETags::preconditionFailed);
+        authorCache.saved(patched);
+        return ETags.ok(patched, patched.getVersion());
     }
 
     /**
      * Deletes the author with the given ID.
      * <p>
-     * If no author exists with the ID, Spring automatically handles the exception.
+     * The books of the author are unlinked first and keep the author name.
+     * The author is then removed with a single {@code DELETE} statement, without being loaded
+     * first, in the same transaction (see {@link AuthorLinkService#delete(Long)}). Deleting an ID
+     * that does not exist is not an error.
      *
      * @param id the unique identifier of the author to delete
      */
     @DeleteMapping("/{id}")
     public void deleteAuthor(@PathVariable Long id) {
-        authorRepository.deleteById(id);
+        authorLinkService.delete(id);
+        authorCache.deleted(id);
     }
 }
@@ -1,9 +1,34 @@
 package com.library.librarymanagement.controller;
 
+import com.library.librarymanagement.cache.EntityCache;
 import com.library.librarymanagement.entity.Book;
 import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.BatchItemResult;
+import com.library.librarymanagement.service.BookIngestStatus;
+import com.library.librarymanagement.service.BookPatch;
+import com.library.librarymanagement.service.BookExportService;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import com.library.librarymanagement.service.BookStatistics;
+import com.library.librarymanagement.service.BookStats;
+import com.library.librarymanagement.service.BookViews;
+import com.library.librarymanagement.service.BookWriteBehind;
+import com.library.librarymanagement.service.BulkDeleteResult;
+import com.library.librarymanagement.service.PatchService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -14,15 +39,40 @@ import java.util.List;
  *
  * <h2>Available endpoints</h2>
  * <ul>
- *     <li><strong>GET /books</strong> — retrieve all books</li>
+ *     <li><strong>GET /books?after=&amp;limit=</strong> — retrieve books one page at a time</li>
+ *     <li><strong>GET /books?author=</strong>, <strong>?year=</strong> or
+ *     <strong>?titlePrefix=</strong> — retrieve the matching books one page at a time</li>
+ *     <li><strong>GET /books/{id}</strong> — retrieve a single book</li>
+ *     <li><strong>GET /books/export</strong> — stream the whole catalogue as NDJSON</li>
+ *     <li><strong>GET /books/search?q=</strong> — full-text search on title and author</li>
+ *     <li><strong>GET /books/stats</strong> — number of books per year and per author</li>
  *     <li><strong>POST /books</strong> — create a new book</li>
+ *     <li><strong>POST /books/batch</strong> — create many books in chunked transactions</li>
+ *     <li><strong>GET /books/ingest/{trackingId}</strong> — outcome of a book accepted in
+ *     write-behind mode</li>
  *     <li><strong>PUT /books/{id}</strong> — update an existing book</li>
+ *     <li><strong>PATCH /books/{id}</strong> — change some fields of a book with one statement</li>
  *     <li><strong>DELETE /books/{id}</strong> — delete a book by ID</li>
+ *     <li><strong>DELETE /books?ids=</strong> or <strong>?author=</strong> — delete many books
+ *     with one statement</li>
  * </ul>
  *
  * <p>
  * Persistence operations are delegated to the {@link BookRepository}, which uses Spring Data JPA
- * to communicate with the underlying database.
+ * to communicate with the underlying database. Before a book is saved, it is linked to the
+ * {@link com.library.librarymanagement.entity.Author Author} matching its author name by the
+ * {@link AuthorLinkService}. Every write is then reported to {@link BookViews}.
+ * </p>
+ *
+ * <p>
+ * With {@code library.write-behind.enabled}, {@code POST /books} only accepts the book and a
+ * {@link BookWriteBehind} stores it in the background, in batches.
+ * </p>
+ *
+ * <p>
+ * Single-book responses carry the {@code @Version} of the book as {@code ETag}, and pages the
+ * modification count of the catalogue. Reads accept them back in {@code If-None-Match}, updates
+ * in {@code If-Match} (see {@link ETags}).
  * </p>
  *
  * @see Book
@@ -33,64 +83,342 @@ import java.util.List;
 public class BookController {
 
     private final BookRepository bookRepository;
+    private final EntityCache<Book> bookCache;
+    private final BookExportService bookExportService;
+    private final BatchInsertService batchInsertService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookStatistics bookStatistics;
+    private final BookViews bookViews;
+    private final AuthorLinkService authorLinkService;
+    private final PatchService patchService;
+    private final BookWriteBehind bookWriteBehind;
 
     /**
      * Constructs a new {@code BookController} instance.
      *
-     * @param bookRepository the repository managing {@link Book} persistence
+     * @param bookRepository     the repository managing {@link Book} persistence
+     * @param bookCache          the read cache placed in front of the repository
+     * @param bookExportService  the service producing the streaming catalogue export
+     * @param batchInsertService the service persisting bulk create requests
+     * @param bookSearchIndex    the full-text index answering searches
+     * @param bookStatistics     the in-memory counts answering statistics requests
+     * @param bookViews          the in-memory views notified of every write
+     * @param authorLinkService  the service linking books to their authors
+     * @param patchService       the service applying partial updates
+     * @param bookWriteBehind    the write-behind buffer, if that mode is enabled
      */
-    public BookController(BookRepository bookRepository) {
+    public BookController(BookRepository bookRepository, EntityCache<Book> bookCache,
+                          BookExportService bookExportService, BatchInsertService batchInsertService,
+                          BookSearchIndex bookSearchIndex, BookStatistics bookStatistics,
+                          BookViews bookViews, AuthorLinkService authorLinkService,
+                          PatchService patchService, ObjectProvider<BookWriteBehind> bookWriteBehind) {
         this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.bookExportService = bookExportService;
+        this.batchInsertService = batchInsertService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookStatistics = bookStatistics;
+        this.bookViews = bookViews;
+        this.authorLinkService = authorLinkService;
+        this.patchService = patchService;
+        this.bookWriteBehind = bookWriteBehind.getIfAvailable();
     }
 
     /**
-     * Retrieves all books currently stored in the database.
+     * Retrieves one page of books using keyset pagination, optionally filtered.
+     * <p>
+     * Books are returned in ascending ID order, starting after the {@code after} cursor. When the
+     * page is full, the response carries a {@code Link} header with {@code rel="next"} pointing
+     * to the following page, with the same filter. Pages are served from the
+     * {@link EntityCache} when possible.
+     * <p>
+     * At most one filter may be given; each one is answered by an index seek (see
+     * {@link Book}). Combining filters is rejected with <strong>400 Bad Request</strong>.
+     * <p>
+     * The response carries the tag of the catalogue as {@code ETag}. A request whose
+     * {@code If-None-Match} holds the current tag is answered with <strong>304 Not
+     * Modified</strong> before the page is looked up.
      *
-     * @return a list of all {@link Book} entities
+     * @param after       the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit       the maximum number of books to return
+     * @param author      only books with exactly this author name
+     * @param year        only books published in this year
+     * @param titlePrefix only books whose title starts with this text
+     * @param request     the request, checked for {@code If-None-Match}
+     * @return a page of {@link Book} entities, or {@code null} when not modified
      */
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public ResponseEntity<List<Book>> getAllBooks(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String titlePrefix,
+            WebRequest request) {
+        Limit page = KeysetPagination.limit(limit);
+        int filters = (author != null ? 1 : 0) + (year != null ? 1 : 0) + (titlePrefix != null ? 1 : 0);
+        if (filters > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Only one of author, year and titlePrefix may be given");
+        }
+        String eTag = ETags.ofCollection(bookCache);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<Book> books;
+        if (author != null) {
+            books = bookCache.page("author=" + author, after, page.max(),
+                    () -> bookRepository.findByAuthorAndIdGreaterThanOrderByIdAsc(author, after, page));
+        } else if (year != null) {
+            books = bookCache.page("year=" + year, after, page.max(),
+                    () -> bookRepository.findByPublicationYearAndIdGreaterThanOrderByIdAsc(year, after, page));
+        } else if (titlePrefix != null) {
+            books = bookCache.page("titlePrefix=" + titlePrefix, after, page.max(),
+                    () -> bookRepository.findPageByTitlePrefix(titlePrefix, after, page));
+        } else {
+            books = bookCache.page(after, page.max(),
+                    () -> bookRepository.findByIdGreaterThanOrderByIdAsc(after, page));
+        }
+        return KeysetPagination.page(books, page, Book::getId, eTag);
+    }
+
+    /**
+     * Retrieves a single book by ID, from the {@link EntityCache} when possible.
+     * <p>
+     * If no book exists with the given ID, <strong>404 Not Found</strong> is returned. The
+     * response carries the version of the book as {@code ETag}; a request whose
+     * {@code If-None-Match} holds it is answered with <strong>304 Not Modified</strong>, without
+     * serialising the book. The tag is checked against the version in the cache first, so the
+     * book is not read either; only when that version is not cached does a 304 cost one lookup.
+     *
+     * @param id      the unique identifier of the book
+     * @param request the current request, for its {@code If-None-Match} header
+     * @return the matching {@link Book} entity, or {@code null} when answered with 304
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Book> getBook(@PathVariable Long id, WebRequest request) {
+        if (ETags.notModified(request, bookCache.version(id))) {
+            return null;
+        }
+        Book book = bookCache.findById(id, bookRepository::findById).orElseThrow();
+        return ETags.ok(book, book.getVersion());
+    }
+
+    /**
+     * Exports the whole catalogue as newline-delimited JSON, one book per line.
+     * <p>
+     * The response is streamed while rows are read from the database, so it starts immediately
+     * and runs in constant memory regardless of the number of books.
+     *
+     * @return a response body writing the catalogue to the client
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookExportService::exportTo);
+    }
+
+    /**
+     * Searches the catalogue by title and author.
+     * <p>
+     * The query is answered from the in-memory {@link BookSearchIndex} without touching the
+     * database. Every term must match a word of the title or of the author name, either fully
+     * or, from three characters on, as a prefix; results are ranked by relevance.
+     *
+     * @param q     the free-text query
+     * @param limit the maximum number of results, clamped to {@code [1, 100]}
+     * @return the matching books, best matches first
+     */
+    @GetMapping("/search")
+    public List<BookSearchHit> searchBooks(@RequestParam String q,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        return bookSearchIndex.search(q, Math.max(1, Math.min(limit, 100)));
+    }
+
+    /**
+     * Returns the number of books in the catalogue, in total, per publication year and per
+     * author name.
+     * <p>
+     * The counts are maintained in memory by {@link BookStatistics} as books are written, so
+     * the response costs one entry per group and no database query.
+     *
+     * @return the current counts
+     */
+    @GetMapping("/stats")
+    public BookStats getStats() {
+        return bookStatistics.snapshot();
     }
 
     /**
      * Creates and stores a new book.
+     * <p>
+     * In write-behind mode, the book is only accepted: the response is <strong>202
+     * Accepted</strong> with its {@link BookIngestStatus}, and a {@code Location} header pointing
+     * to {@code /books/ingest/{trackingId}}, where the generated ID can be looked up once the
+     * book is stored. When the buffer stays full, <strong>503 Service Unavailable</strong> is
+     * returned with {@code Retry-After}.
      *
      * @param book the {@link Book} instance received in the request body
-     * @return the persisted {@link Book} object
+     * @return the persisted {@link Book} object, or the status of the accepted book
      */
     @PostMapping
-    public Book createBook(@RequestBody Book book) {
-        return bookRepository.save(book);
+    public ResponseEntity<?> createBook(@RequestBody Book book) {
+        if (bookWriteBehind != null) {
+            return bookWriteBehind.submit(book)
+                    .<ResponseEntity<?>>map(status -> ResponseEntity
+                            .accepted()
+                            .location(URI.create("/books/ingest/" + status.trackingId()))
+                            .body(status))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .build());
+        }
+        authorLinkService.link(List.of(book));
+        Book saved = bookRepository.save(book);
+        bookViews.saved(saved);
+        return ResponseEntity.ok(saved);
+    }
+
+    /**
+     * Returns the outcome of a book accepted in write-behind mode.
+     * <p>
+     * If the write-behind mode is disabled, or the tracking ID is unknown or expired,
+     * <strong>404 Not Found</strong> is returned.
+     *
+     * @param trackingId the tracking ID returned when the book was accepted
+     * @return the status of the book, with its ID once created
+     */
+    @GetMapping("/ingest/{trackingId}")
+    public BookIngestStatus getIngestStatus(@PathVariable String trackingId) {
+        if (bookWriteBehind == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return bookWriteBehind.status(trackingId).orElseThrow();
+    }
+
+    /**
+     * Persists many books in a single request.
+     * <p>
+     * Books are saved in chunked transactions using JDBC batching. The response contains one
+     * {@link BatchItemResult} per submitted book, in request order, reporting either the
+     * generated ID or the reason why the book was not persisted.
+     *
+     * @param books the {@link Book} instances received in the request body
+     * @return the per-book outcome of the operation
+     */
+    @PostMapping("/batch")
+    public List<BatchItemResult> createBooks(@RequestBody List<Book> books) {
+        authorLinkService.link(books);
+        List<BatchItemResult> results = batchInsertService.insertAll(bookRepository, books, Book::getId);
+        for (BatchItemResult result : results) {
+            if (result.status() == BatchItemResult.Status.CREATED) {
+                bookViews.saved(books.get(result.index()));
+            }
+        }
+        return results;
     }
 
     /**
      * Updates the information of an existing book identified by the given ID.
      * <p>
      * If no book exists with the provided ID, an exception is thrown by {@link java.util.Optional#orElseThrow()}.
+     * With {@code If-Match}, a book whose version differs is answered with <strong>412
+     * Precondition Failed</strong>. A concurrent update committed between the read and the write
+     * is detected by the version column and answered with <strong>409 Conflict</strong>.
      *
      * @param id          the unique identifier of the book to update
+     * @param ifMatch     the {@code ETag} the client last saw, if any
      * @param bookDetails a {@link Book} instance containing updated field values
      * @return the updated {@link Book} entity
      */
     @PutMapping("/{id}")
-    public Book updateBook(@PathVariable Long id, @RequestBody Book bookDetails) {
+    public ResponseEntity<Book> updateBook(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestBody Book bookDetails) {
+        Long version = ETags.expectedVersion(ifMatch);
         Book book = bookRepository.findById(id).orElseThrow();
+        if (version != null && !version.equals(book.getVersion())) {
+            throw ETags.preconditionFailed();
+        }
         book.setTitle(bookDetails.getTitle());
         book.setAuthor(bookDetails.getAuthor());
         book.setPublicationYear(bookDetails.getPublicationYear());
-        return bookRepository.save(book);
+        authorLinkService.link(List.of(book));
+        Book saved = bookRepository.save(book);
+        bookViews.saved(saved);
+        return ETags.ok(saved, saved.getVersion());
+    }
+
+    /**
+     * Changes only the supplied fields of a book, with a single {@code UPDATE} statement.
+     * <p>
+     * The book is not read before the update (see {@link PatchService}). With {@code If-Match},
+     * the update only applies to the version the client saw, and a book changed in between is
+     * answered with <strong>412 Precondition Failed</strong>. If no book exists with the ID,
+     * <strong>404 Not Found</strong> is returned.
+     *
+     * @param id      the unique identifier of the book to update
+     * @param ifMatch the {@code ETag} the client last saw, if any
+     * @param patch   the fields to change
+     * @return the updated {@link Book} entity, with its new version as {@code ETag}
+     */
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<Book> patchBook(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody BookPatch patch) {
+        Book patched = patchService.patchBook(id, ETags.expectedVersion(ifMatch), patch)
+                .orElseThrow(ETags::preconditionFailed);
+        bookViews.saved(patched);
+        return ETags.ok(patched, patched.getVersion());
     }
 
     /**
      * Deletes the book matching the given ID.
      * <p>
-     * If no such ID exists, Spring automatically handles the exception.
+     * The book is removed with a single {@code DELETE} statement, without being loaded first.
+     * Deleting an ID that does not exist is not an error.
      *
      * @param id the unique identifier of the book to delete
      */
     @DeleteMapping("/{id}")
     public void deleteBook(@PathVariable Long id) {
-        bookRepository.deleteById(id);
+        bookRepository.deleteRowById(id);
+        bookViews.deleted(id);
+    }
+
+    /**
+     * Deletes many books at once, selected either by ID or by author name.
+     * <p>
+     * {@code ?ids=1,2,3} removes the listed books with a single {@code DELETE ... WHERE id IN}
+     * statement; unknown IDs are ignored. {@code ?author=} removes every book with exactly this
+     * author name: the IDs are read from the {@code (author, id)} index, then deleted by ID in
+     * the same transaction. Exactly one of the two parameters must be given, otherwise
+     * <strong>400 Bad Request</strong> is returned, so that a request can never empty the
+     * catalogue by mistake.
+     *
+     * @param ids    the IDs of the books to delete
+     * @param author the author name of the books to delete
+     * @return the number of deleted books
+     */
+    @DeleteMapping
+    public BulkDeleteResult deleteBooks(@RequestParam(required = false) List<Long> ids,
+                                        @RequestParam(required = false) String author) {
+        if ((ids == null) == (author == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of ids and author must be given");
+        }
+
+        List<Long> deletedIds;
+        int deleted;
+        if (author != null) {
+            deletedIds = bookRepository.deleteRowsByAuthor(author);
+            deleted = deletedIds.size();
+        } else {
+            deletedIds = ids;
+            deleted = ids.isEmpty() ? 0 : bookRepository.deleteRowsByIdIn(ids);
+        }
+        deletedIds.forEach(bookViews::deleted);
+        return new BulkDeleteResult(deleted);
     }
 }
@@ -0,0 +1,214 @@
+package com.library.librarymanagement.controller;
+
+import com.library.librarymanagement.cache.EntityCache;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Entity tags derived from the {@code @Version} column of the entities and from the modification
+ * count of their collections.
+ * <p>
+ * The tag of an entity is its version as a strong entity tag, e.g. {@code "3"}. Clients send it
+ * back in {@code If-Match} to update the entity only if nobody changed it in between, and in
+ * {@code If-None-Match} to be answered <strong>304 Not Modified</strong> while it is unchanged.
+ * The tag is compared with the version kept by the {@link EntityCache} before the entity is
+ * read, so a 304 costs no query unless that version is not cached.
+ * <p>
+ * The tag of a list is the modification count of the collection ({@link EntityCache#modifications()}),
+ * prefixed by the start time of the application so that a restarted server never reuses a
+ * tag, e.g. {@code W/"mgt0c1qz-42"}. Any write to the collection changes the tag of all its
+ * pages. It is computed before the page is read, so a request carrying the current tag is
+ * answered without a query and without serialising the page.
+ * <p>
+ * List tags are weak: the same list is sent gzip-compressed or not, and Tomcat does not
+ * compress responses with a strong tag. {@code If-None-Match} compares tags weakly, so this does
+ * not prevent 304 responses.
+ *
+ * <h2>Formats</h2>
+ * <p>
+ * The same entity or list is sent as JSON, CBOR or Smile depending on {@code Accept} (see
+ * {@link com.library.librarymanagement.config.ResponseFormatConfig ResponseFormatConfig}), and
+ * the three bodies are different byte streams. Their tags therefore differ: JSON keeps the bare
+ * tag, the binary formats append {@code -cbor} or {@code -smile}, e.g. {@code "3-cbor"}. A
+ * client, or a cache holding several variants, can never revalidate one format with the tag of
+ * another. The format is resolved from {@code Accept} as the message converters do: the most
+ * preferred acceptable type, JSON for {@code *}{@code /*}.
+ * </p>
+ *
+ * <h2>If-Match</h2>
+ * <ul>
+ *     <li>absent or {@code *} — no version check;</li>
+ *     <li>a single strong tag, of any format — the update must find the entity at that
+ *     version;</li>
+ *     <li>anything else, including several tags — <strong>412 Precondition Failed</strong>.</li>
+ * </ul>
+ */
+final class ETags {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * The formats of the responses, in the order the message converters are tried, with the
+     * suffix of their tags.
+     */
+    private static final List<Map.Entry<MediaType, String>> FORMATS = List.of(
+            Map.entry(MediaType.APPLICATION_JSON, ""),
+            Map.entry(MediaType.APPLICATION_CBOR, "-cbor"),
+            Map.entry(MediaType.valueOf("application/x-jackson-smile"), "-smile"));
+
+    private ETags() {
+    }
+
+    /**
+     * Returns the tag of the current state of a collection.
+     *
+     * @param cache the cache notified of every write to the collection
+     * @return a weak entity tag
+     */
+    static String ofCollection(EntityCache<?> cache) {
+        return "W/\"" + EPOCH + "-" + cache.modifications() + formatSuffix() + "\"";
+    }
+
+    /**
+     * Returns a {@code 200 OK} response with the entity as body and its version, in the format
+     * of the response, as {@code ETag}.
+     *
+     * @param body    the entity
+     * @param version the version of the entity, or {@code null} to omit the header
+     * @param <T>     the entity type
+     * @return the response
+     */
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != null) {
+            response.eTag(of(version));
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Answers a request with <strong>304 Not Modified</strong> if its {@code If-None-Match}
+     * holds the tag of the cached version of the entity.
+     * <p>
+     * Unlike the check Spring makes on the returned {@link ResponseEntity}, this one runs before
+     * the entity is loaded: on a match the controller returns without a query. Without a cached
+     * version, or with a different one, the request is left untouched and the entity is loaded
+     * and checked as usual.
+     *
+     * @param request the current request
+     * @param version the version of the entity in the cache, if any
+     * @return {@code true} if the response has been set to 304 and the controller should return
+     * {@code null}
+     */
+    static boolean notModified(WebRequest request, Optional<Long> version) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || version.isEmpty()) {
+            return false;
+        }
+        String tag = of(version.get());
+        ETag current = ETag.create(tag);
+        for (ETag requested : ETag.parse(ifNoneMatch)) {
+            if (requested.compare(current, false)) {
+                return request.checkNotModified(tag);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tag of a version of an entity, in the format of the response.
+     *
+     * @param version the version of the entity
+     * @return a strong entity tag
+     */
+    private static String of(long version) {
+        return "\"" + version + formatSuffix() + "\"";
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, or {@code null} if absent
+     * @return the required version, or {@code null} if any version is accepted
+     * @throws ResponseStatusException with status 412 if the header is not a single strong tag
+     *                                 holding a version
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            for (Map.Entry<MediaType, String> format : FORMATS) {
+                if (!format.getValue().isEmpty() && value.endsWith(format.getValue())) {
+                    value = value.substring(0, value.length() - format.getValue().length());
+                    break;
+                }
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // fall through: not one of our tags
+            }
+        }
+        throw preconditionFailed();
+    }
+
+    /**
+     * Returns the suffix of the tags in the format the current request will be answered in.
+     *
+     * @return the suffix, empty for JSON and outside of a request
+     */
+    private static String formatSuffix() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return "";
+        }
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Map.Entry<MediaType, String> format : FORMATS) {
+                if (type.isCompatibleWith(format.getKey())) {
+                    return format.getValue();
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns the exception answering a request whose {@code If-Match} does not match the
+     * current version of the entity.
+     *
+     * @return a 412 exception
+     */
+    static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.librarymanagement.controller;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helper shared by the list endpoints to implement keyset (cursor) pagination.
+ * <p>
+ * Pages are addressed by the last primary key seen by the client rather than by an offset,
+ * so every page is served by an index seek on the primary key and costs the same regardless
+ * of how deep the client has scrolled.
+ *
+ * <h2>Contract</h2>
+ * <ul>
+ *     <li><strong>after</strong> — exclusive lower bound on the ID (defaults to {@code 0})</li>
+ *     <li><strong>limit</strong> — page size, clamped to {@code [1, MAX_LIMIT]}</li>
+ *     <li>the response body is an array: JSON by default, CBOR or Smile on request through
+ *     {@code Accept} (see {@link com.library.librarymanagement.config.ResponseFormatConfig
+ *     ResponseFormatConfig}), gzip-compressed when the client sends {@code Accept-Encoding: gzip}</li>
+ *     <li>when more rows may follow, a {@code Link} header with {@code rel="next"} carries
+ *     the URI of the next page, including the cursor</li>
+ *     <li>the {@code ETag} identifies the state of the collection (see {@link ETags}); with a
+ *     matching {@code If-None-Match}, the page is answered with <strong>304 Not
+ *     Modified</strong></li>
+ * </ul>
+ */
+final class KeysetPagination {
+
+    /**
+     * Page size used when the client does not provide one.
+     */
+    static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Largest page size a client may request.
+     */
+    static final int MAX_LIMIT = 1000;
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Clamps the requested page size into the supported range.
+     *
+     * @param limit the page size requested by the client
+     * @return a {@link Limit} between {@code 1} and {@link #MAX_LIMIT}
+     */
+    static Limit limit(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Wraps a page of results in a response, adding the {@code Link} header pointing to the
+     * next page when the page is full.
+     *
+     * @param items the rows of the current page, ordered by ascending ID
+     * @param limit the page size used to fetch {@code items}
+     * @param idOf  extracts the primary key used as cursor
+     * @param <T>   the element type
+     * @return a {@code 200 OK} response containing the page
+     */
+    static <T> ResponseEntity<List<T>> page(List<T> items, Limit limit, Function<T, Long> idOf) {
+        return page(items, limit, idOf, null);
+    }
+
+    /**
+     * Wraps a page of results in a response, like {@link #page(List, Limit, Function)}, tagged
+     * with the state of the collection it was read from.
+     *
+     * @param items the rows of the current page, ordered by ascending ID
+     * @param limit the page size used to fetch {@code items}
+     * @param idOf  extracts the primary key used as cursor
+     * @param eTag  the tag of the collection, read before the page, or {@code null} to omit it
+     * @param <T>   the element type
+     * @return a {@code 200 OK} response containing the page
+     */
+    static <T> ResponseEntity<List<T>> page(List<T> items, Limit limit, Function<T, Long> idOf, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (!items.isEmpty() && items.size() == limit.max()) {
+            Long next = idOf.apply(items.get(items.size() - 1));
+            String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", next)
+                    .replaceQueryParam("limit", limit.max())
+                    .build(true) // the query string of the request is already encoded
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+        }
+        return response.body(items);
+    }
+}
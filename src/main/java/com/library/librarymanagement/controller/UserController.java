@@ -1,8 +1,18 @@
 package com.library.librarymanagement.controller;
 
+import com.library.librarymanagement.cache.EntityCache;
 import com.library.librarymanagement.entity.User;
 import com.library.librarymanagement.repository.UserRepository;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.BatchItemResult;
+import com.library.librarymanagement.service.PatchService;
+import com.library.librarymanagement.service.UserPatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,9 +24,14 @@ import java.util.List;
  *
  * <h2>Available endpoints</h2>
  * <ul>
- *     <li><strong>GET /users</strong> — retrieve all users</li>
+ *     <li><strong>GET /users?after=&amp;limit=</strong> — retrieve users one page at a time</li>
+ *     <li><strong>GET /users?email=</strong> — retrieve the user with an email address, as a
+ *     list of at most one user</li>
+ *     <li><strong>GET /users/{id}</strong> — retrieve a single user</li>
  *     <li><strong>POST /users</strong> — create a new user</li>
+ *     <li><strong>POST /users/batch</strong> — create many users in chunked transactions</li>
  *     <li><strong>PUT /users/{id}</strong> — update an existing user</li>
+ *     <li><strong>PATCH /users/{id}</strong> — change some fields of a user with one statement</li>
  *     <li><strong>DELETE /users/{id}</strong> — delete a user by ID</li>
  * </ul>
  *
@@ -33,24 +48,85 @@ import java.util.List;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final EntityCache<User> userCache;
+    private final BatchInsertService batchInsertService;
+    private final PatchService patchService;
 
     /**
      * Constructs a new {@code UserController}.
      *
-     * @param userRepository the repository managing {@link User} persistence
+     * @param userRepository     the repository managing {@link User} persistence
+     * @param userCache          the read cache placed in front of the repository
+     * @param batchInsertService the service persisting bulk create requests
+     * @param patchService       the service applying partial updates
      */
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, EntityCache<User> userCache,
+                          BatchInsertService batchInsertService, PatchService patchService) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.batchInsertService = batchInsertService;
+        this.patchService = patchService;
     }
 
     /**
-     * Retrieves all users currently stored in the system.
+     * Retrieves one page of users using keyset pagination, or the user with an email address.
+     * <p>
+     * Users are returned in ascending ID order, starting after the {@code after} cursor. When the
+     * page is full, the response carries a {@code Link} header with {@code rel="next"} pointing
+     * to the following page. Pages are served from the {@link EntityCache} when possible.
+     * <p>
+     * The response carries the tag of the users as {@code ETag}. A request whose
+     * {@code If-None-Match} holds the current tag is answered with <strong>304 Not
+     * Modified</strong> before the page is looked up.
+     * <p>
+     * With {@code email}, the lookup goes through the unique email index and the page holds at
+     * most one user.
      *
-     * @return a list of all {@link User} entities
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of users to return
+     * @param email   only the user with this email address
+     * @param request the request, checked for {@code If-None-Match}
+     * @return a page of {@link User} entities, or {@code null} when not modified
      */
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String email,
+            WebRequest request) {
+        String eTag = ETags.ofCollection(userCache);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        Limit page = KeysetPagination.limit(limit);
+        List<User> users = email != null
+                ? userCache.page("email=" + email, after, page.max(),
+                        () -> userRepository.findByEmail(email).filter(user -> user.getId() > after).stream().toList())
+                : userCache.page(after, page.max(),
+                        () -> userRepository.findByIdGreaterThanOrderByIdAsc(after, page));
+        return KeysetPagination.page(users, page, User::getId, eTag);
+    }
+
+    /**
+     * Retrieves a single user by ID, from the {@link EntityCache} when possible.
+     * <p>
+     * If no user exists with the given ID, <strong>404 Not Found</strong> is returned. The
+     * response carries the version of the user as {@code ETag}; a request whose
+     * {@code If-None-Match} holds it is answered with <strong>304 Not Modified</strong>, without
+     * serialising the user. The tag is checked against the version in the cache first, so the
+     * user is not read either; only when that version is not cached does a 304 cost one lookup.
+     *
+     * @param id      the unique identifier of the user
+     * @param request the current request, for its {@code If-None-Match} header
+     * @return the matching {@link User} entity, or {@code null} when answered with 304
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<User> getUser(@PathVariable Long id, WebRequest request) {
+        if (ETags.notModified(request, userCache.version(id))) {
+            return null;
+        }
+        User user = userCache.findById(id, userRepository::findById).orElseThrow();
+        return ETags.ok(user, user.getVersion());
     }
 
     /**
@@ -61,36 +137,92 @@ public class UserController {
      */
     @PostMapping
     public User createUser(@RequestBody User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.saved(saved);
+        return saved;
+    }
+
+    /**
+     * Persists many users in a single request.
+     * <p>
+     * Users are saved in chunked transactions using JDBC batching. The response contains one
+     * {@link BatchItemResult} per submitted user, in request order, reporting either the
+     * generated ID or the reason why the user was not persisted.
+     *
+     * @param users the {@link User} instances received in the request body
+     * @return the per-user outcome of the operation
+     */
+    @PostMapping("/batch")
+    public List<BatchItemResult> createUsers(@RequestBody List<User> users) {
+        List<BatchItemResult> results = batchInsertService.insertAll(userRepository, users, User::getId);
+        for (BatchItemResult result : results) {
+            if (result.status() == BatchItemResult.Status.CREATED) {
+                userCache.saved(users.get(result.index()));
+            }
+        }
+        return results;
     }
 
     /**
      * Updates the user identified by the provided ID.
      * <p>
      * If no user exists with the given ID, an exception is thrown by
-     * {@link java.util.Optional#orElseThrow()}.
+     * {@link java.util.Optional#orElseThrow()}. Versions are checked as for
+     * {@code PUT /books/{id}}: <strong>412</strong> on an {@code If-Match} mismatch,
+     * <strong>409</strong> on a concurrent update.
      *
      * @param id          the identifier of the user to update
+     * @param ifMatch     the {@code ETag} the client last saw, if any
      * @param userDetails an instance containing updated field values
      * @return the updated {@link User} entity
      */
     @PutMapping("/{id}")
-    public User updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public ResponseEntity<User> updateUser(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestBody User userDetails) {
+        Long version = ETags.expectedVersion(ifMatch);
         User user = userRepository.findById(id).orElseThrow();
+        if (version != null && !version.equals(user.getVersion())) {
+            throw ETags.preconditionFailed();
+        }
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.saved(saved);
+        return ETags.ok(saved, saved.getVersion());
+    }
+
+    /**
+     * Changes only the supplied fields of a user, with a single {@code UPDATE} statement.
+     * <p>
+     * Behaves like {@code PATCH /books/{id}}.
+     *
+     * @param id      the identifier of the user to update
+     * @param ifMatch the {@code ETag} the client last saw, if any
+     * @param patch   the fields to change
+     * @return the updated {@link User} entity, with its new version as {@code ETag}
+     */
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<User> patchUser(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody UserPatch patch) {
+        User patched = patchService.patchUser(id, ETags.expectedVersion(ifMatch), patch)
+                .orElseThrow(ETags::preconditionFailed);
+        userCache.saved(patched);
+        return ETags.ok(patched, patched.getVersion());
     }
 
     /**
      * Deletes the user matching the provided ID.
      * <p>
-     * If no such user exists, Spring automatically handles the exception.
+     * The user is removed with a single {@code DELETE} statement, without being loaded first.
+     * Deleting an ID that does not exist is not an error.
      *
      * @param id the identifier of the user to delete
      */
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable Long id) {
-        userRepository.deleteById(id);
+        userRepository.deleteRowById(id);
+        userCache.deleted(id);
     }
 }
@@ -1,6 +1,8 @@
 package com.library.librarymanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entity class representing an author in the library system.
@@ -21,19 +23,23 @@ import jakarta.persistence.*;
  * </p>
  */
 @Entity
+@Table(indexes = @Index(name = "idx_author_name", columnList = "name"))
 public class Author {
 
     /**
      * Unique identifier for the author.
      * <p>
-     * The value is generated automatically using the identity strategy.
+     * The value is drawn from the {@code author_seq} database sequence in pooled blocks,
+     * so it is known before the INSERT is executed (see {@link PooledSequence}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("author_seq")
     private Long id;
 
     /**
      * Full name of the author.
+     * <p>
+     * Indexed: books are linked to their author by matching this name.
      */
     private String name;
 
@@ -42,6 +48,19 @@ public class Author {
      */
     private String nationality;
 
+    /**
+     * Version of the stored row, incremented by every update.
+     * <p>
+     * Updates check it and fail instead of overwriting a concurrent change. Clients see it
+     * as the {@code ETag} of the author and send it back in {@code If-Match}; it is not part of
+     * the JSON body. Rows written without it, e.g. with plain SQL, start at {@code 0}.
+     */
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Default constructor required by JPA.
      */
@@ -59,6 +78,24 @@ public class Author {
         this.nationality = nationality;
     }
 
+    /**
+     * Creates an unmanaged copy of a stored author.
+     * <p>
+     * Used by the read-only projection queries of
+     * {@link com.library.librarymanagement.repository.AuthorRepository AuthorRepository}.
+     *
+     * @param id          the author's ID
+     * @param name        the author's full name
+     * @param nationality the author's nationality
+     * @param version     the version of the stored row
+     */
+    public Author(Long id, String name, String nationality, Long version) {
+        this.id = id;
+        this.name = name;
+        this.nationality = nationality;
+        this.version = version;
+    }
+
     /**
      * Returns the unique identifier of the author.
      *
@@ -103,4 +140,13 @@ public class Author {
     public void setNationality(String nationality) {
         this.nationality = nationality;
     }
+
+    /**
+     * Returns the version of the stored row.
+     *
+     * @return the version, or {@code null} if the author has not been stored
+     */
+    public Long getVersion() {
+        return version;
+    }
 }
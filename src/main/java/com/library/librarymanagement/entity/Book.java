@@ -1,6 +1,8 @@
 package com.library.librarymanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entity class representing a book in the library system.
@@ -13,9 +15,26 @@ import jakarta.persistence.*;
  *     <li><strong>id</strong> — unique identifier, auto-generated</li>
  *     <li><strong>title</strong> — title of the book</li>
  *     <li><strong>author</strong> — name of the author (stored as a string)</li>
+ *     <li><strong>authorId</strong> — the matching {@link Author}, if any (read-only)</li>
  *     <li><strong>publicationYear</strong> — year in which the book was published</li>
  * </ul>
  *
+ * <h2>Indexes</h2>
+ * <p>
+ * The filtered reads of {@code GET /books} are index seeks. {@code author} and
+ * {@code publicationYear} are indexed together with {@code id}, so each filter also returns its
+ * rows in keyset order. {@code title} is indexed alone and serves prefix searches, whose
+ * matches are then sorted by ID.
+ * </p>
+ *
+ * <h2>Read-only copies</h2>
+ * <p>
+ * The list queries of {@link com.library.librarymanagement.repository.BookRepository
+ * BookRepository} build books with a constructor expression instead of loading managed entities.
+ * The copies carry every serialised attribute, including {@code authorId}, and the version, but
+ * no {@link Author} reference, and are never attached to a persistence context.
+ * </p>
+ *
  * <p>
  * This entity is used throughout the system in CRUD operations and is persisted
  * via Spring Data JPA in cooperation with
@@ -23,15 +42,22 @@ import jakarta.persistence.*;
  * </p>
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_book_author_id", columnList = "author_id, id"),
+        @Index(name = "idx_book_author", columnList = "author, id"),
+        @Index(name = "idx_book_publication_year", columnList = "publication_year, id"),
+        @Index(name = "idx_book_title", columnList = "title")
+})
 public class Book {
 
     /**
      * Unique identifier for the book.
      * <p>
-     * The value is generated automatically using the identity strategy.
+     * The value is drawn from the {@code book_seq} database sequence in pooled blocks,
+     * so it is known before the INSERT is executed (see {@link PooledSequence}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("book_seq")
     private Long id;
 
     /**
@@ -42,16 +68,52 @@ public class Book {
     /**
      * Name of the author.
      * <p>
-     * Note: stored as a simple string rather than as an entity relationship
-     * to simplify the model.
+     * This is the name submitted by clients. When an {@link Author} with this name exists, the
+     * book is also linked to it through {@link #authorRef}, and the name is kept in sync with
+     * the author's name.
      */
     private String author;
 
+    /**
+     * The {@link Author} matching {@link #author}, or {@code null} if there is none.
+     * <p>
+     * Mapped to the {@code author_id} foreign key. It is indexed together with {@code id}, so
+     * the books of an author are found, and paged in ID order, without comparing names. The
+     * author is loaded lazily. It is never serialised: clients see only its ID, as
+     * {@code authorId}.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id")
+    @JsonIgnore
+    private Author authorRef;
+
+    /**
+     * The ID of {@link #authorRef}, read from the same {@code author_id} column.
+     * <p>
+     * The column is written through {@link #authorRef} only. This copy lets the projection
+     * queries return the author ID without creating an {@link Author} reference.
+     */
+    @Column(name = "author_id", insertable = false, updatable = false)
+    private Long authorId;
+
     /**
      * Year in which the book was published.
      */
     private int publicationYear;
 
+    /**
+     * Version of the stored row, incremented by every update.
+     * <p>
+     * Updates check it and fail instead of overwriting a concurrent change. Clients see it
+     * as the {@code ETag} of the book and send it back in {@code If-Match}; it is not part of
+     * the JSON body. Rows written without it, e.g. with plain SQL, start at {@code 0}.
+     */
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Default constructor required by JPA.
      */
@@ -71,6 +133,28 @@ public class Book {
         this.publicationYear = year;
     }
 
+    /**
+     * Creates an unmanaged copy of a stored book, without an {@link Author} reference.
+     * <p>
+     * Used by the read-only projection queries of
+     * {@link com.library.librarymanagement.repository.BookRepository BookRepository}.
+     *
+     * @param id              the book's ID
+     * @param title           the title of the book
+     * @param author          the name of the author
+     * @param publicationYear the publication year
+     * @param authorId        the ID of the linked author, or {@code null}
+     * @param version         the version of the stored row
+     */
+    public Book(Long id, String title, String author, int publicationYear, Long authorId, Long version) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.publicationYear = publicationYear;
+        this.authorId = authorId;
+        this.version = version;
+    }
+
     /**
      * Returns the unique identifier of the book.
      *
@@ -133,4 +217,32 @@ public class Book {
     public void setPublicationYear(int publicationYear) {
         this.publicationYear = publicationYear;
     }
+
+    /**
+     * Returns the ID of the linked author, without loading it.
+     *
+     * @return the author ID, or {@code null} if the book is not linked to an {@link Author}
+     */
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    /**
+     * Links the book to an author, or unlinks it.
+     *
+     * @param authorRef the author matching {@link #getAuthor()}, or {@code null}
+     */
+    public void setAuthorRef(Author authorRef) {
+        this.authorRef = authorRef;
+        this.authorId = authorRef == null ? null : authorRef.getId();
+    }
+
+    /**
+     * Returns the version of the stored row.
+     *
+     * @return the version, or {@code null} if the book has not been stored
+     */
+    public Long getVersion() {
+        return version;
+    }
 }
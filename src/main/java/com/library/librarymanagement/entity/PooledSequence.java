@@ -0,0 +1,30 @@
+package com.library.librarymanagement.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an identifier as generated from a database sequence with a pooled (hi-lo style) optimizer.
+ * <p>
+ * Unlike {@code GenerationType.IDENTITY}, identifiers are known before the INSERT is executed, so
+ * Hibernate can defer and batch INSERT statements. Each call to the sequence reserves a block of
+ * identifiers whose size is read from the {@code library.id.allocation-size} Hibernate setting.
+ *
+ * @see PooledSequenceGenerator
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /**
+     * Name of the database sequence backing the identifier.
+     *
+     * @return the sequence name
+     */
+    String value();
+}
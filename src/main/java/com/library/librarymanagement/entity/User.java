@@ -1,6 +1,8 @@
 package com.library.librarymanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entity class representing a user in the library system.
@@ -23,16 +25,18 @@ import jakarta.persistence.*;
  * </p>
  */
 @Entity
-@Table(name = "users") // Prevents naming conflict with SQL reserved keyword "user"
+@Table(name = "users", // Prevents naming conflict with SQL reserved keyword "user"
+        indexes = @Index(name = "uk_users_email", columnList = "email", unique = true))
 public class User {
 
     /**
      * Unique identifier for the user.
      * <p>
-     * The value is generated automatically using the identity strategy.
+     * The value is drawn from the {@code user_seq} database sequence in pooled blocks,
+     * so it is known before the INSERT is executed (see {@link PooledSequence}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("user_seq")
     private Long id;
 
     /**
@@ -42,9 +46,25 @@ public class User {
 
     /**
      * Email address of the user.
+     * <p>
+     * Unique across users, enforced by the {@code uk_users_email} index, which also serves
+     * lookups by email.
      */
     private String email;
 
+    /**
+     * Version of the stored row, incremented by every update.
+     * <p>
+     * Updates check it and fail instead of overwriting a concurrent change. Clients see it
+     * as the {@code ETag} of the user and send it back in {@code If-Match}; it is not part of
+     * the JSON body. Rows written without it, e.g. with plain SQL, start at {@code 0}.
+     */
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Default constructor required by JPA.
      */
@@ -62,6 +82,24 @@ public class User {
         this.email = email;
     }
 
+    /**
+     * Creates an unmanaged copy of a stored user.
+     * <p>
+     * Used by the read-only projection queries of
+     * {@link com.library.librarymanagement.repository.UserRepository UserRepository}.
+     *
+     * @param id    the user's ID
+     * @param name  the user's full name
+     * @param email   the user's email address
+     * @param version the version of the stored row
+     */
+    public User(Long id, String name, String email, Long version) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.version = version;
+    }
+
     /**
      * Returns the unique identifier of the user.
      *
@@ -106,4 +144,13 @@ public class User {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    /**
+     * Returns the version of the stored row.
+     *
+     * @return the version, or {@code null} if the user has not been stored
+     */
+    public Long getVersion() {
+        return version;
+    }
 }
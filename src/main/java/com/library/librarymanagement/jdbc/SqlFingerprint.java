@@ -0,0 +1,91 @@
+package com.library.librarymanagement.jdbc;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to fingerprints: the statement without its literal values.
+ * <p>
+ * Statements that differ only in their values get the same fingerprint, so a log of
+ * fingerprints can be grouped and counted, and never contains user data:
+ * <ul>
+ *     <li>string and numeric literals become {@code ?}</li>
+ *     <li>lists of parameters, {@code (?, ?, ?)}, become {@code (?, ...)}: Hibernate's batch
+ *     fetching binds as many parameters as there are IDs to load</li>
+ *     <li>runs of whitespace become one space</li>
+ * </ul>
+ * Quoted identifiers and comments are kept as they are.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of a statement.
+     *
+     * @param sql the statement, as sent to the driver
+     * @return the statement without literals and with normalised whitespace
+     */
+    public static String of(String sql) {
+        StringBuilder fingerprint = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i);
+                fingerprint.append('?');
+            } else if (c == '"') {
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? length : end + 1;
+                fingerprint.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !partOfIdentifier(fingerprint)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                fingerprint.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!fingerprint.isEmpty() && i < length) {
+                    fingerprint.append(' ');
+                }
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+        return PARAMETER_LIST.matcher(fingerprint).replaceAll("(?, ...)");
+    }
+
+    /**
+     * Returns the index after the string literal starting at {@code start}, whose quotes may be
+     * escaped by doubling them.
+     */
+    private static int skipString(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean partOfIdentifier(StringBuilder preceding) {
+        if (preceding.isEmpty()) {
+            return false;
+        }
+        char last = preceding.charAt(preceding.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+}
@@ -0,0 +1,256 @@
+package com.library.librarymanagement.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous, sampled log of the executed SQL statements.
+ * <p>
+ * Replaces {@code spring.jpa.show-sql}, which prints every statement to standard output on the
+ * thread that runs it. Statements are reported by {@link SqlLoggingDataSource} and written by a
+ * background thread; the thread running the statement only pays for the sampling decision, two
+ * clock reads and, for the logged statements, a queue insertion.
+ *
+ * <h2>What is logged</h2>
+ * <ul>
+ *     <li><strong>sampled</strong> statements — a fraction {@code sampleRate} of all statements,
+ *     at INFO</li>
+ *     <li><strong>slow</strong> statements — every statement whose execution took at least
+ *     {@code slowThreshold}, whether sampled or not, at WARN</li>
+ * </ul>
+ * Each entry has the {@link SqlFingerprint fingerprint} of the statement (never the bound
+ * values), its execution time, the number of rows it read or wrote and the number of statements
+ * in its JDBC batch. The values are also attached as SLF4J key-value pairs, so that a structured
+ * log format ({@code logging.structured.format.console}) emits them as separate fields.
+ *
+ * <h2>Buffer</h2>
+ * <p>
+ * Entries wait in a bounded queue. When it is full, sampled entries are dropped and counted;
+ * slow entries are written by the calling thread instead, so they are never lost. After
+ * {@link #close()}, all entries are written by the calling thread.
+ * </p>
+ *
+ * <h2>Metrics</h2>
+ * <p>
+ * As a {@link MeterBinder} bean, the log publishes {@code library.sql.log.entries}, tagged with
+ * {@code outcome=written} or {@code outcome=dropped}, and {@code library.sql.log.buffer}, the
+ * number of entries waiting to be written.
+ * </p>
+ */
+public final class SqlLog implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("library.sql");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Consumer<Entry> sink;
+    private final BlockingQueue<Pending> buffer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Creates a log writing to the {@code library.sql} logger and starts its writer thread.
+     *
+     * @param sampleRate    fraction of the statements to log, between 0 and 1
+     * @param slowThreshold execution time from which every statement is logged
+     * @param bufferSize    maximum number of entries waiting to be written
+     */
+    public SqlLog(double sampleRate, Duration slowThreshold, int bufferSize) {
+        this(sampleRate, slowThreshold, bufferSize, SqlLog::log);
+    }
+
+    /**
+     * Creates a log writing to {@code sink} and starts its writer thread.
+     *
+     * @param sampleRate    fraction of the statements to log, between 0 and 1
+     * @param slowThreshold execution time from which every statement is logged
+     * @param bufferSize    maximum number of entries waiting to be written
+     * @param sink          receives the entries, on the writer thread or on the thread running
+     *                      the statement
+     */
+    public SqlLog(double sampleRate, Duration slowThreshold, int bufferSize, Consumer<Entry> sink) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.writer = new Thread(this::drain, "sql-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Decides whether the next statement is sampled. Called before the statement runs, so that
+     * unsampled statements skip the work needed to log them (e.g. counting rows) unless they
+     * turn out to be slow.
+     *
+     * @return {@code true} if the statement must be logged whatever its execution time
+     */
+    public boolean sample() {
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Tells whether an execution time is over the slow threshold.
+     *
+     * @param elapsedNanos the execution time of a statement
+     * @return {@code true} if the statement must be logged whether sampled or not
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowThresholdNanos;
+    }
+
+    /**
+     * Logs a statement if it was sampled or is slow.
+     *
+     * @param sql          the statement, as sent to the driver
+     * @param elapsedNanos its execution time
+     * @param rows         rows read or written, {@code -1} if unknown
+     * @param statements   number of statements in the JDBC batch, 1 if not batched
+     * @param sampled      the result of {@link #sample()} for this statement
+     */
+    public void record(String sql, long elapsedNanos, long rows, int statements, boolean sampled) {
+        boolean slow = isSlow(elapsedNanos);
+        if (!sampled && !slow) {
+            return;
+        }
+        Pending pending = new Pending(sql, elapsedNanos, rows, statements, slow, Thread.currentThread().getName());
+        if (closed || !buffer.offer(pending)) {
+            if (slow || closed) {
+                write(pending);
+            } else {
+                dropped.incrementAndGet();
+            }
+        } else if (closed && buffer.remove(pending)) {
+            // closed since the check above: the final drain may already have run
+            write(pending);
+        }
+    }
+
+    /**
+     * Stops the writer thread after it has written the waiting entries, then writes the entries
+     * queued after its last drain.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        remaining.forEach(this::write);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.sql.log.entries", written, AtomicLong::get)
+                .description("Entries of the SQL log")
+                .tag("outcome", "written")
+                .register(registry);
+        FunctionCounter.builder("library.sql.log.entries", dropped, AtomicLong::get)
+                .description("Entries of the SQL log")
+                .tag("outcome", "dropped")
+                .register(registry);
+        Gauge.builder("library.sql.log.buffer", buffer, BlockingQueue::size)
+                .description("Entries of the SQL log waiting to be written")
+                .register(registry);
+    }
+
+    /**
+     * Returns the number of entries written so far.
+     *
+     * @return the written entries
+     */
+    public long written() {
+        return written.get();
+    }
+
+    /**
+     * Returns the number of sampled entries dropped because the buffer was full.
+     *
+     * @return the dropped entries
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (!closed) {
+                batch.add(buffer.take());
+                buffer.drainTo(batch);
+                batch.forEach(this::write);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // closing
+        }
+        buffer.drainTo(batch);
+        batch.forEach(this::write);
+    }
+
+    private void write(Pending pending) {
+        try {
+            sink.accept(new Entry(SqlFingerprint.of(pending.sql()), pending.elapsedNanos(), pending.rows(),
+                    pending.statements(), pending.slow(), pending.thread()));
+            written.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("Could not write an entry of the SQL log", e);
+        }
+    }
+
+    private static void log(Entry entry) {
+        double millis = entry.elapsedNanos() / 1_000_000.0;
+        log.atLevel(entry.slow() ? Level.WARN : Level.INFO)
+                .addKeyValue("sql.fingerprint", entry.fingerprint())
+                .addKeyValue("sql.elapsed_ms", millis)
+                .addKeyValue("sql.rows", entry.rows())
+                .addKeyValue("sql.statements", entry.statements())
+                .addKeyValue("sql.slow", entry.slow())
+                .addKeyValue("sql.thread", entry.thread())
+                .log("{} {} ms, {} rows, {} statements [{}]: {}", entry.slow() ? "slow" : "sampled",
+                        String.format("%.3f", millis), entry.rows(), entry.statements(), entry.thread(),
+                        entry.fingerprint());
+    }
+
+    /**
+     * A logged statement.
+     *
+     * @param fingerprint  the statement without its literal values
+     * @param elapsedNanos its execution time
+     * @param rows         rows read or written, {@code -1} if unknown
+     * @param statements   number of statements in the JDBC batch
+     * @param slow         whether the execution time was over the slow threshold
+     * @param thread       the thread that ran the statement
+     */
+    public record Entry(String fingerprint, long elapsedNanos, long rows, int statements, boolean slow,
+                        String thread) {
+    }
+
+    private record Pending(String sql, long elapsedNanos, long rows, int statements, boolean slow, String thread) {
+    }
+}
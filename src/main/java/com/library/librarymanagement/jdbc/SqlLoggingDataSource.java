@@ -0,0 +1,275 @@
+package com.library.librarymanagement.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+/**
+ * Data source reporting the statements it runs to a {@link SqlLog}.
+ * <p>
+ * Connections, statements and result sets of the target data source are wrapped in JDK proxies.
+ * Every {@code execute*} call is timed; its SQL, time and row count are passed to
+ * {@link SqlLog#record}, which keeps the sampled and the slow statements.
+ *
+ * <h2>Rows</h2>
+ * <ul>
+ *     <li>updates — the update count returned by the driver, summed over a batch</li>
+ *     <li>queries — the rows read through the result set, reported when it is closed (or its
+ *     statement is). The result set is only wrapped for sampled or slow queries: the others
+ *     are not logged, and their rows are not counted.</li>
+ * </ul>
+ * The execution time is the time spent in the {@code execute*} call; for a query, reading the
+ * rows afterwards is not included.
+ * <p>
+ * Calls to {@code unwrap} return the driver's objects, whose statements are not logged.
+ */
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    private final SqlLog sqlLog;
+
+    /**
+     * Creates a new {@code SqlLoggingDataSource}.
+     *
+     * @param target the data source whose statements are logged
+     * @param sqlLog the log receiving them
+     */
+    public SqlLoggingDataSource(DataSource target, SqlLog sqlLog) {
+        super(target);
+        this.sqlLog = sqlLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T wrap(Class<T> type, Forwarder handler) {
+        return type.cast(Proxy.newProxyInstance(SqlLoggingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Forwards the calls on a proxy to its target. A proxy is only equal to itself: the
+     * collections holding JDBC objects (e.g. Hibernate's registry of open statements) must not
+     * confuse it with its target.
+     */
+    private abstract static class Forwarder implements InvocationHandler {
+
+        private final Object target;
+
+        Forwarder(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        /**
+         * Handles a call on the proxy.
+         */
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        /**
+         * Calls a method on the target, rethrowing its exceptions unwrapped.
+         */
+        final Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Wraps the statements created by a connection.
+     */
+    private final class ConnectionHandler extends Forwarder {
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" ->
+                        wrap(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" ->
+                        wrap(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Times the executions of a statement and reports them.
+     */
+    private final class StatementHandler extends Forwarder {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private String batchSql;
+        private RowCounter open;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            super(statement);
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                if (batchSql == null && args != null) {
+                    batchSql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSql = null;
+            } else if (name.equals("close")) {
+                reportOpen();
+            } else if (name.equals("getResultSet")) {
+                Object result = forward(method, args);
+                return open != null && result != null ? open.wrap((ResultSet) result) : result;
+            }
+            if (!name.startsWith("execute")) {
+                return forward(method, args);
+            }
+
+            reportOpen();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : preparedSql != null ? preparedSql : batchSql;
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batchSql = null;
+            }
+            boolean sampled = sqlLog.sample();
+            long start = System.nanoTime();
+            Object result = forward(method, args);
+            long elapsed = System.nanoTime() - start;
+            if (!sampled && !sqlLog.isSlow(elapsed)) {
+                return result;
+            }
+
+            switch (result) {
+                case ResultSet resultSet -> {
+                    open = new RowCounter(sql, elapsed, sampled);
+                    return open.wrap(resultSet);
+                }
+                case Boolean hasResultSet when hasResultSet ->
+                        open = new RowCounter(sql, elapsed, sampled);
+                case Boolean ignored -> sqlLog.record(sql, elapsed, statement.getUpdateCount(), 1, sampled);
+                case int[] counts -> sqlLog.record(sql, elapsed, sum(counts), counts.length, sampled);
+                case long[] counts -> sqlLog.record(sql, elapsed, sum(counts), counts.length, sampled);
+                case Number count -> sqlLog.record(sql, elapsed, count.longValue(), 1, sampled);
+                case null, default -> sqlLog.record(sql, elapsed, -1, 1, sampled);
+            }
+            return result;
+        }
+
+        private void reportOpen() {
+            if (open != null) {
+                open.report();
+                open = null;
+            }
+        }
+
+        /**
+         * Sums the update counts of a batch, {@code -1} if the driver did not report one of them.
+         */
+        private static long sum(int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                if (count < 0) {
+                    return -1;
+                }
+                rows += count;
+            }
+            return rows;
+        }
+
+        private static long sum(long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                if (count < 0) {
+                    return -1;
+                }
+                rows += count;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Counts the rows read from the result set of one query and reports the query once.
+     */
+    private final class RowCounter {
+
+        private final String sql;
+        private final long elapsed;
+        private final boolean sampled;
+        private long rows;
+        private boolean reported;
+
+        RowCounter(String sql, long elapsed, boolean sampled) {
+            this.sql = sql;
+            this.elapsed = elapsed;
+            this.sampled = sampled;
+        }
+
+        ResultSet wrap(ResultSet resultSet) {
+            return SqlLoggingDataSource.wrap(ResultSet.class, new Forwarder(resultSet) {
+                @Override
+                Object handle(Method method, Object[] args) throws Throwable {
+                    return counted(method, forward(method, args));
+                }
+            });
+        }
+
+        private Object counted(Method method, Object result) {
+            switch (method.getName()) {
+                case "next" -> {
+                    if ((Boolean) result) {
+                        rows++;
+                    }
+                }
+                case "close" -> report();
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        void report() {
+            if (!reported) {
+                reported = true;
+                sqlLog.record(sql, elapsed, rows, 1, sampled);
+            }
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.library.librarymanagement.repository;
 
 import com.library.librarymanagement.entity.Author;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for the Author entity.
@@ -16,4 +23,46 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * but they can be added here if needed in the future.
  */
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    /**
+     * Returns the next page of authors in primary key order, starting strictly after the given ID.
+     * <p>
+     * This is a seek query: it translates to {@code WHERE id > ? ORDER BY id LIMIT ?} and is
+     * served by the primary key index, so its cost does not grow with the position of the page.
+     * <p>
+     * The query is a read-only projection: the constructor expression builds unmanaged authors
+     * from the selected columns, so Hibernate keeps no persistence context entry or snapshot
+     * for them. Changes to the returned authors are not saved.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of authors to return
+     * @return up to {@code limit} authors with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.library.librarymanagement.entity.Author(a.id, a.name, a.nationality, a.version) "
+            + "from Author a "
+            + "where a.id > :after order by a.id")
+    List<Author> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Returns the authors with any of the given names, using the index on {@code name}.
+     *
+     * @param names the author names to look up
+     * @return the matching authors, possibly several per name
+     */
+    List<Author> findByNameIn(Collection<String> names);
+
+    /**
+     * Deletes an author with a single {@code DELETE} statement.
+     * <p>
+     * Unlike {@link #deleteById(Object)}, which loads the author to remove it through the
+     * persistence context, the statement goes straight to the database.
+     *
+     * @param id the ID of the author
+     * @return the number of deleted authors, {@code 0} or {@code 1}
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Author a where a.id = :id")
+    int deleteRowById(Long id);
 }
@@ -1,7 +1,20 @@
 package com.library.librarymanagement.repository;
 
+import com.library.librarymanagement.entity.Author;
 import com.library.librarymanagement.entity.Book;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for the Book entity.
@@ -15,9 +28,252 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - findAll()
  * - delete()
  * - and others
- * <p>
- * Future custom queries can be defined here, e.g.:
- * {@code List<Book> findByAuthor(String author);}
  */
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    /**
+     * Select clause of the read-only page queries: builds unmanaged copies of the books with
+     * {@link Book#Book(Long, String, String, int, Long, Long)}.
+     */
+    String SELECT_COPIES = "select new com.library.librarymanagement.entity.Book"
+            + "(b.id, b.title, b.author, b.publicationYear, b.authorId, b.version) from Book b ";
+
+    /**
+     * Returns the next page of books in primary key order, starting strictly after the given ID.
+     * <p>
+     * This is a seek query: it translates to {@code WHERE id > ? ORDER BY id LIMIT ?} and is
+     * served by the primary key index, so its cost does not grow with the position of the page.
+     * <p>
+     * Like the other page queries of this repository, it is a read-only projection: the
+     * constructor expression builds unmanaged books from the selected columns, so Hibernate
+     * keeps no persistence context entry, snapshot or {@code Author} proxy for them. Changes to
+     * the returned books are not saved.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of books to return
+     * @return up to {@code limit} books with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_COPIES + "where b.id > :after order by b.id")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Returns the next page of the books whose author name is exactly {@code author}, in primary
+     * key order.
+     * <p>
+     * Served by the {@code (author, id)} index: the seek goes straight to the first matching row
+     * after the cursor and reads the page in index order, without a sort.
+     *
+     * @param author the author name
+     * @param after  the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit  the maximum number of books to return
+     * @return up to {@code limit} matching books with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_COPIES + "where b.author = :author and b.id > :after order by b.id")
+    List<Book> findByAuthorAndIdGreaterThanOrderByIdAsc(String author, Long after, Limit limit);
+
+    /**
+     * Returns the next page of the books published in {@code year}, in primary key order.
+     * <p>
+     * Served by the {@code (publication_year, id)} index, like
+     * {@link #findByAuthorAndIdGreaterThanOrderByIdAsc(String, Long, Limit)}.
+     *
+     * @param year  the publication year
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of books to return
+     * @return up to {@code limit} matching books with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_COPIES + "where b.publicationYear = :year and b.id > :after order by b.id")
+    List<Book> findByPublicationYearAndIdGreaterThanOrderByIdAsc(int year, Long after, Limit limit);
+
+    /**
+     * Returns the next page of the books whose title starts with {@code prefix}, in primary key
+     * order.
+     * <p>
+     * {@code %}, {@code _} and {@code \} in the prefix are escaped, so they match literally.
+     *
+     * @param prefix the beginning of the title, case-sensitive
+     * @param after  the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit  the maximum number of books to return
+     * @return up to {@code limit} matching books with an ID greater than {@code after}
+     * @see #findPageByTitleLike(String, Long, Limit)
+     */
+    default List<Book> findPageByTitlePrefix(String prefix, Long after, Limit limit) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return findPageByTitleLike(escaped + "%", after, limit);
+    }
+
+    /**
+     * Returns the next page of the books whose title matches a {@code LIKE} pattern, in primary
+     * key order.
+     * <p>
+     * H2 prefers to walk the primary key from the cursor, because it returns the rows already
+     * sorted, and would then test every following row against the pattern. The
+     * {@code USE INDEX} hint makes it read the range of the {@code title} index covered by the
+     * constant prefix of the pattern instead, then sort the matching rows by ID. Every matching
+     * row after the cursor is read and sorted before the page is cut, so a short prefix costs in
+     * proportion to the books it matches: a page of 100 takes three times as long for a prefix
+     * matching 10 000 books as for one matching a single book (see {@code src/jmh/README.md}). The hint is H2 syntax; another database needs its own, or
+     * none.
+     * <p>
+     * Being a native query, it returns entities rather than copies. They are loaded read-only,
+     * in a read-only transaction, so Hibernate keeps no snapshot of them for dirty checking.
+     *
+     * @param pattern the {@code LIKE} pattern, with {@code \} as escape character
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of books to return
+     * @return up to {@code limit} matching books with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @NativeQuery("select * from book use index (idx_book_title) "
+            + "where title like :pattern escape '\\' and id > :after order by id")
+    List<Book> findPageByTitleLike(String pattern, Long after, Limit limit);
+
+    /**
+     * Streams every book in primary key order through an open database cursor.
+     * <p>
+     * Rows are fetched from the driver in chunks of the configured JDBC fetch size and loaded
+     * as read-only entities, so no dirty-checking snapshot is kept. The stream must be consumed
+     * inside a transaction and closed by the caller; callers are also expected to detach each
+     * book once processed to keep the persistence context small.
+     *
+     * @return a lazily populated stream of all books
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllByOrderByIdAsc();
+
+    /**
+     * Returns the next page of the books of an author, in primary key order.
+     * <p>
+     * The query filters on the {@code author_id} foreign key column, without joining
+     * {@code author}. The {@code (author_id, id)} index serves both the filter and the order,
+     * so only the rows of the page are read, whatever the size of the catalogue.
+     *
+     * @param authorId the ID of the author
+     * @param after    the last book ID already seen by the client ({@code 0} for the first page)
+     * @param limit    the maximum number of books to return
+     * @return up to {@code limit} books of the author with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query(SELECT_COPIES + "where b.authorId = :authorId and b.id > :after order by b.id")
+    List<Book> findPageByAuthorId(Long authorId, Long after, Limit limit);
+
+    /**
+     * Returns the IDs of the books linked to an author.
+     *
+     * @param authorId the ID of the author
+     * @return the IDs of the author's books
+     */
+    @Query("select b.id from Book b where b.authorRef.id = :authorId")
+    List<Long> findIdsByAuthorId(Long authorId);
+
+    /**
+     * Returns the IDs of the books not linked to any author whose author name is {@code name}.
+     *
+     * @param name the author name
+     * @return the IDs of the matching books
+     */
+    @Query("select b.id from Book b where b.authorRef is null and b.author = :name")
+    List<Long> findUnlinkedIdsByAuthor(String name);
+
+    /**
+     * Links the given books to an author.
+     * <p>
+     * Like the other bulk updates of this repository, it increments the version of the books
+     * ({@code update versioned}): their JSON changes, so must their {@code ETag}, and the cached
+     * encodings keyed by version.
+     *
+     * @param author the author
+     * @param ids    the IDs of the books to link
+     * @return the number of updated books
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update versioned Book b set b.authorRef = :author where b.id in :ids")
+    int linkAuthor(Author author, Collection<Long> ids);
+
+    /**
+     * Copies a new author name to every book linked to the author, in a single statement.
+     * Books that already carry the name are left alone, with their version.
+     *
+     * @param authorId the ID of the renamed author
+     * @param name     the new name
+     * @return the number of updated books
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update versioned Book b set b.author = :name where b.authorRef.id = :authorId and b.author <> :name")
+    int renameAuthor(Long authorId, String name);
+
+    /**
+     * Removes the link between an author and its books, keeping the author name on the books.
+     *
+     * @param authorId the ID of the author about to be deleted
+     * @return the number of updated books
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update versioned Book b set b.authorRef = null where b.authorRef.id = :authorId")
+    int unlinkAuthor(Long authorId);
+
+    /**
+     * Deletes a book with a single {@code DELETE} statement.
+     * <p>
+     * Unlike {@link #deleteById(Object)}, which loads the book to remove it through the
+     * persistence context, the statement goes straight to the database. No lifecycle callback
+     * or version check runs.
+     *
+     * @param id the ID of the book
+     * @return the number of deleted books, {@code 0} or {@code 1}
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Book b where b.id = :id")
+    int deleteRowById(Long id);
+
+    /**
+     * Deletes the books with the given IDs with a single {@code DELETE} statement.
+     * <p>
+     * IDs without a book are ignored.
+     *
+     * @param ids the IDs of the books
+     * @return the number of deleted books
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Book b where b.id in :ids")
+    int deleteRowsByIdIn(Collection<Long> ids);
+
+    /**
+     * Returns the IDs of the books whose author name is exactly {@code author}.
+     * <p>
+     * The {@code (author, id)} index covers the query, so the table rows are not read.
+     *
+     * @param author the author name
+     * @return the IDs of the matching books
+     */
+    @Query("select b.id from Book b where b.author = :author")
+    List<Long> findIdsByAuthor(String author);
+
+    /**
+     * Deletes the books whose author name is exactly {@code author}.
+     * <p>
+     * The IDs are read from the covering {@code (author, id)} index first, then the books are
+     * removed with one {@code DELETE} by ID, in the same transaction. The caller learns which
+     * books are gone without loading any of them.
+     *
+     * @param author the author name
+     * @return the IDs of the deleted books
+     */
+    @Transactional
+    default List<Long> deleteRowsByAuthor(String author) {
+        List<Long> ids = findIdsByAuthor(author);
+        if (!ids.isEmpty()) {
+            deleteRowsByIdIn(ids);
+        }
+        return ids;
+    }
 }
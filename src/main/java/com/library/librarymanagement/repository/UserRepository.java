@@ -1,7 +1,14 @@
 package com.library.librarymanagement.repository;
 
 import com.library.librarymanagement.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for the User entity.
@@ -20,4 +27,45 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * but additional queries can be added if future features require them.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * Returns the next page of users in primary key order, starting strictly after the given ID.
+     * <p>
+     * This is a seek query: it translates to {@code WHERE id > ? ORDER BY id LIMIT ?} and is
+     * served by the primary key index, so its cost does not grow with the position of the page.
+     * <p>
+     * The query is a read-only projection: the constructor expression builds unmanaged users
+     * from the selected columns, so Hibernate keeps no persistence context entry or snapshot
+     * for them. Changes to the returned users are not saved.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of users to return
+     * @return up to {@code limit} users with an ID greater than {@code after}
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.library.librarymanagement.entity.User(u.id, u.name, u.email, u.version) from User u "
+            + "where u.id > :after order by u.id")
+    List<User> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Looks a user up by email address, through the unique {@code uk_users_email} index.
+     *
+     * @param email the email address
+     * @return the user, or an empty {@link Optional} if no user has this address
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Deletes a user with a single {@code DELETE} statement.
+     * <p>
+     * Unlike {@link #deleteById(Object)}, which loads the user to remove it through the
+     * persistence context, the statement goes straight to the database.
+     *
+     * @param id the ID of the user
+     * @return the number of deleted users, {@code 0} or {@code 1}
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from User u where u.id = :id")
+    int deleteRowById(Long id);
 }
@@ -0,0 +1,195 @@
+package com.library.librarymanagement.service;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the link between books and the {@link Author} matching their author name.
+ *
+ * <h2>Rules</h2>
+ * <ul>
+ *     <li>a book is linked to the author whose name equals its {@code author} field, the one with
+ *     the lowest ID if several authors share the name, and left unlinked if there is none;</li>
+ *     <li>creating an author links the unlinked books that carry its name;</li>
+ *     <li>renaming an author copies the new name to its books, with one statement on the
+ *     indexed foreign key;</li>
+ *     <li>deleting an author unlinks its books, which keep the author name.</li>
+ * </ul>
+ * Each author write and the book changes it implies run in one transaction, so the books never
+ * keep a link or a name the author no longer has. Books changed by author writes are reported
+ * to {@link BookViews} after the transaction commits.
+ *
+ * @see com.library.librarymanagement.config.AuthorLinkMigration
+ */
+@Service
+public class AuthorLinkService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final BookViews bookViews;
+
+    /**
+     * Creates a new {@code AuthorLinkService}.
+     *
+     * @param authorRepository the repository used to match and delete authors
+     * @param bookRepository   the repository used to update the links
+     * @param bookViews        the in-memory views refreshed after author changes
+     */
+    public AuthorLinkService(AuthorRepository authorRepository, BookRepository bookRepository, BookViews bookViews) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.bookViews = bookViews;
+    }
+
+    /**
+     * Links books about to be saved to the authors matching their author names.
+     * <p>
+     * The authors are looked up with a single query, whatever the number of books.
+     *
+     * @param books the books to link
+     */
+    public void link(Collection<Book> books) {
+        Set<String> names = books.stream()
+                .map(Book::getAuthor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Author> authors = names.isEmpty() ? Map.of() : authorRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Author::getName, Function.identity(),
+                        (a, b) -> a.getId() <= b.getId() ? a : b));
+        for (Book book : books) {
+            book.setAuthorRef(book.getAuthor() == null ? null : authors.get(book.getAuthor()));
+        }
+    }
+
+    /**
+     * Returns the next page of the books of an author, in ID order.
+     *
+     * @param authorId the ID of the author
+     * @param after    the last book ID already seen by the client
+     * @param limit    the maximum number of books to return
+     * @return the page of books
+     */
+    public List<Book> books(Long authorId, long after, Limit limit) {
+        return bookRepository.findPageByAuthorId(authorId, after, limit);
+    }
+
+    /**
+     * Saves a new author and links the unlinked books carrying its name, in one transaction:
+     * the author is never stored without its books.
+     *
+     * @param author the author to create
+     * @return the saved author
+     */
+    @Transactional
+    public Author create(Author author) {
+        Author saved = authorRepository.saveAndFlush(author);
+        created(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Links the unlinked books carrying the names of newly created authors. Called in the
+     * transaction that saved the authors, once they are flushed.
+     *
+     * @param authors the created authors
+     */
+    @Transactional
+    public void created(Collection<Author> authors) {
+        for (Author author : authors) {
+            List<Long> ids = bookRepository.findUnlinkedIdsByAuthor(author.getName());
+            if (!ids.isEmpty()) {
+                bookRepository.linkAuthor(author, ids);
+                refreshAfterCommit(ids);
+            }
+        }
+    }
+
+    /**
+     * Replaces the name and nationality of an author and copies a new name to its books, in one
+     * transaction. The version check of the author update orders concurrent renames: the books
+     * always end up with the name of the author that committed last.
+     *
+     * @param id      the ID of the author
+     * @param version the version the client expects, or {@code null} to skip the check
+     * @param details the new name and nationality
+     * @return the updated author, or empty if the stored version differs
+     * @throws NoSuchElementException if no author has the ID
+     */
+    @Transactional
+    public Optional<Author> update(Long id, Long version, Author details) {
+        Author author = authorRepository.findById(id).orElseThrow();
+        if (version != null && !version.equals(author.getVersion())) {
+            return Optional.empty();
+        }
+        String previousName = author.getName();
+        author.setName(details.getName());
+        author.setNationality(details.getNationality());
+        Author saved = authorRepository.saveAndFlush(author);
+        if (!Objects.equals(saved.getName(), previousName)) {
+            renamed(saved);
+        }
+        return Optional.of(saved);
+    }
+
+    /**
+     * Copies the name of an author to those of its books that carry another name. When none
+     * does, nothing is written and the books keep their version.
+     *
+     * @param author the author, possibly renamed
+     */
+    @Transactional
+    public void renamed(Author author) {
+        if (bookRepository.renameAuthor(author.getId(), author.getName()) > 0) {
+            refreshAfterCommit(bookRepository.findIdsByAuthorId(author.getId()));
+        }
+    }
+
+    /**
+     * Unlinks the books of an author and deletes the author, in one transaction: a book linked
+     * in between by another request would otherwise make the delete fail on the foreign key,
+     * after the other books were already unlinked.
+     *
+     * @param authorId the ID of the author to delete
+     * @return the number of deleted authors, {@code 0} or {@code 1}
+     */
+    @Transactional
+    public int delete(Long authorId) {
+        List<Long> ids = bookRepository.findIdsByAuthorId(authorId);
+        if (!ids.isEmpty()) {
+            bookRepository.unlinkAuthor(authorId);
+            refreshAfterCommit(ids);
+        }
+        return authorRepository.deleteRowById(authorId);
+    }
+
+    /**
+     * Reloads the changed books in the current transaction and reports them to
+     * {@link BookViews} once it commits, so that the views never see uncommitted state.
+     */
+    private void refreshAfterCommit(List<Long> ids) {
+        List<Book> books = bookRepository.findAllById(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                books.forEach(bookViews::saved);
+            }
+        });
+    }
+}
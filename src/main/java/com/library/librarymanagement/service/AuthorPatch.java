@@ -0,0 +1,12 @@
+package com.library.librarymanagement.service;
+
+/**
+ * The fields of an author to change with {@code PATCH /authors/{id}}.
+ * <p>
+ * Absent fields ({@code null}) keep their stored value.
+ *
+ * @param name        the new name; it is copied to the books of the author
+ * @param nationality the new nationality
+ */
+public record AuthorPatch(String name, String nationality) {
+}
@@ -0,0 +1,224 @@
+package com.library.librarymanagement.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.JDBCException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service persisting large lists of entities in chunked transactions.
+ * <p>
+ * The submitted entities are split into chunks of {@code library.batch.chunk-size} elements.
+ * Each chunk is saved in its own transaction and flushed at once, so Hibernate can group the
+ * INSERT statements into JDBC batches ({@code hibernate.jdbc.batch_size}); the persistence
+ * context is cleared after every chunk to keep memory bounded on very large requests.
+ *
+ * <h2>Failure semantics</h2>
+ * <ul>
+ *     <li>if any INSERT of a chunk fails, the chunk is rolled back and its elements are saved
+ *     again one per transaction, so only the offending elements are reported as failed</li>
+ *     <li>the reason of a failure is short and never quotes the statement or the values of
+ *     the row (see {@link #reason(RuntimeException)}): a duplicate email must not reveal the
+ *     stored one</li>
+ *     <li>chunks are independent: a failure does not prevent the following chunks from
+ *     being persisted</li>
+ *     <li>a database that cannot be reached is not the fault of any element: the exception is
+ *     thrown, and the chunks before it stay committed</li>
+ * </ul>
+ *
+ * @see BatchItemResult
+ */
+@Service
+public class BatchInsertService {
+
+    /**
+     * Leading identifier of the constraint name extracted by Hibernate, without its schema and
+     * without the {@code _INDEX_<n>} suffix H2 gives the index of a unique constraint. H2 also
+     * appends the table, the columns and the conflicting values, which are left out.
+     */
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("(?:\\w+\\.)?(\\w+?)(?:_INDEX_\\d+)?\\b");
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    /**
+     * Creates a new {@code BatchInsertService}.
+     *
+     * @param transactionManager the transaction manager used to open one transaction per chunk
+     * @param entityManager      the entity manager flushed and cleared after each chunk
+     * @param chunkSize          number of entities persisted per transaction
+     */
+    public BatchInsertService(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                              @Value("${library.batch.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Persists all the given entities and reports the outcome of each one.
+     *
+     * @param repository the repository used to save the entities
+     * @param entities   the entities to persist, in request order
+     * @param idOf       extracts the generated identifier from a persisted entity
+     * @param <T>        the entity type
+     * @return one result per submitted entity, in the same order
+     * @throws DataAccessResourceFailureException if the database cannot be reached
+     * @throws CannotCreateTransactionException   if no connection can be obtained
+     */
+    public <T> List<BatchItemResult> insertAll(JpaRepository<T, Long> repository, List<T> entities,
+                                               Function<T, Long> idOf) {
+        return insertAll(repository, entities, idOf, saved -> { });
+    }
+
+    /**
+     * Persists all the given entities, runs {@code inTransaction} on every chunk in the
+     * transaction that inserts it, and reports the outcome of each entity.
+     *
+     * @param repository    the repository used to save the entities
+     * @param entities      the entities to persist, in request order
+     * @param idOf          extracts the generated identifier from a persisted entity
+     * @param inTransaction writes depending on the saved entities, committed or rolled back
+     *                      with them
+     * @param <T>           the entity type
+     * @return one result per submitted entity, in the same order
+     * @throws DataAccessResourceFailureException if the database cannot be reached
+     * @throws CannotCreateTransactionException   if no connection can be obtained
+     */
+    public <T> List<BatchItemResult> insertAll(JpaRepository<T, Long> repository, List<T> entities,
+                                               Function<T, Long> idOf, Consumer<List<T>> inTransaction) {
+        List<BatchItemResult> results = new ArrayList<>(entities.size());
+        insertAll(repository, entities, idOf, inTransaction, results::add);
+        return results;
+    }
+
+    /**
+     * Persists all the given entities and reports the outcome of each one as soon as it is
+     * known, so a caller interrupted by an unreachable database knows which entities were
+     * committed before it.
+     *
+     * @param repository    the repository used to save the entities
+     * @param entities      the entities to persist, in request order
+     * @param idOf          extracts the generated identifier from a persisted entity
+     * @param inTransaction writes depending on the saved entities, committed or rolled back
+     *                      with them
+     * @param results       receives one result per entity, in request order, once its chunk
+     *                      or its own transaction is over
+     * @param <T>           the entity type
+     * @throws DataAccessResourceFailureException if the database cannot be reached
+     * @throws CannotCreateTransactionException   if no connection can be obtained
+     */
+    public <T> void insertAll(JpaRepository<T, Long> repository, List<T> entities, Function<T, Long> idOf,
+                              Consumer<List<T>> inTransaction, Consumer<BatchItemResult> results) {
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            int start = from;
+            List<T> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+            try {
+                List<T> saved = save(repository, chunk, inTransaction);
+                for (int i = 0; i < saved.size(); i++) {
+                    results.accept(BatchItemResult.created(start + i, idOf.apply(saved.get(i))));
+                }
+            } catch (RuntimeException e) {
+                entityManager.clear();
+                throwIfUnavailable(e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.accept(insertOne(repository, chunk.get(i), start + i, idOf, inTransaction));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves one element of a failed chunk in its own transaction. The identifier and version
+     * assigned during the failed attempt are cleared first, so the element is inserted again
+     * instead of being merged.
+     */
+    private <T> BatchItemResult insertOne(JpaRepository<T, Long> repository, T entity, int index,
+                                          Function<T, Long> idOf, Consumer<List<T>> inTransaction) {
+        try {
+            T saved = save(repository, List.of(entity), inTransaction).get(0);
+            return BatchItemResult.created(index, idOf.apply(saved));
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            throwIfUnavailable(e);
+            return BatchItemResult.failed(index, reason(e));
+        }
+    }
+
+    private <T> List<T> save(JpaRepository<T, Long> repository, List<T> entities, Consumer<List<T>> inTransaction) {
+        return transactionTemplate.execute(status -> {
+            SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+            for (T entity : entities) {
+                session.getEntityPersister(null, entity).resetIdentifier(entity, null, null, session);
+            }
+            List<T> persisted = repository.saveAll(entities);
+            entityManager.flush();
+            inTransaction.accept(persisted);
+            entityManager.flush();
+            entityManager.clear();
+            return persisted;
+        });
+    }
+
+    /**
+     * Rethrows a failure to reach the database, as a {@link DataAccessResourceFailureException}
+     * when it was raised untranslated by a flush.
+     */
+    private static void throwIfUnavailable(RuntimeException e) {
+        if (e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException) {
+            throw e;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JDBCConnectionException || cause instanceof SQLTransientConnectionException) {
+                throw new DataAccessResourceFailureException("Database unavailable", e);
+            }
+        }
+    }
+
+    /**
+     * Describes why an element could not be saved, without the driver message: it holds the SQL
+     * statement and the conflicting values, possibly those of another row.
+     *
+     * @param e the exception raised while saving the element alone
+     * @return a short reason, naming the violated constraint when it is known
+     */
+    static String reason(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JDBCException jdbc) {
+                String reason = switch (String.valueOf(jdbc.getSQLState())) {
+                    case "23505" -> "duplicate value";
+                    case "23502" -> "missing required value";
+                    case "23503", "23506" -> "unknown reference";
+                    default -> jdbc instanceof ConstraintViolationException ? "constraint violated" : "could not be stored";
+                };
+                Matcher constraint = jdbc instanceof ConstraintViolationException violation
+                        && violation.getConstraintName() != null
+                        ? CONSTRAINT_NAME.matcher(violation.getConstraintName())
+                        : null;
+                return constraint != null && constraint.lookingAt()
+                        ? reason + " (" + constraint.group(1).toLowerCase(Locale.ROOT) + ")"
+                        : reason;
+            }
+        }
+        return e instanceof DataIntegrityViolationException ? "constraint violated" : "could not be stored";
+    }
+}
@@ -0,0 +1,45 @@
+package com.library.librarymanagement.service;
+
+/**
+ * Outcome of a single element of a bulk create request.
+ * <p>
+ * Results are returned in the same order as the submitted elements, so {@code index}
+ * always matches the position of the element in the request body.
+ *
+ * @param index  zero-based position of the element in the request
+ * @param status {@link Status#CREATED} if the element was persisted, {@link Status#FAILED} otherwise
+ * @param id     the generated identifier, or {@code null} if the element was not persisted
+ * @param error  a short description of the failure, or {@code null} on success
+ */
+public record BatchItemResult(int index, Status status, Long id, String error) {
+
+    /**
+     * Possible outcomes of a bulk create element.
+     */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param index position of the element in the request
+     * @param id    identifier assigned to the persisted entity
+     * @return a {@link Status#CREATED} result
+     */
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param index position of the element in the request
+     * @param error description of the failure
+     * @return a {@link Status#FAILED} result
+     */
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+}
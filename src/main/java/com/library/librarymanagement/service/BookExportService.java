@@ -0,0 +1,82 @@
+package com.library.librarymanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Service writing the whole book catalogue as newline-delimited JSON (NDJSON).
+ * <p>
+ * Books are read through {@link BookRepository#streamAllByOrderByIdAsc()}, which keeps a
+ * database cursor open instead of materialising the result list. Every book is serialised
+ * on its own line and immediately detached from the persistence context, so memory usage
+ * stays constant regardless of the catalogue size and the first bytes reach the client as
+ * soon as the first rows are fetched.
+ *
+ * @see com.library.librarymanagement.controller.BookController
+ */
+@Service
+public class BookExportService {
+
+    /**
+     * Number of books written between two explicit flushes of the output stream.
+     */
+    static final int FLUSH_INTERVAL = 500;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter bookWriter;
+
+    /**
+     * Creates a new {@code BookExportService}.
+     *
+     * @param bookRepository the repository providing the book cursor
+     * @param entityManager  the entity manager used to detach exported books
+     * @param objectMapper   the application {@link ObjectMapper}, used to serialise each line
+     */
+    public BookExportService(BookRepository bookRepository, EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.bookWriter = objectMapper.writerFor(Book.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+    }
+
+    /**
+     * Writes every book to the given stream, one JSON object per line, in ascending ID order.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param out the stream receiving the NDJSON payload
+     * @return the number of exported books
+     * @throws IOException if writing to {@code out} fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc();
+             JsonGenerator generator = bookWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Book book : (Iterable<Book>) books::iterator) {
+                bookWriter.writeValue(generator, book);
+                generator.writeRaw('\n');
+                entityManager.detach(book);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,58 @@
+package com.library.librarymanagement.service;
+
+/**
+ * State of a book accepted by the write-behind mode of {@code POST /books}.
+ * <p>
+ * A book is {@link State#QUEUED} until the background writer has tried to store it, then
+ * {@link State#CREATED} with its generated ID or {@link State#FAILED} with the reason, like a
+ * {@link BatchItemResult}.
+ *
+ * @param trackingId identifies the accepted book until it is stored
+ * @param state      how far the book has got
+ * @param id         the generated identifier, or {@code null} unless created
+ * @param error      a short description of the failure, or {@code null} unless failed
+ * @see BookWriteBehind
+ */
+public record BookIngestStatus(String trackingId, State state, Long id, String error) {
+
+    /**
+     * Possible states of an accepted book.
+     */
+    public enum State {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    /**
+     * Creates the state of a book waiting to be written.
+     *
+     * @param trackingId the tracking ID of the book
+     * @return a {@link State#QUEUED} status
+     */
+    public static BookIngestStatus queued(String trackingId) {
+        return new BookIngestStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    /**
+     * Creates the state of a stored book.
+     *
+     * @param trackingId the tracking ID of the book
+     * @param id         identifier assigned to the stored book
+     * @return a {@link State#CREATED} status
+     */
+    public static BookIngestStatus created(String trackingId, Long id) {
+        return new BookIngestStatus(trackingId, State.CREATED, id, null);
+    }
+
+    /**
+     * Creates the state of a book that could not be stored.
+     *
+     * @param trackingId the tracking ID of the book
+     * @param error      description of the failure
+     * @return a {@link State#FAILED} status
+     */
+    public static BookIngestStatus failed(String trackingId, String error) {
+        return new BookIngestStatus(trackingId, State.FAILED, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.library.librarymanagement.service;
+
+/**
+ * The fields of a book to change with {@code PATCH /books/{id}}.
+ * <p>
+ * Absent fields ({@code null}) keep their stored value.
+ *
+ * @param title           the new title
+ * @param author          the new author name; the book is linked again to the matching author
+ * @param publicationYear the new publication year
+ */
+public record BookPatch(String title, String author, Integer publicationYear) {
+}
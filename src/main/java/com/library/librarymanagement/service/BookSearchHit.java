@@ -0,0 +1,13 @@
+package com.library.librarymanagement.service;
+
+/**
+ * A single book matched by {@link BookSearchIndex#search(String, int)}.
+ *
+ * @param id              identifier of the matched book
+ * @param title           title of the book
+ * @param author          name of the author
+ * @param publicationYear year in which the book was published
+ * @param score           relevance of the match; higher scores are returned first
+ */
+public record BookSearchHit(Long id, String title, String author, int publicationYear, int score) {
+}
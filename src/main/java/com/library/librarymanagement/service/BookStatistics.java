@@ -0,0 +1,206 @@
+package com.library.librarymanagement.service;
+
+import com.library.librarymanagement.entity.Book;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory counts of the books of the catalogue per publication year and per author name.
+ * <p>
+ * The counts are built from the stored books at startup, by {@link BookViews#rebuild()}, and
+ * kept current by {@link BookViews}, which calls {@link #saved(Book)} and
+ * {@link #deleted(Long)} on every write.
+ * Each write moves one book between groups in constant time, and a {@link #snapshot()} costs
+ * one copy per group, whatever the size of the catalogue; neither touches the database.
+ *
+ * <p>
+ * To move a book out of its previous groups on update or delete, the year and author of every
+ * book are kept by ID. Reads share a read lock, so concurrent snapshots never block each other.
+ * </p>
+ *
+ * <h2>Rebuild</h2>
+ * <p>
+ * Snapshots are served from the current counts while new ones are built from a scan of the
+ * catalogue. Writes reported meanwhile update the current counts and are also recorded by the
+ * rebuild, then replayed onto the new counts when they replace the current ones: the scan may
+ * have read a book before it was written, or not at all.
+ * </p>
+ */
+@Service
+public class BookStatistics {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Counts counts = new Counts();
+
+    /**
+     * The rebuild in progress, recording the writes reported until it is committed.
+     */
+    private Rebuild rebuilding;
+
+    /**
+     * Starts recounting the catalogue into new counts, which replace the current ones on
+     * {@link Rebuild#commit()}. Used by {@link BookViews#rebuild()} to build every view from a
+     * single scan of the books.
+     *
+     * @return the rebuild to feed with every book of the catalogue
+     */
+    Rebuild startRebuild() {
+        Rebuild rebuild = new Rebuild();
+        lock.writeLock().lock();
+        try {
+            rebuilding = rebuild;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuild;
+    }
+
+    /**
+     * Counts a created book, or moves an updated book to its new groups.
+     *
+     * @param book the persisted book; ignored if it has no ID yet
+     */
+    public void saved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Group group = Group.of(book);
+        lock.writeLock().lock();
+        try {
+            counts.remove(book.getId());
+            counts.add(book.getId(), group);
+            if (rebuilding != null) {
+                rebuilding.written.put(book.getId(), group);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted book from the counts.
+     *
+     * @param id the identifier of the deleted book
+     */
+    public void deleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            counts.remove(id);
+            if (rebuilding != null) {
+                rebuilding.written.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the current counts.
+     *
+     * @return the number of books, in total, per year and per author
+     */
+    public BookStats snapshot() {
+        lock.readLock().lock();
+        try {
+            return new BookStats(counts.groups.size(),
+                    Collections.unmodifiableSortedMap(new TreeMap<>(counts.byYear)),
+                    Collections.unmodifiableSortedMap(new TreeMap<>(counts.byAuthor)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts being built from a scan of the catalogue.
+     */
+    final class Rebuild {
+
+        private final Counts newCounts = new Counts();
+
+        /**
+         * Book ID → group of every book written since the rebuild started, {@code null} if it was
+         * deleted. Guarded by the lock.
+         */
+        private final Map<Long, Group> written = new HashMap<>();
+
+        /**
+         * Counts a book of the catalogue.
+         *
+         * @param book the stored book
+         */
+        void add(Book book) {
+            newCounts.add(book.getId(), Group.of(book));
+        }
+
+        /**
+         * Applies the writes reported since the rebuild started to the new counts, and replaces
+         * the current counts with them.
+         */
+        void commit() {
+            lock.writeLock().lock();
+            try {
+                written.forEach((id, group) -> {
+                    newCounts.remove(id);
+                    if (group != null) {
+                        newCounts.add(id, group);
+                    }
+                });
+                counts = newCounts;
+                if (rebuilding == this) {
+                    rebuilding = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * The groups a book is counted in.
+     *
+     * @param year   the publication year
+     * @param author the author name, or {@code null}
+     */
+    private record Group(int year, String author) {
+
+        static Group of(Book book) {
+            return new Group(book.getPublicationYear(), book.getAuthor());
+        }
+    }
+
+    /**
+     * The counts and the group of every counted book. Not thread-safe; guarded by the lock.
+     */
+    private static final class Counts {
+
+        private final Map<Long, Group> groups = new HashMap<>();
+        private final Map<Integer, Long> byYear = new HashMap<>();
+        private final Map<String, Long> byAuthor = new HashMap<>();
+
+        void add(Long id, Group group) {
+            groups.put(id, group);
+            byYear.merge(group.year(), 1L, Long::sum);
+            if (group.author() != null) {
+                byAuthor.merge(group.author(), 1L, Long::sum);
+            }
+        }
+
+        void remove(Long id) {
+            Group group = groups.remove(id);
+            if (group == null) {
+                return;
+            }
+            byYear.computeIfPresent(group.year(), (year, count) -> count > 1 ? count - 1 : null);
+            if (group.author() != null) {
+                byAuthor.computeIfPresent(group.author(), (author, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.library.librarymanagement.service;
+
+import java.util.SortedMap;
+
+/**
+ * Number of books in the catalogue, in total and per group, as returned by
+ * {@link BookStatistics#snapshot()}.
+ *
+ * @param total    number of books
+ * @param byYear   publication year → number of books, in ascending year order
+ * @param byAuthor author name → number of books, in author name order; books without an
+ *                 author name are only counted in {@code total}
+ */
+public record BookStats(long total, SortedMap<Integer, Long> byYear, SortedMap<String, Long> byAuthor) {
+}
@@ -0,0 +1,129 @@
+package com.library.librarymanagement.service;
+
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-memory views of the catalogue in sync with the books stored in the database.
+ * <p>
+ * Every code path that writes books reports the result here once the write is committed:
+ * {@link com.library.librarymanagement.controller.BookController BookController} for the book
+ * endpoints, and {@link AuthorLinkService} for the books touched by author changes. The views
+ * are:
+ * <ul>
+ *     <li>the book {@link EntityCache}, whose entries covering the book are evicted;</li>
+ *     <li>the {@link BookSearchIndex}, where the book is re-indexed or removed;</li>
+ *     <li>the {@link BookStatistics}, where the book is counted, moved between groups or
+ *     uncounted.</li>
+ * </ul>
+ *
+ * <h2>Rebuild</h2>
+ * <p>
+ * At startup the search index and the statistics are built from one scan of the catalogue
+ * ({@link #rebuild()}), so each book is read once, and the views share the strings of the
+ * books. On a catalogue of millions of books the scan and the memory it retains are most of
+ * the startup time.
+ * </p>
+ */
+@Service
+public class BookViews {
+
+    /**
+     * Number of books loaded per query while scanning the catalogue.
+     */
+    static final int SCAN_PAGE_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final EntityCache<Book> bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookStatistics bookStatistics;
+
+    /**
+     * Creates a new {@code BookViews}.
+     *
+     * @param bookRepository  the repository the views are rebuilt from
+     * @param bookCache       the read cache placed in front of the book repository
+     * @param bookSearchIndex the full-text index of the catalogue
+     * @param bookStatistics  the per-year and per-author counts of the catalogue
+     */
+    public BookViews(BookRepository bookRepository, EntityCache<Book> bookCache,
+                     BookSearchIndex bookSearchIndex, BookStatistics bookStatistics) {
+        this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookStatistics = bookStatistics;
+    }
+
+    /**
+     * Propagates a created or updated book.
+     *
+     * @param book the persisted book
+     */
+    public void saved(Book book) {
+        bookCache.saved(book);
+        bookSearchIndex.index(book);
+        bookStatistics.saved(book);
+    }
+
+    /**
+     * Propagates a deleted book.
+     *
+     * @param id the identifier of the deleted book
+     */
+    public void deleted(Long id) {
+        bookCache.deleted(id);
+        bookSearchIndex.remove(id);
+        bookStatistics.deleted(id);
+    }
+
+    /**
+     * Rebuilds the search index and the statistics from a single scan of the catalogue.
+     * <p>
+     * Each view keeps being served from its previous state until the scan is complete. Books
+     * written during the scan are reported to both states, so the rebuilt views include them
+     * whether the scan read them before or after the write.
+     */
+    public void rebuild() {
+        BookSearchIndex.Rebuild index = bookSearchIndex.startRebuild();
+        BookStatistics.Rebuild statistics = bookStatistics.startRebuild();
+        scan(bookRepository, book -> {
+            index.add(book);
+            statistics.add(book);
+        });
+        index.commit();
+        statistics.commit();
+    }
+
+    /**
+     * Passes every stored book to {@code consumer}, in ID order, one keyset page at a time.
+     * <p>
+     * Author names repeat across books, so every distinct name is kept as a single string
+     * instance; the books are read-only copies (see {@link BookRepository}) and can be changed.
+     *
+     * @param bookRepository the repository to read the books from
+     * @param consumer       receives every book
+     */
+    static void scan(BookRepository bookRepository, Consumer<Book> consumer) {
+        Map<String, String> authors = new HashMap<>();
+        long after = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(SCAN_PAGE_SIZE));
+            for (Book book : page) {
+                if (book.getAuthor() != null) {
+                    book.setAuthor(authors.computeIfAbsent(book.getAuthor(), author -> author));
+                }
+                consumer.accept(book);
+                after = book.getId();
+            }
+        } while (page.size() == SCAN_PAGE_SIZE);
+    }
+}
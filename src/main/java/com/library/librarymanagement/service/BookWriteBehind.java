@@ -0,0 +1,431 @@
+package com.library.librarymanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind mode of {@code POST /books}: books are accepted into a bounded buffer and stored
+ * in batches by a background writer.
+ * <p>
+ * The request thread only assigns a tracking ID, records the book in the
+ * {@link WriteBehindJournal journal} if there is one, and puts it in the buffer; the response is
+ * <strong>202 Accepted</strong>. The writer thread takes every book waiting in the buffer, up to
+ * {@code batchSize}, links them to their authors and stores them with
+ * {@link BatchInsertService} in chunked transactions. The books it stores are reported to
+ * {@link BookViews}, as when they are created by the controller. The outcome of each book is
+ * kept by tracking ID, as a {@link BookIngestStatus}, for {@code statusTtl}, and for at most
+ * {@code maxTracked} books.
+ * <p>
+ * A book is done, and removed from the journal, once it is stored or rejected by the database
+ * (a constraint violation). While the database cannot be reached, the books of the batch are
+ * neither: the batch is stored again, waiting 100 ms, then twice as long each time up to 5 s,
+ * and only the books not stored before the failure are retried. The buffer meanwhile fills up
+ * and new books are turned away, as the database is not keeping up.
+ *
+ * <h2>Backpressure</h2>
+ * <p>
+ * The buffer holds at most {@code capacity} books, counting those being written. When it is
+ * full, {@link #submit(Book)} waits up to {@code offerTimeout} for room, then gives up, and the
+ * client is asked to retry later: a burst larger than the buffer slows the clients down to the
+ * pace of the database instead of growing the heap.
+ * </p>
+ *
+ * <h2>Durability</h2>
+ * <ul>
+ *     <li>without a journal, accepted books live only in memory: they are written on a graceful
+ *     shutdown ({@link #stop()}), and lost if the process dies;</li>
+ *     <li>with a journal, they are read back and written at the next start (see
+ *     {@link WriteBehindJournal} for the guarantees).</li>
+ * </ul>
+ *
+ * <h2>Lifecycle</h2>
+ * <p>
+ * As a {@link SmartLifecycle} bean, the writer starts once every singleton is initialised: the
+ * sequences are aligned ({@code IdSequenceInitializer}) and the views built
+ * ({@code BookViewsInitializer}) before the books of the journal are stored, so none of them
+ * is lost by the rebuild of the views. Books submitted before the start wait in the buffer.
+ * </p>
+ *
+ * <h2>Metrics</h2>
+ * <p>
+ * As a {@link MeterBinder} bean, it publishes {@code library.write-behind.books}, tagged with
+ * {@code outcome=created}, {@code failed} or {@code rejected}, and
+ * {@code library.write-behind.buffer}, the number of books accepted and not yet stored.
+ * </p>
+ */
+public final class BookWriteBehind implements SmartLifecycle, MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BookWriteBehind.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    private final BookRepository bookRepository;
+    private final BatchInsertService batchInsertService;
+    private final AuthorLinkService authorLinkService;
+    private final BookViews bookViews;
+    private final WriteBehindJournal journal;
+    private final int capacity;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Duration drainTimeout;
+    private final BlockingQueue<Queued> buffer;
+    private final Semaphore room;
+    private final Cache<String, BookIngestStatus> statuses;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Thread writer;
+    private volatile long drainDeadline;
+    private volatile boolean closed;
+    private volatile boolean running;
+
+    /**
+     * Creates the write-behind buffer. Its writer thread is started, and the books left
+     * outstanding in the journal are submitted, by {@link #start()}.
+     *
+     * @param bookRepository     the repository the books are stored in
+     * @param batchInsertService stores each batch in chunked transactions
+     * @param authorLinkService  links the books to their authors before they are stored
+     * @param bookViews          the in-memory views notified of every stored book
+     * @param journal            records the accepted books, or {@code null} to keep them in
+     *                           memory only
+     * @param capacity           maximum number of books accepted and not yet stored
+     * @param batchSize          maximum number of books stored per batch
+     * @param offerTimeout       how long a request waits for room in a full buffer
+     * @param statusTtl          how long the outcome of a book can be looked up
+     * @param maxTracked         maximum number of statuses kept at once
+     * @param drainTimeout       how long {@link #stop()} waits for the buffer to be written
+     */
+    public BookWriteBehind(BookRepository bookRepository, BatchInsertService batchInsertService,
+                           AuthorLinkService authorLinkService, BookViews bookViews, WriteBehindJournal journal,
+                           int capacity, int batchSize, Duration offerTimeout, Duration statusTtl,
+                           long maxTracked, Duration drainTimeout) {
+        this.bookRepository = bookRepository;
+        this.batchInsertService = batchInsertService;
+        this.authorLinkService = authorLinkService;
+        this.bookViews = bookViews;
+        this.journal = journal;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.drainTimeout = drainTimeout;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.room = new Semaphore(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.writer = new Thread(this::drain, "book-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread and submits the books left outstanding in the journal.
+     */
+    @Override
+    public void start() {
+        running = true;
+        writer.start();
+        if (journal != null) {
+            for (WriteBehindJournal.Entry entry : journal.pending()) {
+                room.acquireUninterruptibly();
+                enqueue(entry.trackingId(), entry.book());
+            }
+            if (!journal.pending().isEmpty()) {
+                log.info("Resubmitted {} books left in the write-behind journal", journal.pending().size());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting books and waits, up to the drain timeout, for the writer to store the
+     * books already accepted. Books still outstanding after it stay in the journal, if any.
+     */
+    @Override
+    public void stop() {
+        drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        closed = true;
+        running = false;
+        try {
+            writer.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (backlog() > 0) {
+            log.warn("{} accepted books were not stored before shutdown", backlog());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server and stops after it, so the books of the journal are
+     * resubmitted before new ones are accepted, and the books accepted until the server stops
+     * are stored.
+     *
+     * @return {@code 0}, the phase of a plain {@link org.springframework.context.Lifecycle}
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Accepts a book to be stored by the writer.
+     *
+     * @param book the book to create
+     * @return the {@link BookIngestStatus.State#QUEUED QUEUED} status of the book, or an empty
+     * {@link Optional} if the buffer stayed full or the application is shutting down
+     * @throws UncheckedIOException if the book cannot be recorded in the journal
+     */
+    public Optional<BookIngestStatus> submit(Book book) {
+        if (closed || !tryAcquireRoom()) {
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+        String trackingId = UUID.randomUUID().toString();
+        try {
+            if (journal != null) {
+                journal.accepted(trackingId, book);
+            }
+        } catch (IOException e) {
+            room.release();
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(enqueue(trackingId, book));
+    }
+
+    /**
+     * Returns the status of an accepted book.
+     *
+     * @param trackingId the tracking ID returned when the book was accepted
+     * @return the status, or an empty {@link Optional} if the ID is unknown or has expired
+     */
+    public Optional<BookIngestStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    /**
+     * Returns the number of books accepted and not yet stored.
+     *
+     * @return the books in the buffer or being written
+     */
+    public int backlog() {
+        return capacity - room.availablePermits();
+    }
+
+    /**
+     * Stops the writer as {@link #stop()} does, if it is running, then closes the journal.
+     */
+    @Override
+    public void close() {
+        if (running) {
+            stop();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Could not close the write-behind journal", e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.write-behind.books", created, AtomicLong::get)
+                .description("Books handled by the write-behind buffer")
+                .tag("outcome", "created")
+                .register(registry);
+        FunctionCounter.builder("library.write-behind.books", failed, AtomicLong::get)
+                .description("Books handled by the write-behind buffer")
+                .tag("outcome", "failed")
+                .register(registry);
+        FunctionCounter.builder("library.write-behind.books", rejected, AtomicLong::get)
+                .description("Books handled by the write-behind buffer")
+                .tag("outcome", "rejected")
+                .register(registry);
+        Gauge.builder("library.write-behind.buffer", this, BookWriteBehind::backlog)
+                .description("Books accepted and not yet stored")
+                .register(registry);
+    }
+
+    private boolean tryAcquireRoom() {
+        try {
+            return room.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private BookIngestStatus enqueue(String trackingId, Book book) {
+        BookIngestStatus status = BookIngestStatus.queued(trackingId);
+        statuses.put(trackingId, status);
+        // cannot fail: a permit of room was taken for the book
+        buffer.add(new Queued(trackingId, book));
+        return status;
+    }
+
+    /**
+     * Writes batches until the application is closing and the buffer is empty. Polls instead of
+     * being interrupted, so a batch is never interrupted in the middle of a transaction.
+     */
+    private void drain() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Queued first;
+            try {
+                first = buffer.poll(POLL_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                if (closed && buffer.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            buffer.drainTo(batch, batchSize - 1);
+            if (!write(batch)) {
+                return;
+            }
+            room.release(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stores a batch, retrying with backoff while the database cannot be reached.
+     *
+     * @param batch the books taken from the buffer
+     * @return {@code false} if the database was still unreachable when the drain timeout
+     * expired: the books left are not completed, and stay in the journal
+     */
+    private boolean write(List<Queued> batch) {
+        List<Queued> pending = batch;
+        Duration backoff = MIN_BACKOFF;
+        while (true) {
+            List<BookIngestStatus> outcomes = new ArrayList<>(pending.size());
+            try {
+                store(pending, outcomes);
+                complete(outcomes);
+                return true;
+            } catch (DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                complete(outcomes);
+                pending = remaining(pending, outcomes);
+                if (closed && System.nanoTime() - drainDeadline > 0) {
+                    log.warn("Database unavailable at shutdown, {} accepted books not stored", pending.size());
+                    return false;
+                }
+                log.warn("Database unavailable, storing {} accepted books again in {} ms",
+                        pending.size(), backoff.toMillis());
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2);
+                if (backoff.compareTo(MAX_BACKOFF) > 0) {
+                    backoff = MAX_BACKOFF;
+                }
+            } catch (RuntimeException e) {
+                String error = BatchInsertService.reason(e);
+                log.warn("Could not store {} accepted books: {}", pending.size(), error, e);
+                remaining(pending, outcomes)
+                        .forEach(queued -> outcomes.add(BookIngestStatus.failed(queued.trackingId(), error)));
+                complete(outcomes);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Links the books to their authors and stores them, adding the outcome of each book to
+     * {@code outcomes} as soon as its transaction is over.
+     */
+    private void store(List<Queued> pending, List<BookIngestStatus> outcomes) {
+        List<Book> books = pending.stream().map(Queued::book).toList();
+        authorLinkService.link(books);
+        batchInsertService.insertAll(bookRepository, books, Book::getId, saved -> { }, result -> {
+            Queued queued = pending.get(result.index());
+            if (result.status() == BatchItemResult.Status.CREATED) {
+                bookViews.saved(queued.book());
+                outcomes.add(BookIngestStatus.created(queued.trackingId(), result.id()));
+            } else {
+                outcomes.add(BookIngestStatus.failed(queued.trackingId(), result.error()));
+            }
+        });
+    }
+
+    /**
+     * Records the outcome of the books stored or rejected by the database, and removes them from
+     * the journal.
+     */
+    private void complete(List<BookIngestStatus> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        for (BookIngestStatus outcome : outcomes) {
+            statuses.put(outcome.trackingId(), outcome);
+            (outcome.state() == BookIngestStatus.State.CREATED ? created : failed).incrementAndGet();
+        }
+        if (journal != null) {
+            try {
+                journal.completed(outcomes.stream().map(BookIngestStatus::trackingId).toList());
+            } catch (IOException e) {
+                log.warn("Could not record stored books in the write-behind journal", e);
+            }
+        }
+    }
+
+    private static List<Queued> remaining(List<Queued> pending, List<BookIngestStatus> outcomes) {
+        Set<String> done = outcomes.stream().map(BookIngestStatus::trackingId).collect(Collectors.toSet());
+        return pending.stream().filter(queued -> !done.contains(queued.trackingId())).toList();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            // the writer is stopped by closed, see drain()
+        }
+    }
+
+    /**
+     * A book waiting in the buffer.
+     *
+     * @param trackingId the tracking ID returned to the client
+     * @param book       the book to store
+     */
+    private record Queued(String trackingId, Book book) {
+    }
+}
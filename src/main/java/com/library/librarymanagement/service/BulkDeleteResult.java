@@ -0,0 +1,9 @@
+package com.library.librarymanagement.service;
+
+/**
+ * Outcome of a bulk delete request.
+ *
+ * @param deleted the number of rows removed by the request
+ */
+public record BulkDeleteResult(int deleted) {
+}
@@ -0,0 +1,191 @@
+package com.library.librarymanagement.service;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Applies partial updates to books, authors and users.
+ * <p>
+ * Each patch is a single {@code UPDATE} statement that sets only the supplied fields and
+ * increments the {@code @Version} column, without reading the row first. When the client sends
+ * the version it last saw, the statement also requires it in its {@code WHERE} clause, so a
+ * concurrent update makes it match no row instead of being overwritten.
+ *
+ * <h2>Outcome</h2>
+ * <ul>
+ *     <li>the updated entity, read back in the same transaction, when the row was updated;</li>
+ *     <li>an empty {@link Optional} when the row exists with another version;</li>
+ *     <li>a {@link NoSuchElementException} when no row has the ID;</li>
+ *     <li>a {@link org.springframework.dao.DataIntegrityViolationException} when the new values
+ *     break a constraint, such as a duplicate email.</li>
+ * </ul>
+ * A patch without any field updates nothing and returns the stored entity, subject to the same
+ * version check.
+ */
+@Service
+public class PatchService {
+
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    /**
+     * The author a book named after {@code :author} is linked to: the one with the name and the
+     * lowest ID, or {@code null} if there is none (see {@link AuthorLinkService}).
+     */
+    private static final String AUTHOR_NAMED = "(select a from Author a where a.id = "
+            + "(select min(n.id) from Author n where n.name = :author))";
+
+    private final EntityManager entityManager;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final UserRepository userRepository;
+    private final AuthorLinkService authorLinkService;
+
+    /**
+     * Creates a new {@code PatchService}.
+     *
+     * @param entityManager     the entity manager running the update statements
+     * @param bookRepository    the repository reading back patched books
+     * @param authorRepository  the repository reading back patched authors
+     * @param userRepository    the repository reading back patched users
+     * @param authorLinkService the service keeping books linked to their authors
+     */
+    public PatchService(EntityManager entityManager, BookRepository bookRepository,
+                        AuthorRepository authorRepository, UserRepository userRepository,
+                        AuthorLinkService authorLinkService) {
+        this.entityManager = entityManager;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.userRepository = userRepository;
+        this.authorLinkService = authorLinkService;
+    }
+
+    /**
+     * Patches a book. A new author name also links the book to the matching author, the one
+     * with the lowest ID, found by a subquery of the same statement.
+     *
+     * @param id      the ID of the book
+     * @param version the version the client expects, or {@code null} to skip the check
+     * @param patch   the fields to change
+     * @return the updated book, or empty if the stored version differs
+     * @throws NoSuchElementException if no book has the ID
+     */
+    @Transactional
+    public Optional<Book> patchBook(Long id, Long version, BookPatch patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "title", patch.title());
+        putIfPresent(changes, "publicationYear", patch.publicationYear());
+        putIfPresent(changes, "author", patch.author());
+        Map<String, String> derived = patch.author() == null ? Map.of() : Map.of("authorRef", AUTHOR_NAMED);
+        return patch(Book.class, id, version, changes, derived, bookRepository, Book::getVersion);
+    }
+
+    /**
+     * Patches an author. A new name is also copied to the books of the author.
+     *
+     * @param id      the ID of the author
+     * @param version the version the client expects, or {@code null} to skip the check
+     * @param patch   the fields to change
+     * @return the updated author, or empty if the stored version differs
+     * @throws NoSuchElementException if no author has the ID
+     */
+    @Transactional
+    public Optional<Author> patchAuthor(Long id, Long version, AuthorPatch patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "name", patch.name());
+        putIfPresent(changes, "nationality", patch.nationality());
+        Optional<Author> patched = patch(Author.class, id, version, changes, Map.of(), authorRepository,
+                Author::getVersion);
+        if (patch.name() != null) {
+            // The previous name is unknown without a read: only the books with another name are renamed
+            patched.ifPresent(authorLinkService::renamed);
+        }
+        return patched;
+    }
+
+    /**
+     * Patches a user.
+     *
+     * @param id      the ID of the user
+     * @param version the version the client expects, or {@code null} to skip the check
+     * @param patch   the fields to change
+     * @return the updated user, or empty if the stored version differs
+     * @throws NoSuchElementException if no user has the ID
+     */
+    @Transactional
+    public Optional<User> patchUser(Long id, Long version, UserPatch patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "name", patch.name());
+        putIfPresent(changes, "email", patch.email());
+        return patch(User.class, id, version, changes, Map.of(), userRepository, User::getVersion);
+    }
+
+    /**
+     * Runs the patch statement.
+     *
+     * @param changes the fields set to a value, each passed as the parameter of the same name
+     * @param derived the fields set to a JPQL expression, which may use the parameters of
+     *                {@code changes}
+     */
+    private <T> Optional<T> patch(Class<T> type, Long id, Long version, Map<String, Object> changes,
+                                  Map<String, String> derived, JpaRepository<T, Long> repository,
+                                  Function<T, Long> versionOf) {
+        if (changes.isEmpty()) {
+            T current = repository.findById(id).orElseThrow();
+            return version == null || version.equals(versionOf.apply(current)) ? Optional.of(current) : Optional.empty();
+        }
+
+        StringBuilder jpql = new StringBuilder("update ").append(type.getSimpleName())
+                .append(" e set e.version = e.version + 1");
+        changes.keySet().forEach(field -> jpql.append(", e.").append(field).append(" = :").append(field));
+        derived.forEach((field, expression) -> jpql.append(", e.").append(field).append(" = ").append(expression));
+        jpql.append(" where e.id = :id");
+        if (version != null) {
+            jpql.append(" and e.version = :version");
+        }
+
+        Query update = entityManager.createQuery(jpql.toString());
+        changes.forEach(update::setParameter);
+        update.setParameter("id", id);
+        if (version != null) {
+            update.setParameter("version", version);
+        }
+        int updated;
+        try {
+            updated = update.executeUpdate();
+        } catch (PersistenceException e) {
+            // Not a repository call, so Spring's exception translation has to be applied here
+            throw DataAccessUtils.translateIfNecessary(e, JPA_DIALECT);
+        }
+        if (updated == 1) {
+            return Optional.of(repository.findById(id).orElseThrow());
+        }
+        if (!repository.existsById(id)) {
+            throw new NoSuchElementException();
+        }
+        return Optional.empty();
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String field, Object value) {
+        if (value != null) {
+            changes.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.librarymanagement.service;
+
+/**
+ * The fields of a user to change with {@code PATCH /users/{id}}.
+ * <p>
+ * Absent fields ({@code null}) keep their stored value.
+ *
+ * @param name  the new full name
+ * @param email the new email address, which must stay unique
+ */
+public record UserPatch(String name, String email) {
+}
@@ -0,0 +1,176 @@
+package com.library.librarymanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.entity.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only file recording the books accepted by {@link BookWriteBehind} until they are
+ * written to the database.
+ * <p>
+ * Every accepted book is appended as {@code A <tracking ID> <book as JSON>} before the request
+ * is answered, and every book the writer has handled as {@code D <tracking ID>}. When no book is
+ * left outstanding, the file is truncated, so it only grows while the writer is behind. Opening
+ * the journal reads back the books that were accepted but not handled: they are
+ * {@link #pending()} and must be submitted again.
+ *
+ * <h2>Guarantees</h2>
+ * <ul>
+ *     <li>without {@code fsync}, the records are written to the operating system before the
+ *     request is answered: accepted books survive a crash of the application, not of the
+ *     machine</li>
+ *     <li>with {@code fsync}, each record is forced to the disk before the request is
+ *     answered, at the cost of one disk flush per book</li>
+ *     <li>a book stored by the writer just before a crash, and not yet marked as handled, is
+ *     written again after the restart: delivery is at least once</li>
+ *     <li>a record cut short by a crash was never acknowledged, and is skipped</li>
+ * </ul>
+ */
+public class WriteBehindJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Entry> pending;
+    private long outstanding;
+
+    /**
+     * Opens the journal, creating it if needed, and reads back the outstanding books.
+     *
+     * @param file         the journal file
+     * @param fsync        whether every record is forced to the disk
+     * @param objectMapper writes and reads the books
+     * @throws IOException if the file cannot be read or opened
+     */
+    public WriteBehindJournal(Path file, boolean fsync, ObjectMapper objectMapper) throws IOException {
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.pending = Files.exists(file) ? read(file) : List.of();
+        this.outstanding = pending.size();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (pending.isEmpty()) {
+            channel.truncate(0);
+        }
+    }
+
+    /**
+     * Returns the books that were accepted but not handled when the journal was opened.
+     *
+     * @return the outstanding books, in the order they were accepted
+     */
+    public List<Entry> pending() {
+        return pending;
+    }
+
+    /**
+     * Records an accepted book.
+     *
+     * @param trackingId the tracking ID of the book
+     * @param book       the book to write
+     * @throws IOException if the record cannot be written
+     */
+    public void accepted(String trackingId, Book book) throws IOException {
+        String line = "A " + trackingId + " " + objectMapper.writeValueAsString(book) + "\n";
+        lock.lock();
+        try {
+            append(line);
+            outstanding++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records books handled by the writer, stored or failed.
+     *
+     * @param trackingIds the tracking IDs of the books
+     * @throws IOException if the records cannot be written
+     */
+    public void completed(Collection<String> trackingIds) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        trackingIds.forEach(id -> lines.append("D ").append(id).append('\n'));
+        lock.lock();
+        try {
+            outstanding -= trackingIds.size();
+            if (outstanding <= 0) {
+                outstanding = 0;
+                channel.truncate(0);
+            } else {
+                append(lines.toString());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the file. Outstanding books stay in it and are read back at the next start.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private List<Entry> read(Path file) throws IOException {
+        Map<String, Entry> accepted = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(" ", 3);
+            try {
+                if (fields[0].equals("A") && fields.length == 3) {
+                    accepted.put(fields[1], new Entry(fields[1], objectMapper.readValue(fields[2], Book.class)));
+                } else if (fields[0].equals("D") && fields.length == 2) {
+                    accepted.remove(fields[1]);
+                } else {
+                    log.warn("Skipping incomplete record of the write-behind journal: {}", line);
+                }
+            } catch (IOException e) {
+                log.warn("Skipping incomplete record of the write-behind journal: {}", line);
+            }
+        }
+        return new ArrayList<>(accepted.values());
+    }
+
+    /**
+     * A book accepted but not handled yet.
+     *
+     * @param trackingId the tracking ID returned to the client
+     * @param book       the book to write
+     */
+    public record Entry(String trackingId, Book book) {
+    }
+}
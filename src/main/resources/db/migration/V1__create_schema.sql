@@ -0,0 +1,43 @@
+-- Schema of the entities in com.library.librarymanagement.entity, checked by Hibernate at
+-- startup (spring.jpa.hibernate.ddl-auto=validate). Change it with a new migration, never by
+-- editing this file: Flyway rejects applied migrations whose checksum has changed.
+
+-- Identifiers are drawn in blocks of library.id.allocation-size (IdSequenceInitializer keeps
+-- the increment in line with the setting)
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE author (
+    id          BIGINT           NOT NULL,
+    version     BIGINT DEFAULT 0 NOT NULL,
+    name        VARCHAR(255),
+    nationality VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id               BIGINT           NOT NULL,
+    version          BIGINT DEFAULT 0 NOT NULL,
+    title            VARCHAR(255),
+    author           VARCHAR(255),
+    author_id        BIGINT,
+    publication_year INTEGER          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_book_author FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+CREATE TABLE users (
+    id      BIGINT           NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    name    VARCHAR(255),
+    email   VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE INDEX idx_author_name ON author (name);
+CREATE INDEX idx_book_author_id ON book (author_id, id);
+CREATE INDEX idx_book_author ON book (author, id);
+CREATE INDEX idx_book_publication_year ON book (publication_year, id);
+CREATE INDEX idx_book_title ON book (title);
@@ -0,0 +1,27 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code author} table, as read and written by the reactive stack.
+ * <p>
+ * Serialises to the same JSON as {@link com.library.librarymanagement.entity.Author Author}.
+ *
+ * @param id          the identifier, generated by the database on insert
+ * @param name        the name
+ * @param nationality the nationality
+ */
+@Table("author")
+public record AuthorRow(@Id Long id, String name, String nationality) {
+
+    /**
+     * Returns a copy of this author with another ID; used by Spring Data after an insert.
+     *
+     * @param id the new ID
+     * @return the copy
+     */
+    public AuthorRow withId(Long id) {
+        return new AuthorRow(id, name, nationality);
+    }
+}
@@ -0,0 +1,31 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Reactive repository for the {@code author} table.
+ */
+public interface AuthorRowRepository extends R2dbcRepository<AuthorRow, Long> {
+
+    /**
+     * Returns the next page of authors in primary key order, starting strictly after the given ID.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of authors to return
+     * @return up to {@code limit} authors with an ID greater than {@code after}
+     */
+    @Query("select * from author where id > :after order by id limit :limit")
+    Flux<AuthorRow> findPage(long after, int limit);
+
+    /**
+     * Returns the authors with any of the given names, using the index on {@code name}.
+     *
+     * @param names the author names to look up
+     * @return the matching authors, possibly several per name
+     */
+    Flux<AuthorRow> findByNameIn(Collection<String> names);
+}
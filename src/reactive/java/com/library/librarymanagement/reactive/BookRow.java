@@ -0,0 +1,40 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code book} table, as read and written by the reactive stack.
+ * <p>
+ * Serialises to the same JSON as {@link com.library.librarymanagement.entity.Book Book}. The
+ * author link is the plain {@code author_id} column: R2DBC maps no associations.
+ *
+ * @param id              the identifier, generated by the database on insert
+ * @param title           the title
+ * @param author          the author name
+ * @param publicationYear the year of publication
+ * @param authorId        the ID of the author matching the author name, or {@code null}
+ */
+@Table("book")
+public record BookRow(@Id Long id, String title, String author, int publicationYear, Long authorId) {
+
+    /**
+     * Returns a copy of this book with another ID; used by Spring Data after an insert.
+     *
+     * @param id the new ID
+     * @return the copy
+     */
+    public BookRow withId(Long id) {
+        return new BookRow(id, title, author, publicationYear, authorId);
+    }
+
+    /**
+     * Returns a copy of this book linked to another author.
+     *
+     * @param authorId the ID of the author, or {@code null} to unlink the book
+     * @return the copy
+     */
+    public BookRow withAuthorId(Long authorId) {
+        return new BookRow(id, title, author, publicationYear, authorId);
+    }
+}
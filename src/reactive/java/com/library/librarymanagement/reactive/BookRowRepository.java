@@ -0,0 +1,81 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for the {@code book} table.
+ * <p>
+ * Queries return {@link Flux} publishers: rows are emitted as the driver reads them and only
+ * as fast as the subscriber requests them.
+ */
+public interface BookRowRepository extends R2dbcRepository<BookRow, Long> {
+
+    /**
+     * Returns the next page of books in primary key order, starting strictly after the given ID.
+     * <p>
+     * The same seek query as
+     * {@link com.library.librarymanagement.repository.BookRepository#findByIdGreaterThanOrderByIdAsc
+     * BookRepository.findByIdGreaterThanOrderByIdAsc}, served by the primary key index.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of books to return
+     * @return up to {@code limit} books with an ID greater than {@code after}
+     */
+    @Query("select * from book where id > :after order by id limit :limit")
+    Flux<BookRow> findPage(long after, int limit);
+
+    /**
+     * Returns the next page of the books of an author, in primary key order, using the
+     * {@code (author_id, id)} index.
+     *
+     * @param authorId the ID of the author
+     * @param after    the last book ID already seen by the client ({@code 0} for the first page)
+     * @param limit    the maximum number of books to return
+     * @return up to {@code limit} books of the author with an ID greater than {@code after}
+     */
+    @Query("select * from book where author_id = :authorId and id > :after order by id limit :limit")
+    Flux<BookRow> findPageByAuthorId(long authorId, long after, int limit);
+
+    /**
+     * Returns every book in primary key order.
+     *
+     * @return all books, emitted on demand
+     */
+    Flux<BookRow> findAllByOrderByIdAsc();
+
+    /**
+     * Copies a new author name to every book linked to the author, in a single statement.
+     *
+     * @param authorId the ID of the renamed author
+     * @param name     the new name
+     * @return the number of updated books
+     */
+    @Modifying
+    @Query("update book set author = :name where author_id = :authorId")
+    Mono<Integer> renameAuthor(long authorId, String name);
+
+    /**
+     * Links the unlinked books carrying an author name to the author.
+     *
+     * @param authorId the ID of the author
+     * @param name     the name of the author
+     * @return the number of updated books
+     */
+    @Modifying
+    @Query("update book set author_id = :authorId where author_id is null and author = :name")
+    Mono<Integer> linkAuthor(long authorId, String name);
+
+    /**
+     * Removes the link between an author and its books, keeping the author name on the books.
+     *
+     * @param authorId the ID of the author about to be deleted
+     * @return the number of updated books
+     */
+    @Modifying
+    @Query("update book set author_id = null where author_id = :authorId")
+    Mono<Integer> unlinkAuthor(long authorId);
+}
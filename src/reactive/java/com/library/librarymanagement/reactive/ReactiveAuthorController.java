@@ -0,0 +1,163 @@
+package com.library.librarymanagement.reactive;
+
+import com.library.librarymanagement.service.BatchItemResult;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reactive REST controller for authors, serving the contract of
+ * {@link com.library.librarymanagement.controller.AuthorController AuthorController}.
+ *
+ * <h2>Available endpoints</h2>
+ * <ul>
+ *     <li><strong>GET /authors?after=&amp;limit=</strong> — retrieve authors one page at a time</li>
+ *     <li><strong>GET /authors/{id}</strong> — retrieve a single author</li>
+ *     <li><strong>GET /authors/{id}/books?after=&amp;limit=</strong> — retrieve the books of an
+ *     author one page at a time</li>
+ *     <li><strong>POST /authors</strong> — create a new author</li>
+ *     <li><strong>POST /authors/batch</strong> — create many authors in chunked transactions</li>
+ *     <li><strong>PUT /authors/{id}</strong> — update an existing author</li>
+ *     <li><strong>DELETE /authors/{id}</strong> — delete an author by ID</li>
+ * </ul>
+ * Author writes keep the books linked as in the MVC application (see
+ * {@link ReactiveAuthorLinkService}).
+ */
+@RestController
+@RequestMapping("/authors")
+@Profile(ReactiveLibraryApplication.PROFILE)
+public class ReactiveAuthorController {
+
+    private final AuthorRowRepository authorRepository;
+    private final BookRowRepository bookRepository;
+    private final ReactiveAuthorLinkService authorLinkService;
+    private final ReactiveBatchInsertService batchInsertService;
+
+    /**
+     * Constructs a new {@code ReactiveAuthorController} instance.
+     *
+     * @param authorRepository   the repository of the {@code author} table
+     * @param bookRepository     the repository of the {@code book} table
+     * @param authorLinkService  the service keeping books linked to their authors
+     * @param batchInsertService the service persisting bulk create requests
+     */
+    public ReactiveAuthorController(AuthorRowRepository authorRepository, BookRowRepository bookRepository,
+                                    ReactiveAuthorLinkService authorLinkService,
+                                    ReactiveBatchInsertService batchInsertService) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.authorLinkService = authorLinkService;
+        this.batchInsertService = batchInsertService;
+    }
+
+    /**
+     * Retrieves one page of authors using keyset pagination.
+     *
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of authors to return
+     * @param request the current request
+     * @return a page of authors, with a {@code Link} header to the next page when it is full
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<AuthorRow>>> getAllAuthors(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + ReactivePagination.DEFAULT_LIMIT) int limit,
+            ServerHttpRequest request) {
+        int page = ReactivePagination.limit(limit);
+        return ReactivePagination.page(authorRepository.findPage(after, page), page, AuthorRow::id, request);
+    }
+
+    /**
+     * Retrieves a single author by ID, or <strong>404 Not Found</strong>.
+     *
+     * @param id the unique identifier of the author
+     * @return the matching author
+     */
+    @GetMapping("/{id}")
+    public Mono<AuthorRow> getAuthor(@PathVariable Long id) {
+        return authorRepository.findById(id).switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    /**
+     * Retrieves one page of the books linked to an author, or <strong>404 Not Found</strong> if
+     * the author does not exist.
+     *
+     * @param id      the unique identifier of the author
+     * @param after   the last book ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of books to return
+     * @param request the current request
+     * @return a page of books, with a {@code Link} header to the next page when it is full
+     */
+    @GetMapping("/{id}/books")
+    public Mono<ResponseEntity<List<BookRow>>> getAuthorBooks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + ReactivePagination.DEFAULT_LIMIT) int limit,
+            ServerHttpRequest request) {
+        int page = ReactivePagination.limit(limit);
+        return getAuthor(id).flatMap(author -> ReactivePagination.page(
+                bookRepository.findPageByAuthorId(id, after, page), page, BookRow::id, request));
+    }
+
+    /**
+     * Creates a new author and links the unlinked books carrying its name.
+     *
+     * @param author the author received in the request body
+     * @return the persisted author
+     */
+    @PostMapping
+    public Mono<AuthorRow> createAuthor(@RequestBody AuthorRow author) {
+        return authorRepository.save(author.withId(null))
+                .flatMap(saved -> authorLinkService.created(saved).thenReturn(saved));
+    }
+
+    /**
+     * Persists many authors in a single request, in chunked transactions, then links the
+     * unlinked books carrying their names.
+     *
+     * @param authors the authors received in the request body
+     * @return the per-author outcome of the operation, in request order
+     */
+    @PostMapping("/batch")
+    public Flux<BatchItemResult> createAuthors(@RequestBody List<AuthorRow> authors) {
+        return batchInsertService.insertAll(authorRepository, authors.stream().map(a -> a.withId(null)).toList(),
+                        AuthorRow::id)
+                .concatMap(result -> result.status() != BatchItemResult.Status.CREATED ? Mono.just(result)
+                        : authorLinkService.created(authors.get(result.index()).withId(result.id()))
+                        .thenReturn(result));
+    }
+
+    /**
+     * Updates an existing author, or answers <strong>404 Not Found</strong>. A new name is
+     * copied to the books of the author.
+     *
+     * @param id            the unique identifier of the author to update
+     * @param authorDetails the new field values
+     * @return the updated author
+     */
+    @PutMapping("/{id}")
+    public Mono<AuthorRow> updateAuthor(@PathVariable Long id, @RequestBody AuthorRow authorDetails) {
+        return getAuthor(id).flatMap(author -> authorRepository.save(authorDetails.withId(id))
+                        .flatMap(saved -> authorLinkService.updated(saved, author.name()).thenReturn(saved)))
+                .onErrorMap(TransientDataAccessResourceException.class, e -> new NoSuchElementException());
+    }
+
+    /**
+     * Deletes the author with the given ID, after unlinking its books. Deleting an ID that does
+     * not exist is not an error.
+     *
+     * @param id the unique identifier of the author to delete
+     * @return completes when the author is deleted
+     */
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteAuthor(@PathVariable Long id) {
+        return authorLinkService.deleting(id).then(authorRepository.deleteById(id));
+    }
+}
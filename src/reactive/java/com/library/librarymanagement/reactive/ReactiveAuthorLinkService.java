@@ -0,0 +1,95 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of {@link com.library.librarymanagement.service.AuthorLinkService
+ * AuthorLinkService}: maintains the {@code author_id} link between books and the author
+ * matching their author name, with the same rules.
+ */
+@Service
+@Profile(ReactiveLibraryApplication.PROFILE)
+public class ReactiveAuthorLinkService {
+
+    private final AuthorRowRepository authorRepository;
+    private final BookRowRepository bookRepository;
+
+    /**
+     * Creates a new {@code ReactiveAuthorLinkService}.
+     *
+     * @param authorRepository the repository used to match author names
+     * @param bookRepository   the repository used to update the links
+     */
+    public ReactiveAuthorLinkService(AuthorRowRepository authorRepository, BookRowRepository bookRepository) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Links books about to be saved to the authors matching their author names.
+     * <p>
+     * The authors are looked up with a single query, whatever the number of books.
+     *
+     * @param books the books to link
+     * @return copies of the books carrying the ID of their author
+     */
+    public Mono<List<BookRow>> link(Collection<BookRow> books) {
+        Set<String> names = books.stream()
+                .map(BookRow::author)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Mono<Map<String, AuthorRow>> authors = names.isEmpty() ? Mono.just(Map.of())
+                : authorRepository.findByNameIn(names).collect(Collectors.toMap(AuthorRow::name, Function.identity(),
+                        (a, b) -> a.id() <= b.id() ? a : b));
+        return authors.map(byName -> books.stream()
+                .map(book -> {
+                    AuthorRow author = book.author() == null ? null : byName.get(book.author());
+                    return book.withAuthorId(author == null ? null : author.id());
+                })
+                .toList());
+    }
+
+    /**
+     * Links the unlinked books carrying the name of a newly created author.
+     *
+     * @param author the created author
+     * @return completes when the books are linked
+     */
+    public Mono<Void> created(AuthorRow author) {
+        return bookRepository.linkAuthor(author.id(), author.name()).then();
+    }
+
+    /**
+     * Copies the name of an updated author to its books, if it changed.
+     *
+     * @param author       the updated author
+     * @param previousName the name of the author before the update
+     * @return completes when the books are renamed
+     */
+    public Mono<Void> updated(AuthorRow author, String previousName) {
+        if (Objects.equals(author.name(), previousName)) {
+            return Mono.empty();
+        }
+        return bookRepository.renameAuthor(author.id(), author.name()).then();
+    }
+
+    /**
+     * Unlinks the books of an author, so that the author can be deleted.
+     *
+     * @param authorId the ID of the author about to be deleted
+     * @return completes when the books are unlinked
+     */
+    public Mono<Void> deleting(Long authorId) {
+        return bookRepository.unlinkAuthor(authorId).then();
+    }
+}
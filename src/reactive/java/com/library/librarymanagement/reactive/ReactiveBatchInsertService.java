@@ -0,0 +1,82 @@
+package com.library.librarymanagement.reactive;
+
+import com.library.librarymanagement.service.BatchItemResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reactive counterpart of {@link com.library.librarymanagement.service.BatchInsertService
+ * BatchInsertService}: persists large lists of rows in chunked transactions.
+ * <p>
+ * The failure semantics are the same: each chunk of {@code library.batch.chunk-size} rows is
+ * atomic, and a failed chunk does not prevent the following ones from being persisted. Chunks
+ * are written one after the other, so a batch holds a single connection at a time.
+ */
+@Service
+@Profile(ReactiveLibraryApplication.PROFILE)
+public class ReactiveBatchInsertService {
+
+    private final TransactionalOperator transactionalOperator;
+    private final int chunkSize;
+
+    /**
+     * Creates a new {@code ReactiveBatchInsertService}.
+     *
+     * @param transactionalOperator the operator running each chunk in its own transaction
+     * @param chunkSize             number of rows persisted per transaction
+     */
+    public ReactiveBatchInsertService(TransactionalOperator transactionalOperator,
+                                      @Value("${library.batch.chunk-size:500}") int chunkSize) {
+        this.transactionalOperator = transactionalOperator;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Persists all the given rows and reports the outcome of each one.
+     *
+     * @param repository the repository used to save the rows
+     * @param rows       the rows to persist, in request order
+     * @param idOf       extracts the generated identifier from a persisted row
+     * @param <T>        the row type
+     * @return one result per submitted row, in the same order
+     */
+    public <T> Flux<BatchItemResult> insertAll(R2dbcRepository<T, Long> repository, List<T> rows,
+                                               Function<T, Long> idOf) {
+        return Flux.fromIterable(rows)
+                .buffer(chunkSize)
+                .index()
+                .concatMap(indexed -> {
+                    int start = (int) (indexed.getT1() * chunkSize);
+                    List<T> chunk = indexed.getT2();
+                    return repository.saveAll(chunk)
+                            .collectList()
+                            .as(transactionalOperator::transactional)
+                            .map(saved -> {
+                                List<BatchItemResult> results = new ArrayList<>(saved.size());
+                                for (int i = 0; i < saved.size(); i++) {
+                                    results.add(BatchItemResult.created(start + i, idOf.apply(saved.get(i))));
+                                }
+                                return results;
+                            })
+                            .onErrorResume(e -> {
+                                String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                                List<BatchItemResult> results = new ArrayList<>(chunk.size());
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    results.add(BatchItemResult.failed(start + i, error));
+                                }
+                                return Mono.just(results);
+                            })
+                            .flatMapIterable(Function.identity());
+                });
+    }
+}
@@ -0,0 +1,156 @@
+package com.library.librarymanagement.reactive;
+
+import com.library.librarymanagement.service.BatchItemResult;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reactive REST controller for books, serving the contract of
+ * {@link com.library.librarymanagement.controller.BookController BookController}.
+ *
+ * <h2>Available endpoints</h2>
+ * <ul>
+ *     <li><strong>GET /books?after=&amp;limit=</strong> — retrieve books one page at a time</li>
+ *     <li><strong>GET /books/{id}</strong> — retrieve a single book</li>
+ *     <li><strong>GET /books/export</strong> — stream the whole catalogue as NDJSON</li>
+ *     <li><strong>POST /books</strong> — create a new book</li>
+ *     <li><strong>POST /books/batch</strong> — create many books in chunked transactions</li>
+ *     <li><strong>PUT /books/{id}</strong> — update an existing book</li>
+ *     <li><strong>DELETE /books/{id}</strong> — delete a book by ID</li>
+ * </ul>
+ * The filters, search, statistics, {@code PATCH}, bulk delete and {@code ETag} support of the
+ * MVC application are not part of the reactive stack.
+ */
+@RestController
+@RequestMapping("/books")
+@Profile(ReactiveLibraryApplication.PROFILE)
+public class ReactiveBookController {
+
+    /**
+     * Rows requested from the database at a time while streaming the export, like the JDBC
+     * fetch size of the MVC export.
+     */
+    private static final int EXPORT_PREFETCH = 500;
+
+    private final BookRowRepository bookRepository;
+    private final ReactiveAuthorLinkService authorLinkService;
+    private final ReactiveBatchInsertService batchInsertService;
+
+    /**
+     * Constructs a new {@code ReactiveBookController} instance.
+     *
+     * @param bookRepository     the repository of the {@code book} table
+     * @param authorLinkService  the service linking books to their authors
+     * @param batchInsertService the service persisting bulk create requests
+     */
+    public ReactiveBookController(BookRowRepository bookRepository, ReactiveAuthorLinkService authorLinkService,
+                                  ReactiveBatchInsertService batchInsertService) {
+        this.bookRepository = bookRepository;
+        this.authorLinkService = authorLinkService;
+        this.batchInsertService = batchInsertService;
+    }
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     *
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of books to return
+     * @param request the current request
+     * @return a page of books, with a {@code Link} header to the next page when it is full
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<BookRow>>> getAllBooks(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + ReactivePagination.DEFAULT_LIMIT) int limit,
+            ServerHttpRequest request) {
+        int page = ReactivePagination.limit(limit);
+        return ReactivePagination.page(bookRepository.findPage(after, page), page, BookRow::id, request);
+    }
+
+    /**
+     * Retrieves a single book by ID, or <strong>404 Not Found</strong>.
+     *
+     * @param id the unique identifier of the book
+     * @return the matching book
+     */
+    @GetMapping("/{id}")
+    public Mono<BookRow> getBook(@PathVariable Long id) {
+        return bookRepository.findById(id).switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    /**
+     * Streams the whole catalogue as newline-delimited JSON, one book per line.
+     * <p>
+     * Rows travel from the driver to the socket under backpressure: the query requests
+     * {@value #EXPORT_PREFETCH} rows at a time and only requests more once Netty has written
+     * the previous ones, so a slow client holds neither a thread nor the whole catalogue in
+     * memory.
+     *
+     * @return the books in ID order
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookRow> exportBooks() {
+        return bookRepository.findAllByOrderByIdAsc().limitRate(EXPORT_PREFETCH);
+    }
+
+    /**
+     * Creates and stores a new book, linked to the author matching its author name.
+     *
+     * @param book the book received in the request body
+     * @return the persisted book
+     */
+    @PostMapping
+    public Mono<BookRow> createBook(@RequestBody BookRow book) {
+        return authorLinkService.link(List.of(book.withId(null)))
+                .flatMap(linked -> bookRepository.save(linked.get(0)));
+    }
+
+    /**
+     * Persists many books in a single request, in chunked transactions.
+     *
+     * @param books the books received in the request body
+     * @return the per-book outcome of the operation, in request order
+     */
+    @PostMapping("/batch")
+    public Flux<BatchItemResult> createBooks(@RequestBody List<BookRow> books) {
+        return authorLinkService.link(books.stream().map(book -> book.withId(null)).toList())
+                .flatMapMany(linked -> batchInsertService.insertAll(bookRepository, linked, BookRow::id));
+    }
+
+    /**
+     * Updates an existing book, or answers <strong>404 Not Found</strong>.
+     * <p>
+     * The book is not read first: the {@code UPDATE} itself reports a missing row.
+     *
+     * @param id          the unique identifier of the book to update
+     * @param bookDetails the new field values
+     * @return the updated book
+     */
+    @PutMapping("/{id}")
+    public Mono<BookRow> updateBook(@PathVariable Long id, @RequestBody BookRow bookDetails) {
+        return authorLinkService.link(List.of(bookDetails.withId(id)))
+                .flatMap(linked -> bookRepository.save(linked.get(0)))
+                .onErrorMap(TransientDataAccessResourceException.class, e -> new NoSuchElementException());
+    }
+
+    /**
+     * Deletes the book matching the given ID, with a single statement. Deleting an ID that
+     * does not exist is not an error.
+     *
+     * @param id the unique identifier of the book to delete
+     * @return completes when the book is deleted
+     */
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteBook(@PathVariable Long id) {
+        return bookRepository.deleteById(id);
+    }
+}
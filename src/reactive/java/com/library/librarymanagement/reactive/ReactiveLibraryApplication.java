@@ -0,0 +1,63 @@
+package com.library.librarymanagement.reactive;
+
+import com.library.librarymanagement.controller.ApiExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Entry point of the reactive serving stack.
+ * <p>
+ * Serves the {@code /books}, {@code /authors} and {@code /users} contract of
+ * {@link com.library.librarymanagement.LibraryManagementApplication LibraryManagementApplication}
+ * with Spring WebFlux on Reactor Netty and Spring Data R2DBC on H2. A request waiting for a
+ * connection or for the client holds no thread: the few event-loop threads serve every
+ * request, rows are emitted as the response is written, and a slow client slows down the
+ * query instead of buffering the result (backpressure). The H2 driver itself runs each
+ * statement on the calling thread, so the database work still occupies an event loop while
+ * it executes; a networked database and its R2DBC driver would not.
+ * <p>
+ * The classes of this package are compiled only with the {@code reactive} Maven profile. They
+ * carry the {@code reactive} Spring profile, which {@link #main(String[])} activates, so that
+ * the MVC application ignores them when both are on the classpath. Errors are mapped to the
+ * same status codes as in the MVC application, by the shared {@link ApiExceptionHandler}.
+ * <p>
+ * See {@code src/reactive/README.md} for how to run it and how it compares with the MVC stack.
+ */
+@SpringBootApplication
+@Profile(ReactiveLibraryApplication.PROFILE)
+@Import(ApiExceptionHandler.class)
+public class ReactiveLibraryApplication {
+
+    /**
+     * Spring profile of the reactive stack.
+     */
+    public static final String PROFILE = "reactive";
+
+    /**
+     * Serves the stack with Reactor Netty. Tomcat is on the classpath too, for the MVC
+     * application, and Spring Boot would otherwise prefer it as the reactive server.
+     *
+     * @return the Netty server factory
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Starts the reactive stack.
+     *
+     * @param args the command-line arguments, e.g. {@code --server.port=8081}
+     */
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveLibraryApplication.class)
+                .profiles(PROFILE)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+}
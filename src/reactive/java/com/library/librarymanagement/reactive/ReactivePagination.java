@@ -0,0 +1,74 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination of the reactive list endpoints, with the same contract as the MVC
+ * application: {@code after} and {@code limit} parameters, a JSON array body and a
+ * {@code Link} header with {@code rel="next"} when the page is full.
+ * <p>
+ * A page holds at most {@link #MAX_LIMIT} rows, so it is collected before the response
+ * starts; that is what makes the {@code Link} header possible. Unbounded results are streamed
+ * instead (see {@link ReactiveBookController#exportBooks()}).
+ */
+final class ReactivePagination {
+
+    /**
+     * Page size used when the client does not provide one.
+     */
+    static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Largest page size a client may request.
+     */
+    static final int MAX_LIMIT = 1000;
+
+    private ReactivePagination() {
+    }
+
+    /**
+     * Clamps the requested page size into the supported range.
+     *
+     * @param limit the page size requested by the client
+     * @return a page size between {@code 1} and {@link #MAX_LIMIT}
+     */
+    static int limit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Collects a page of rows into a response, adding the {@code Link} header pointing to the
+     * next page when the page is full.
+     *
+     * @param rows    the rows of the current page, ordered by ascending ID
+     * @param limit   the page size used to fetch {@code rows}
+     * @param idOf    extracts the primary key used as cursor
+     * @param request the current request, whose URI the next link is built from
+     * @param <T>     the element type
+     * @return a {@code 200 OK} response containing the page
+     */
+    static <T> Mono<ResponseEntity<List<T>>> page(Flux<T> rows, int limit, Function<T, Long> idOf,
+                                                  ServerHttpRequest request) {
+        return rows.collectList().map(items -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (!items.isEmpty() && items.size() == limit) {
+                Long next = idOf.apply(items.get(items.size() - 1));
+                String uri = UriComponentsBuilder.fromUri(request.getURI())
+                        .replaceQueryParam("after", next)
+                        .replaceQueryParam("limit", limit)
+                        .build(true) // the query string of the request is already encoded
+                        .toUriString();
+                response.header(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+            }
+            return response.body(items);
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.library.librarymanagement.reactive;
+
+import com.library.librarymanagement.service.BatchItemResult;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reactive REST controller for users, serving the contract of
+ * {@link com.library.librarymanagement.controller.UserController UserController}.
+ *
+ * <h2>Available endpoints</h2>
+ * <ul>
+ *     <li><strong>GET /users?after=&amp;limit=</strong> — retrieve users one page at a time</li>
+ *     <li><strong>GET /users/{id}</strong> — retrieve a single user</li>
+ *     <li><strong>POST /users</strong> — create a new user</li>
+ *     <li><strong>POST /users/batch</strong> — create many users in chunked transactions</li>
+ *     <li><strong>PUT /users/{id}</strong> — update an existing user</li>
+ *     <li><strong>DELETE /users/{id}</strong> — delete a user by ID</li>
+ * </ul>
+ * A second user with the same email address is rejected with <strong>409 Conflict</strong>.
+ */
+@RestController
+@RequestMapping("/users")
+@Profile(ReactiveLibraryApplication.PROFILE)
+public class ReactiveUserController {
+
+    private final UserRowRepository userRepository;
+    private final ReactiveBatchInsertService batchInsertService;
+
+    /**
+     * Constructs a new {@code ReactiveUserController} instance.
+     *
+     * @param userRepository     the repository of the {@code users} table
+     * @param batchInsertService the service persisting bulk create requests
+     */
+    public ReactiveUserController(UserRowRepository userRepository, ReactiveBatchInsertService batchInsertService) {
+        this.userRepository = userRepository;
+        this.batchInsertService = batchInsertService;
+    }
+
+    /**
+     * Retrieves one page of users using keyset pagination.
+     *
+     * @param after   the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit   the maximum number of users to return
+     * @param request the current request
+     * @return a page of users, with a {@code Link} header to the next page when it is full
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<UserRow>>> getAllUsers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + ReactivePagination.DEFAULT_LIMIT) int limit,
+            ServerHttpRequest request) {
+        int page = ReactivePagination.limit(limit);
+        return ReactivePagination.page(userRepository.findPage(after, page), page, UserRow::id, request);
+    }
+
+    /**
+     * Retrieves a single user by ID, or <strong>404 Not Found</strong>.
+     *
+     * @param id the unique identifier of the user
+     * @return the matching user
+     */
+    @GetMapping("/{id}")
+    public Mono<UserRow> getUser(@PathVariable Long id) {
+        return userRepository.findById(id).switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    /**
+     * Creates a new user.
+     *
+     * @param user the user received in the request body
+     * @return the persisted user
+     */
+    @PostMapping
+    public Mono<UserRow> createUser(@RequestBody UserRow user) {
+        return userRepository.save(user.withId(null));
+    }
+
+    /**
+     * Persists many users in a single request, in chunked transactions.
+     *
+     * @param users the users received in the request body
+     * @return the per-user outcome of the operation, in request order
+     */
+    @PostMapping("/batch")
+    public Flux<BatchItemResult> createUsers(@RequestBody List<UserRow> users) {
+        return batchInsertService.insertAll(userRepository, users.stream().map(u -> u.withId(null)).toList(),
+                UserRow::id);
+    }
+
+    /**
+     * Updates an existing user, or answers <strong>404 Not Found</strong>.
+     * <p>
+     * The user is not read first: the {@code UPDATE} itself reports a missing row.
+     *
+     * @param id          the unique identifier of the user to update
+     * @param userDetails the new field values
+     * @return the updated user
+     */
+    @PutMapping("/{id}")
+    public Mono<UserRow> updateUser(@PathVariable Long id, @RequestBody UserRow userDetails) {
+        return userRepository.save(userDetails.withId(id))
+                .onErrorMap(TransientDataAccessResourceException.class, e -> new NoSuchElementException());
+    }
+
+    /**
+     * Deletes the user matching the given ID. Deleting an ID that does not exist is not an
+     * error.
+     *
+     * @param id the unique identifier of the user to delete
+     * @return completes when the user is deleted
+     */
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteUser(@PathVariable Long id) {
+        return userRepository.deleteById(id);
+    }
+}
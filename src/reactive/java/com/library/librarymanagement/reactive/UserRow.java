@@ -0,0 +1,27 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code users} table, as read and written by the reactive stack.
+ * <p>
+ * Serialises to the same JSON as {@link com.library.librarymanagement.entity.User User}.
+ *
+ * @param id    the identifier, generated by the database on insert
+ * @param name  the name
+ * @param email the email address, unique
+ */
+@Table("users")
+public record UserRow(@Id Long id, String name, String email) {
+
+    /**
+     * Returns a copy of this user with another ID; used by Spring Data after an insert.
+     *
+     * @param id the new ID
+     * @return the copy
+     */
+    public UserRow withId(Long id) {
+        return new UserRow(id, name, email);
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.librarymanagement.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository for the {@code users} table.
+ */
+public interface UserRowRepository extends R2dbcRepository<UserRow, Long> {
+
+    /**
+     * Returns the next page of users in primary key order, starting strictly after the given ID.
+     *
+     * @param after the last ID already seen by the client ({@code 0} for the first page)
+     * @param limit the maximum number of users to return
+     * @return up to {@code limit} users with an ID greater than {@code after}
+     */
+    @Query("select * from users where id > :after order by id limit :limit")
+    Flux<UserRow> findPage(long after, int limit);
+}
@@ -0,0 +1,31 @@
+-- Schema of the reactive stack. Same tables and indexes as the JPA entities, with identity
+-- columns instead of the pooled sequences (R2DBC reads the generated key back from the INSERT).
+
+CREATE TABLE IF NOT EXISTS author (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    nationality VARCHAR(255),
+    version     BIGINT DEFAULT 0 NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_author_name ON author (name);
+
+CREATE TABLE IF NOT EXISTS book (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title            VARCHAR(255),
+    author           VARCHAR(255),
+    publication_year INTEGER NOT NULL,
+    author_id        BIGINT REFERENCES author (id),
+    version          BIGINT DEFAULT 0 NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_book_author_id ON book (author_id, id);
+CREATE INDEX IF NOT EXISTS idx_book_author ON book (author, id);
+CREATE INDEX IF NOT EXISTS idx_book_publication_year ON book (publication_year, id);
+CREATE INDEX IF NOT EXISTS idx_book_title ON book (title);
+
+CREATE TABLE IF NOT EXISTS users (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255),
+    email   VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
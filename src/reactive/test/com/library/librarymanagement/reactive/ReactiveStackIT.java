@@ -0,0 +1,155 @@
+package com.library.librarymanagement.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests end-to-end for the reactive stack.
+ * <p>
+ * The application runs on Netty with R2DBC, as started by {@link ReactiveLibraryApplication},
+ * and is driven over HTTP with a {@link WebTestClient}.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>POST /books/batch, GET /books — keyset pages with the {@code Link} header</li>
+ *     <li>GET /books/export — NDJSON stream of the whole catalogue</li>
+ *     <li>POST, PUT, DELETE /authors — books linked, renamed and unlinked</li>
+ *     <li>GET /users/{id} — 404 on an unknown ID; POST /users — 409 on a duplicate email</li>
+ * </ul>
+ */
+@SpringBootTest(classes = ReactiveLibraryApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles(ReactiveLibraryApplication.PROFILE)
+class ReactiveStackIT {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BookRowRepository bookRepository;
+
+    @Autowired
+    private AuthorRowRepository authorRepository;
+
+    @Autowired
+    private UserRowRepository userRepository;
+
+    /**
+     * Ensure clean tables before every test case.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll().then(authorRepository.deleteAll()).then(userRepository.deleteAll()).block();
+    }
+
+    /**
+     * Creates books in bulk, then verifies:
+     * <ul>
+     *     <li>the first page is full and links to the second one</li>
+     *     <li>the export streams every book, one JSON object per line</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("POST /books/batch + GET /books + GET /books/export - pagine e flusso NDJSON")
+    void pageAndExportBooks() {
+        List<Map<String, Object>> books = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> Map.<String, Object>of("title", "Libro " + i, "author", "Anonimo", "publicationYear", 2000 + i))
+                .toList();
+        webTestClient.post().uri("/books/batch").bodyValue(books)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[4].status").isEqualTo("CREATED");
+
+        List<BookRow> page = webTestClient.get().uri("/books?limit=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> assertThat(link).contains("limit=3").contains("rel=\"next\""))
+                .expectBodyList(BookRow.class).returnResult().getResponseBody();
+        assertThat(page).extracting(BookRow::title).containsExactly("Libro 1", "Libro 2", "Libro 3");
+
+        webTestClient.get().uri("/books?after={after}&limit=3", page.get(2).id())
+                .exchange()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(BookRow.class).hasSize(2);
+
+        List<BookRow> exported = webTestClient.get().uri("/books/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BookRow.class).getResponseBody().collectList().block();
+        assertThat(exported).extracting(BookRow::publicationYear).containsExactly(2001, 2002, 2003, 2004, 2005);
+    }
+
+    /**
+     * Creates a book and then its author, renames and deletes the author, and verifies that
+     * the book follows: linked, renamed, then unlinked with the last name kept.
+     */
+    @Test
+    @DisplayName("POST, PUT, DELETE /authors - i libri restano collegati all'autore")
+    void authorWritesUpdateBooks() {
+        BookRow book = webTestClient.post().uri("/books")
+                .bodyValue(Map.of("title", "Gli indifferenti", "author", "Alberto Pincherle", "publicationYear", 1929))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookRow.class).returnResult().getResponseBody();
+        assertThat(book.authorId()).isNull();
+
+        AuthorRow author = webTestClient.post().uri("/authors")
+                .bodyValue(Map.of("name", "Alberto Pincherle", "nationality", "Italiana"))
+                .exchange()
+                .expectBody(AuthorRow.class).returnResult().getResponseBody();
+        webTestClient.get().uri("/books/{id}", book.id()).exchange()
+                .expectBody().jsonPath("$.authorId").isEqualTo(author.id().intValue());
+
+        webTestClient.put().uri("/authors/{id}", author.id())
+                .bodyValue(Map.of("name", "Alberto Moravia", "nationality", "Italiana"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/authors/{id}/books", author.id()).exchange()
+                .expectBody().jsonPath("$[0].author").isEqualTo("Alberto Moravia");
+
+        webTestClient.delete().uri("/authors/{id}", author.id()).exchange().expectStatus().isOk();
+        webTestClient.get().uri("/books/{id}", book.id()).exchange()
+                .expectBody()
+                .jsonPath("$.author").isEqualTo("Alberto Moravia")
+                .jsonPath("$.authorId").isEmpty();
+        webTestClient.get().uri("/authors/{id}", author.id()).exchange().expectStatus().isNotFound();
+    }
+
+    /**
+     * Verifies the error statuses shared with the MVC application: 404 for an unknown ID and
+     * 409 for a duplicate email.
+     */
+    @Test
+    @DisplayName("GET /users/{id} 404 e POST /users 409 - stessi codici dello stack MVC")
+    void errorStatuses() {
+        webTestClient.get().uri("/users/{id}", 424242).exchange().expectStatus().isNotFound();
+        webTestClient.put().uri("/users/{id}", 424242)
+                .bodyValue(Map.of("name", "Nessuno", "email", "nessuno@example.com"))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.post().uri("/users")
+                .bodyValue(Map.of("name", "Mario Rossi", "email", "mario.rossi@example.com"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/users")
+                .bodyValue(Map.of("name", "Mario Rossi", "email", "mario.rossi@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+}
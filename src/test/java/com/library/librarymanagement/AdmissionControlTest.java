@@ -0,0 +1,210 @@
+package com.library.librarymanagement;
+
+import com.library.librarymanagement.admission.AdaptiveConcurrencyLimit;
+import com.library.librarymanagement.admission.AdmissionControlFilter;
+import com.library.librarymanagement.admission.ClientRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for {@link ClientRateLimiter}, {@link AdaptiveConcurrencyLimit} and
+ * {@link AdmissionControlFilter}.
+ * <p>
+ * The rate limiter reads a fake clock, and the concurrency limit is fed latency samples
+ * directly, so no test depends on timing.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>a burst, then one request per interval, per client</li>
+ *     <li>the limit grows while latency is stable and shrinks when it rises or requests fail</li>
+ *     <li>a failed request cuts the limit even while another sample is being applied</li>
+ *     <li>429 and 503 with {@code Retry-After}; actuator endpoints are not limited</li>
+ *     <li>only requests marked as having exhausted a resource cut the limit, not every 503</li>
+ * </ul>
+ */
+class AdmissionControlTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * Verifies that a client gets its burst, then waits one interval per request, and that
+     * other clients are not affected.
+     */
+    @Test
+    @DisplayName("Token bucket per ogni client")
+    void limitsRatePerClient() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.tryAcquire("b")).isZero();
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    /**
+     * Verifies that the limit rises while latency stays at its usual level, falls when latency
+     * triples, is cut when requests fail, and stays within its bounds.
+     */
+    @Test
+    @DisplayName("Il limite di concorrenza segue la latenza")
+    void adaptsConcurrencyToLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        long usual = Duration.ofMillis(10).toNanos();
+
+        for (int i = 0; i < 50; i++) {
+            busy(limit, usual, false);
+        }
+        int grown = limit.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 20; i++) {
+            busy(limit, 3 * usual, false);
+        }
+        int shrunk = limit.limit();
+        assertThat(shrunk).isLessThan(grown);
+
+        busy(limit, usual, true);
+        assertThat(limit.limit()).isLessThan(shrunk);
+
+        for (int i = 0; i < 200; i++) {
+            busy(limit, 0, true);
+        }
+        assertThat(limit.limit()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(5);
+    }
+
+    /**
+     * Holds the sampling lock, as a sample being applied would, and verifies that a latency
+     * sample is skipped while a failed request waits for the lock and then cuts the limit.
+     */
+    @Test
+    @DisplayName("Il taglio per richiesta fallita non viene perso")
+    void dropWaitsForSampling() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        ReentrantLock sampling = (ReentrantLock) ReflectionTestUtils.getField(limit, "sampling");
+        assertThat(sampling).isNotNull();
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+        }
+
+        Thread dropped = Thread.ofVirtual().unstarted(() -> limit.release(0, true));
+        sampling.lock();
+        try {
+            limit.release(Duration.ofSeconds(1).toNanos(), false);
+            dropped.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> sampling.hasQueuedThread(dropped));
+            assertThat(limit.limit()).isEqualTo(20);
+        } finally {
+            sampling.unlock();
+        }
+        dropped.join();
+
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inFlight()).isEqualTo(18);
+    }
+
+    /**
+     * Verifies the responses of the filter to a client over its rate and to a request over the
+     * concurrency limit.
+     */
+    @Test
+    @DisplayName("429 e 503 con Retry-After")
+    void rejectsWithRetryAfter() throws Exception {
+        AdaptiveConcurrencyLimit concurrency = new AdaptiveConcurrencyLimit(1, 1, 1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(0.5, 1, 100, now::get), concurrency);
+
+        assertThat(send(filter, "10.0.0.1", "/books").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = send(filter, "10.0.0.1", "/books");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(send(filter, "10.0.0.1", "/actuator/health").getStatus()).isEqualTo(200);
+
+        assertThat(concurrency.tryAcquire()).isTrue();
+        MockHttpServletResponse shed = send(filter, "10.0.0.2", "/books");
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        concurrency.release();
+        assertThat(send(filter, "10.0.0.3", "/books").getStatus()).isEqualTo(200);
+        assertThat(concurrency.inFlight()).isZero();
+    }
+
+    /**
+     * Verifies that a 503 answered by the application, such as a full write-behind buffer, does
+     * not cut the concurrency limit, and a request marked as having exhausted the connection
+     * pool does.
+     */
+    @Test
+    @DisplayName("Solo l'esaurimento delle risorse riduce il limite")
+    void onlyExhaustionCutsLimit() throws Exception {
+        AdaptiveConcurrencyLimit concurrency = new AdaptiveConcurrencyLimit(20, 5, 100);
+        AdmissionControlFilter filter = new AdmissionControlFilter(null, concurrency);
+
+        send(filter, (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        assertThat(concurrency.limit()).isGreaterThanOrEqualTo(20);
+
+        send(filter, (request, response) -> {
+            request.setAttribute(AdmissionControlFilter.RESOURCE_EXHAUSTED, Boolean.TRUE);
+            ((HttpServletResponse) response).setStatus(503);
+        });
+        assertThat(concurrency.limit()).isLessThan(20);
+        assertThat(concurrency.inFlight()).isZero();
+    }
+
+    /**
+     * Takes half of the limit in permits, plus one completed with the given latency.
+     */
+    private static void busy(AdaptiveConcurrencyLimit limit, long rttNanos, boolean dropped) {
+        int held = limit.limit() / 2;
+        for (int i = 0; i < held; i++) {
+            limit.tryAcquire();
+        }
+        limit.tryAcquire();
+        limit.release(rttNanos, dropped);
+        for (int i = 0; i < held; i++) {
+            limit.release();
+        }
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String address, String path)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void send(AdmissionControlFilter filter, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -1,14 +1,20 @@
 package com.library.librarymanagement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.config.CacheConfig;
 import com.library.librarymanagement.controller.AuthorController;
 import com.library.librarymanagement.entity.Author;
 import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.PatchService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -19,6 +25,7 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * </p>
  */
 @WebMvcTest(AuthorController.class)
+@Import(CacheConfig.class)
 class AuthorControllerTest {
 
     @Autowired
@@ -55,6 +63,15 @@ class AuthorControllerTest {
     @MockitoBean
     private AuthorRepository authorRepository;
 
+    @MockitoBean
+    private BatchInsertService batchInsertService;
+
+    @MockitoBean
+    private AuthorLinkService authorLinkService;
+
+    @MockitoBean
+    private PatchService patchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -75,7 +92,7 @@ class AuthorControllerTest {
                 new Author("Italo Calvino", "Italiana"),
                 new Author("Haruki Murakami", "Giapponese")
         );
-        Mockito.when(authorRepository.findAll()).thenReturn(authors);
+        Mockito.when(authorRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(authors);
 
         mockMvc.perform(get("/authors"))
                 .andExpect(status().isOk())
@@ -98,7 +115,7 @@ class AuthorControllerTest {
     void createAuthor() throws Exception {
         Author input = new Author("Umberto Eco", "Italiana");
 
-        Mockito.when(authorRepository.save(any(Author.class)))
+        Mockito.when(authorLinkService.create(any(Author.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
 
         mockMvc.perform(post("/authors")
@@ -112,7 +129,7 @@ class AuthorControllerTest {
     /**
      * Updates an existing author via PUT request and validates:
      * <ul>
-     *     <li>repository finds the existing entity</li>
+     *     <li>the link service updates the author and its books in one transaction</li>
      *     <li>updated author values are returned in the response</li>
      * </ul>
      *
@@ -125,9 +142,12 @@ class AuthorControllerTest {
         Author existing = new Author("Autore Vecchio", "Vecchia");
         Author update = new Author("Autore Nuovo", "Nuova");
 
-        Mockito.when(authorRepository.findById(eq(id))).thenReturn(Optional.of(existing));
-        Mockito.when(authorRepository.save(any(Author.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(authorLinkService.update(eq(id), isNull(), any(Author.class))).thenAnswer(inv -> {
+            Author details = inv.getArgument(2);
+            existing.setName(details.getName());
+            existing.setNationality(details.getNationality());
+            return Optional.of(existing);
+        });
 
         mockMvc.perform(put("/authors/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -138,8 +158,9 @@ class AuthorControllerTest {
     }
 
     /**
-     * Deletes an author via DELETE request and verifies that the repository
-     * deletion method is invoked with the proper identifier.
+     * Deletes an author via DELETE request and verifies that the link service, which unlinks
+     * the books and deletes the author in one transaction, is invoked with the proper
+     * identifier.
      *
      * @throws Exception if MockMvc request execution fails
      */
@@ -151,6 +172,6 @@ class AuthorControllerTest {
         mockMvc.perform(delete("/authors/{id}", id))
                 .andExpect(status().isOk());
 
-        Mockito.verify(authorRepository).deleteById(eq(id));
+        Mockito.verify(authorLinkService).delete(eq(id));
     }
 }
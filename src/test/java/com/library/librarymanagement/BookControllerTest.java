@@ -1,23 +1,44 @@
 package com.library.librarymanagement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.config.CacheConfig;
 import com.library.librarymanagement.controller.BookController;
 import com.library.librarymanagement.entity.Book;
 import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.PatchService;
+import com.library.librarymanagement.service.BatchItemResult;
+import com.library.librarymanagement.service.BookPatch;
+import com.library.librarymanagement.service.BookExportService;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import com.library.librarymanagement.service.BookStatistics;
+import com.library.librarymanagement.service.BookStats;
+import com.library.librarymanagement.service.BookViews;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,9 +54,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <h2>Scope</h2>
  * <ul>
  *     <li>GET /books — list books</li>
+ *     <li>GET /books?after=&amp;limit= — page size clamping</li>
+ *     <li>GET /books — 304 on a current {@code If-None-Match}</li>
+ *     <li>GET /books/{id} — 304 on a current {@code If-None-Match}, without a lookup</li>
+ *     <li>GET /books/{id} — 503 when no database connection is available</li>
+ *     <li>GET /books/search?q= — full-text search</li>
  *     <li>POST /books — create book</li>
- *     <li>PUT /books/{id} — update book</li>
+ *     <li>POST /books/batch — bulk create books</li>
+ *     <li>PUT /books/{id} — update book, 409 on a concurrent update</li>
+ *     <li>PATCH /books/{id} — partial update, 412 on a stale {@code If-Match}</li>
  *     <li>DELETE /books/{id} — delete book</li>
+ *     <li>DELETE /books?ids=, ?author= — bulk delete</li>
  * </ul>
  *
  * <p>
@@ -47,6 +76,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * </p>
  */
 @WebMvcTest(BookController.class)
+@Import({CacheConfig.class, BookViews.class})
 class BookControllerTest {
 
     @Autowired
@@ -55,6 +85,24 @@ class BookControllerTest {
     @MockitoBean
     private BookRepository bookRepository;
 
+    @MockitoBean
+    private BatchInsertService batchInsertService;
+
+    @MockitoBean
+    private BookExportService bookExportService;
+
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockitoBean
+    private BookStatistics bookStatistics;
+
+    @MockitoBean
+    private AuthorLinkService authorLinkService;
+
+    @MockitoBean
+    private PatchService patchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -75,7 +123,7 @@ class BookControllerTest {
                 new Book("Il nome della rosa", "Umberto Eco", 1980),
                 new Book("Norwegian Wood", "Haruki Murakami", 1987)
         );
-        Mockito.when(bookRepository.findAll()).thenReturn(books);
+        Mockito.when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(books);
 
         mockMvc.perform(get("/books"))
                 .andExpect(status().isOk())
@@ -84,6 +132,193 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[1].publicationYear", is(1987)));
     }
 
+    /**
+     * Requests a page larger than the supported maximum and verifies that
+     * the repository is queried with the clamped page size and the given cursor.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books?after=&limit= - limita la dimensione della pagina")
+    void getBooksPageIsClamped() throws Exception {
+        Mockito.when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(42L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/books").param("after", "42").param("limit", "50000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().doesNotExist("Link"));
+
+        Mockito.verify(bookRepository).findByIdGreaterThanOrderByIdAsc(eq(42L), eq(Limit.of(1000)));
+    }
+
+    /**
+     * Polls pages of books with the tag of a previous response and verifies:
+     * <ul>
+     *     <li>the tag identifies the catalogue, so it is valid for every page</li>
+     *     <li>while the catalogue is unchanged, the answer is 304 and the repository is not
+     *     queried</li>
+     *     <li>after a write, the page is read and carries a new tag</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books - 304 se il catalogo non è cambiato")
+    void getBooksNotModified() throws Exception {
+        Mockito.when(bookRepository.findByPublicationYearAndIdGreaterThanOrderByIdAsc(anyInt(), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new Book("Il deserto dei Tartari", "Dino Buzzati", 1940)));
+
+        String eTag = mockMvc.perform(get("/books").param("year", "1940"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books").param("year", "1941").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+        Mockito.verify(bookRepository, Mockito.never()).findByPublicationYearAndIdGreaterThanOrderByIdAsc(eq(1941), anyLong(), any());
+
+        mockMvc.perform(delete("/books/{id}", 99L)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/books").param("year", "1941").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    /**
+     * Filters books by year and verifies:
+     * <ul>
+     *     <li>the query goes to the indexed finder of the filter</li>
+     *     <li>a second filter in the same request is rejected with 400</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books?year= - filtra per anno di pubblicazione")
+    void getBooksByYear() throws Exception {
+        Mockito.when(bookRepository.findByPublicationYearAndIdGreaterThanOrderByIdAsc(eq(1947), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new Book("La peste", "Albert Camus", 1947)));
+
+        mockMvc.perform(get("/books").param("year", "1947"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("La peste")));
+
+        mockMvc.perform(get("/books").param("year", "1947").param("titlePrefix", "La"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookRepository, Mockito.never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+        Mockito.verify(bookRepository, Mockito.never()).findPageByTitlePrefix(any(), any(), any());
+    }
+
+    /**
+     * Retrieves a book, then revalidates it as CBOR and JSON and verifies:
+     * <ul>
+     *     <li>a request carrying the tag of its format is answered with 304</li>
+     *     <li>the 304 is answered without calling the repository</li>
+     *     <li>the tag of the other format does not match</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/{id} - 304 senza interrogare il repository")
+    void getBookNotModified() throws Exception {
+        Mockito.when(bookRepository.findById(eq(6L)))
+                .thenReturn(Optional.of(new Book(6L, "Ossi di seppia", "Eugenio Montale", 1925, null, 3L)));
+
+        mockMvc.perform(get("/books/{id}", 6L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        Mockito.clearInvocations(bookRepository);
+
+        mockMvc.perform(get("/books/{id}", 6L).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-cbor\""));
+        mockMvc.perform(get("/books/{id}", 6L).header("If-None-Match", "W/\"2\", W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+        Mockito.verify(bookRepository, Mockito.never()).findById(any());
+
+        mockMvc.perform(get("/books/{id}", 6L).header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Ossi di seppia")));
+    }
+
+    /**
+     * Simulates a connection pool that cannot hand out a connection in time and verifies
+     * that the request is rejected with 503 and a {@code Retry-After} header.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/{id} - 503 se il pool di connessioni è esaurito")
+    void getBookWhenPoolIsExhausted() throws Exception {
+        Mockito.when(bookRepository.findById(eq(7L)))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        mockMvc.perform(get("/books/{id}", 7L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        Mockito.when(bookRepository.findById(eq(8L)))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection is not available"));
+
+        mockMvc.perform(get("/books/{id}", 8L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    /**
+     * Searches books via GET request and verifies:
+     * <ul>
+     *     <li>the query is answered by the search index</li>
+     *     <li>ranked hits are returned in the index order</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/search?q= - cerca libri per titolo e autore")
+    void searchBooks() throws Exception {
+        Mockito.when(bookSearchIndex.search(eq("calvino"), eq(20))).thenReturn(List.of(
+                new BookSearchHit(4L, "Il barone rampante", "Italo Calvino", 1957, 2),
+                new BookSearchHit(9L, "Le città invisibili", "Italo Calvino", 1972, 2)
+        ));
+
+        mockMvc.perform(get("/books/search").param("q", "calvino"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(4)))
+                .andExpect(jsonPath("$[1].title", is("Le città invisibili")));
+
+        Mockito.verifyNoInteractions(bookRepository);
+    }
+
+    /**
+     * Requests the catalogue statistics and verifies that they are answered from the
+     * in-memory counts, without querying the repository.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/stats - conteggi per anno e per autore")
+    void getStats() throws Exception {
+        Mockito.when(bookStatistics.snapshot()).thenReturn(new BookStats(3,
+                new TreeMap<>(Map.of(1957, 1L, 1972, 2L)), new TreeMap<>(Map.of("Italo Calvino", 3L))));
+
+        mockMvc.perform(get("/books/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byYear.1972", is(2)))
+                .andExpect(jsonPath("$.byAuthor['Italo Calvino']", is(3)));
+
+        Mockito.verifyNoInteractions(bookRepository);
+    }
+
     /**
      * Creates a book via POST request and verifies:
      * <ul>
@@ -109,6 +344,36 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.publicationYear", is(1972)));
     }
 
+    /**
+     * Creates several books via POST /books/batch and verifies:
+     * <ul>
+     *     <li>the submitted list is handed over to the batch service</li>
+     *     <li>the per-item results are returned in request order</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("POST /books/batch - crea libri in blocco")
+    void createBooksInBatch() throws Exception {
+        List<Book> input = List.of(
+                new Book("Se una notte d'inverno un viaggiatore", "Italo Calvino", 1979),
+                new Book("Il barone rampante", "Italo Calvino", 1957)
+        );
+        Mockito.when(batchInsertService.insertAll(eq(bookRepository), any(), any()))
+                .thenReturn(List.of(BatchItemResult.created(0, 1L), BatchItemResult.failed(1, "boom")));
+
+        mockMvc.perform(post("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].status", is("FAILED")))
+                .andExpect(jsonPath("$[1].error", is("boom")));
+    }
+
     /**
      * Updates an existing book via PUT request and verifies:
      * <ul>
@@ -138,6 +403,57 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.publicationYear", is(2020)));
     }
 
+    /**
+     * Simulates a concurrent update detected by the version column while saving and
+     * verifies that the request is rejected with 409.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PUT /books/{id} - 409 se modificato in concorrenza")
+    void updateBookConcurrently() throws Exception {
+        Mockito.when(bookRepository.findById(eq(10L))).thenReturn(Optional.of(new Book("Old Title", "Old Author", 1990)));
+        Mockito.when(bookRepository.save(any(Book.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 10L));
+
+        mockMvc.perform(put("/books/{id}", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("New Title", "New Author", 2020))))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Patches a book via PATCH request and verifies:
+     * <ul>
+     *     <li>the version in {@code If-Match} is passed to the update</li>
+     *     <li>a version mismatch is answered with 412</li>
+     *     <li>a malformed {@code If-Match} is answered with 412 without updating</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PATCH /books/{id} - 412 se la versione non corrisponde")
+    void patchBookWithStaleVersion() throws Exception {
+        BookPatch patch = new BookPatch("Nuovo titolo", null, null);
+        Mockito.when(patchService.patchBook(eq(10L), eq(3L), eq(patch))).thenReturn(Optional.empty());
+
+        mockMvc.perform(patch("/books/{id}", 10L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nuovo titolo\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/books/{id}", 10L)
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nuovo titolo\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        Mockito.verify(patchService).patchBook(eq(10L), eq(3L), eq(patch));
+        Mockito.verifyNoMoreInteractions(patchService);
+    }
+
     /**
      * Deletes a book via DELETE request and verifies:
      * <ul>
@@ -155,6 +471,40 @@ class BookControllerTest {
         mockMvc.perform(delete("/books/{id}", id))
                 .andExpect(status().isOk());
 
-        Mockito.verify(bookRepository).deleteById(eq(id));
+        Mockito.verify(bookRepository).deleteRowById(eq(id));
+    }
+
+    /**
+     * Deletes books by ID and by author via DELETE requests and verifies:
+     * <ul>
+     *     <li>the comma-separated IDs reach a single set-based delete</li>
+     *     <li>the deleted books are reported to the views</li>
+     *     <li>a request without a selection, or with both, is rejected with 400</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("DELETE /books?ids=&author= - elimina più libri")
+    void deleteBooks() throws Exception {
+        Mockito.when(bookRepository.deleteRowsByIdIn(eq(List.of(1L, 2L, 3L)))).thenReturn(2);
+        Mockito.when(bookRepository.deleteRowsByAuthor(eq("Umberto Eco"))).thenReturn(List.of(7L, 8L));
+
+        mockMvc.perform(delete("/books").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(delete("/books").param("author", "Umberto Eco"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(delete("/books"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/books").param("ids", "1").param("author", "Umberto Eco"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookSearchIndex).remove(eq(7L));
+        Mockito.verify(bookSearchIndex).remove(eq(8L));
+        Mockito.verify(bookRepository, Mockito.never()).deleteAllById(any());
     }
 }
@@ -0,0 +1,93 @@
+package com.library.librarymanagement;
+
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BookSearchIndex}.
+ * <p>
+ * The index is exercised directly, without a Spring context.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>case and accent folding</li>
+ *     <li>prefix matching and ranking</li>
+ *     <li>short terms matched as whole words</li>
+ *     <li>incremental update and removal</li>
+ * </ul>
+ */
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    /**
+     * Creates an index over a small catalogue before every test.
+     */
+    @BeforeEach
+    void setup() {
+        index = new BookSearchIndex();
+        index.index(book(1L, "Le città invisibili", "Italo Calvino", 1972));
+        index.index(book(2L, "Il barone rampante", "Italo Calvino", 1957));
+        index.index(book(3L, "Calvino e la critica", "Mario Barenghi", 2009));
+    }
+
+    /**
+     * Verifies that queries ignore case and diacritics.
+     */
+    @Test
+    @DisplayName("Ignora maiuscole e accenti")
+    void foldsCaseAndAccents() {
+        assertThat(index.search("CITTA", 10)).extracting(BookSearchHit::id).containsExactly(1L);
+    }
+
+    /**
+     * Verifies that every term is matched as a prefix and that title matches
+     * rank above author matches.
+     */
+    @Test
+    @DisplayName("Cerca per prefisso e ordina per rilevanza")
+    void matchesPrefixesAndRanksTitleFirst() {
+        assertThat(index.search("calv", 10)).extracting(BookSearchHit::id).containsExactly(3L, 1L, 2L);
+        assertThat(index.search("calvino bar", 10)).extracting(BookSearchHit::id).containsExactly(3L, 2L);
+        assertThat(index.search("calv", 1)).extracting(BookSearchHit::id).containsExactly(3L);
+    }
+
+    /**
+     * Verifies that a term too short to be a useful prefix only matches whole words.
+     */
+    @Test
+    @DisplayName("I termini brevi cercano solo parole intere")
+    void matchesShortTermsAsWords() {
+        assertThat(index.search("le", 10)).extracting(BookSearchHit::id).containsExactly(1L);
+        assertThat(index.search("ca", 10)).isEmpty();
+    }
+
+    /**
+     * Verifies that updated and removed books are reflected by subsequent searches.
+     */
+    @Test
+    @DisplayName("Aggiorna e rimuove libri dall'indice")
+    void updatesAndRemovesBooks() {
+        index.index(book(2L, "Marcovaldo", "Italo Calvino", 1963));
+        index.remove(1L);
+
+        assertThat(index.search("barone", 10)).isEmpty();
+        assertThat(index.search("italo", 10)).extracting(BookSearchHit::title).containsExactly("Marcovaldo");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static Book book(Long id, String title, String author, int year) {
+        Book book = new Book(title, author, year);
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+}
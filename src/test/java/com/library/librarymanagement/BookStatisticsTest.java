@@ -0,0 +1,128 @@
+package com.library.librarymanagement;
+
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import com.library.librarymanagement.service.BookStatistics;
+import com.library.librarymanagement.service.BookStats;
+import com.library.librarymanagement.service.BookViews;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * Unit tests for {@link BookStatistics}.
+ * <p>
+ * The counts are exercised directly, without a Spring context; the repository is
+ * mocked and only used by the rebuild, which goes through {@link BookViews}.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>rebuild from the repository</li>
+ *     <li>incremental create, update and delete</li>
+ *     <li>writes reported during a rebuild are kept</li>
+ * </ul>
+ */
+class BookStatisticsTest {
+
+    private BookRepository bookRepository;
+    private BookSearchIndex searchIndex;
+    private BookStatistics statistics;
+    private BookViews views;
+
+    /**
+     * Builds the counts of a small catalogue before every test.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository = Mockito.mock(BookRepository.class);
+        Mockito.when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(Limit.of(1000)))).thenReturn(List.of(
+                book(1L, "Le città invisibili", "Italo Calvino", 1972),
+                book(2L, "Il barone rampante", "Italo Calvino", 1957),
+                book(3L, "Il sistema periodico", "Primo Levi", 1975)));
+        searchIndex = new BookSearchIndex();
+        statistics = new BookStatistics();
+        views = new BookViews(bookRepository, new EntityCache<>("books", Book::getId, 10, 10, Duration.ofMinutes(1)),
+                searchIndex, statistics);
+        views.rebuild();
+    }
+
+    /**
+     * Verifies that the rebuild counts every book per year and per author.
+     */
+    @Test
+    @DisplayName("Conta i libri del catalogo all'avvio")
+    void countsCatalogueOnRebuild() {
+        BookStats stats = statistics.snapshot();
+
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byYear()).containsExactly(Map.entry(1957, 1L), Map.entry(1972, 1L), Map.entry(1975, 1L));
+        assertThat(stats.byAuthor()).containsExactly(Map.entry("Italo Calvino", 2L), Map.entry("Primo Levi", 1L));
+    }
+
+    /**
+     * Verifies that creates, updates and deletes move books between groups, that
+     * empty groups disappear and that repeated notifications count a book once.
+     */
+    @Test
+    @DisplayName("Aggiorna i conteggi a ogni modifica")
+    void updatesCountsOnWrites() {
+        statistics.saved(book(4L, "La tregua", "Primo Levi", 1963));
+        statistics.saved(book(4L, "La tregua", "Primo Levi", 1963));
+        statistics.saved(book(2L, "Il barone rampante", "I. Calvino", 1957));
+        statistics.deleted(3L);
+        statistics.deleted(3L);
+
+        BookStats stats = statistics.snapshot();
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byYear()).containsExactly(Map.entry(1957, 1L), Map.entry(1963, 1L), Map.entry(1972, 1L));
+        assertThat(stats.byAuthor()).containsExactly(
+                Map.entry("I. Calvino", 1L), Map.entry("Italo Calvino", 1L), Map.entry("Primo Levi", 1L));
+    }
+
+    /**
+     * Reports writes while the catalogue is being scanned, after the scan has read the books
+     * concerned, and verifies that the rebuilt counts and index include them.
+     */
+    @Test
+    @DisplayName("Non perde le modifiche durante la ricostruzione")
+    void keepsWritesDuringRebuild() {
+        Mockito.when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(Limit.of(1000)))).thenAnswer(invocation -> {
+            List<Book> page = List.of(
+                    book(1L, "Le città invisibili", "Italo Calvino", 1972),
+                    book(3L, "Il sistema periodico", "Primo Levi", 1975));
+            views.saved(book(1L, "Le città invisibili", "I. Calvino", 1972));
+            views.saved(book(4L, "La tregua", "Primo Levi", 1963));
+            views.deleted(3L);
+            return page;
+        });
+
+        views.rebuild();
+
+        BookStats stats = statistics.snapshot();
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byYear()).containsExactly(Map.entry(1963, 1L), Map.entry(1972, 1L));
+        assertThat(stats.byAuthor()).containsExactly(Map.entry("I. Calvino", 1L), Map.entry("Primo Levi", 1L));
+        assertThat(searchIndex.search("tregua", 10)).extracting(BookSearchHit::id).containsExactly(4L);
+        assertThat(searchIndex.search("sistema", 10)).isEmpty();
+        assertThat(searchIndex.search("italo", 10)).isEmpty();
+    }
+
+    private static Book book(Long id, String title, String author, int year) {
+        Book book = new Book(title, author, year);
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+}
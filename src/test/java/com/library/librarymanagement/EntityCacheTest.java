@@ -0,0 +1,194 @@
+package com.library.librarymanagement;
+
+import com.library.librarymanagement.cache.EntityCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link EntityCache}.
+ * <p>
+ * Plain {@link Long} values stand in for entities, each being its own ID, and
+ * loaders count how many times the "database" is queried.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>by-ID hits, misses and invalidation</li>
+ *     <li>page invalidation limited to the pages covering the written ID</li>
+ *     <li>loads racing with a write are not cached</li>
+ *     <li>encodings reused per version, never returned for another version</li>
+ *     <li>versions known without loading, dropped by writes</li>
+ * </ul>
+ */
+class EntityCacheTest {
+
+    private EntityCache<Long> cache;
+    private AtomicInteger loads;
+
+    /**
+     * Creates an empty cache before every test.
+     */
+    @BeforeEach
+    void setup() {
+        cache = new EntityCache<>("test", id -> id, 100, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Verifies that lookups, including misses, are cached until the ID is written.
+     */
+    @Test
+    @DisplayName("Cache per ID invalidata dalla scrittura")
+    void cachesLookupsUntilWritten() {
+        cache.findById(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.findById(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        assertThat(loads).hasValue(1);
+
+        cache.saved(1L);
+
+        assertThat(cache.findById(1L, id -> { loads.incrementAndGet(); return Optional.of(id); })).contains(1L);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.byIdStats().hitCount()).isEqualTo(1);
+    }
+
+    /**
+     * Caches two full pages and the last partial page, then verifies that only
+     * the pages whose ID range contains the written ID are reloaded.
+     */
+    @Test
+    @DisplayName("Invalida solo le pagine che contengono l'ID")
+    void evictsOnlyCoveringPages() {
+        cache.page(0, 2, loader(List.of(1L, 2L)));
+        cache.page(2, 2, loader(List.of(3L, 4L)));
+        cache.page(4, 2, loader(List.of(5L)));
+        assertThat(loads).hasValue(3);
+
+        cache.saved(3L);
+        cache.page(0, 2, loader(List.of(1L, 2L)));
+        cache.page(2, 2, loader(List.of(3L, 4L)));
+        cache.page(4, 2, loader(List.of(5L)));
+        assertThat(loads).hasValue(4);
+
+        cache.saved(9L);
+        cache.page(0, 2, loader(List.of(1L, 2L)));
+        cache.page(2, 2, loader(List.of(3L, 4L)));
+        cache.page(4, 2, loader(List.of(5L, 9L)));
+        assertThat(loads).hasValue(5);
+    }
+
+    /**
+     * Caches the same range with and without a filter, then verifies that the pages are
+     * kept apart and that a write in the range evicts both.
+     */
+    @Test
+    @DisplayName("Pagine filtrate memorizzate separatamente")
+    void cachesFilteredPagesSeparately() {
+        cache.page(0, 2, loader(List.of(1L, 2L)));
+        assertThat(cache.page("year=2000", 0, 2, loader(List.of(2L)))).containsExactly(2L);
+        cache.page("year=2000", 0, 2, loader(List.of(2L)));
+        assertThat(loads).hasValue(2);
+
+        cache.saved(7L);
+        cache.page(0, 2, loader(List.of(1L, 2L)));
+        cache.page("year=2000", 0, 2, loader(List.of(2L, 7L)));
+        assertThat(loads).hasValue(3);
+    }
+
+    /**
+     * Reports a write while a lookup is being loaded, as a concurrent request would, and
+     * verifies that the possibly stale result is returned but not cached.
+     */
+    @Test
+    @DisplayName("Non memorizza un caricamento concorrente a una scrittura")
+    void discardsLoadsRacingWithWrites() {
+        Optional<Long> loaded = cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            cache.saved(1L);
+            return Optional.empty();
+        });
+        assertThat(loaded).isEmpty();
+
+        assertThat(cache.findById(1L, id -> { loads.incrementAndGet(); return Optional.of(id); })).contains(1L);
+        assertThat(cache.findById(1L, id -> { loads.incrementAndGet(); return Optional.of(id); })).contains(1L);
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Verifies that an encoding is reused for the same version only, that an encoding of an
+     * older version does not replace a newer one, and that a write drops it.
+     */
+    @Test
+    @DisplayName("Codifica riutilizzata solo per la stessa versione")
+    void reusesEncodingsOfSameVersion() {
+        EntityCache<Item> items = new EntityCache<>("items", Item::id, Item::version, 100, 100, 1024,
+                Duration.ofMinutes(1));
+        Function<Item, byte[]> encoder = item -> {
+            loads.incrementAndGet();
+            return (item.id() + "@" + item.version()).getBytes(StandardCharsets.UTF_8);
+        };
+
+        assertThat(items.encoded(new Item(1L, 1L), encoder)).asString().isEqualTo("1@1");
+        assertThat(items.encoded(new Item(1L, 1L), encoder)).asString().isEqualTo("1@1");
+        assertThat(loads).hasValue(1);
+
+        assertThat(items.encoded(new Item(1L, 2L), encoder)).asString().isEqualTo("1@2");
+        assertThat(items.encoded(new Item(1L, 1L), encoder)).asString().isEqualTo("1@1");
+        assertThat(items.encoded(new Item(1L, 2L), encoder)).asString().isEqualTo("1@2");
+        assertThat(loads).hasValue(3);
+
+        items.deleted(1L);
+        items.encoded(new Item(1L, 2L), encoder);
+        assertThat(loads).hasValue(4);
+
+        items.encoded(new Item(2L, null), encoder);
+        items.encoded(new Item(2L, null), encoder);
+        assertThat(loads).hasValue(6);
+    }
+
+    /**
+     * Verifies that the version of an entity is known once it has been looked up, for more
+     * entities than the by-ID region holds, and forgotten when it is written.
+     */
+    @Test
+    @DisplayName("Versione nota senza caricare l'entità")
+    void keepsVersionsOfLookedUpEntities() {
+        EntityCache<Item> items = new EntityCache<>("items", Item::id, Item::version, 1, 100, 1024,
+                Duration.ofMinutes(1));
+        assertThat(items.version(1L)).isEmpty();
+
+        items.findById(1L, id -> Optional.of(new Item(id, 3L)));
+        items.findById(2L, id -> Optional.of(new Item(id, 5L)));
+        items.findById(3L, id -> Optional.empty());
+
+        assertThat(items.version(1L)).contains(3L);
+        assertThat(items.version(2L)).contains(5L);
+        assertThat(items.version(3L)).isEmpty();
+
+        items.saved(new Item(1L, 4L));
+        assertThat(items.version(1L)).isEmpty();
+        assertThat(items.version(2L)).contains(5L);
+    }
+
+    private Supplier<List<Long>> loader(List<Long> content) {
+        return () -> {
+            loads.incrementAndGet();
+            return content;
+        };
+    }
+
+    /**
+     * A versioned entity.
+     */
+    private record Item(Long id, Long version) {
+    }
+}
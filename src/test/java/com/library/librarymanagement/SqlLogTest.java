@@ -0,0 +1,131 @@
+package com.library.librarymanagement;
+
+import com.library.librarymanagement.jdbc.SqlFingerprint;
+import com.library.librarymanagement.jdbc.SqlLog;
+import com.library.librarymanagement.jdbc.SqlLoggingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for {@link SqlLog}, {@link SqlFingerprint} and {@link SqlLoggingDataSource}.
+ * <p>
+ * Entries are collected by a list sink instead of being logged; the data source tests run
+ * against a private in-memory H2 database.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>fingerprints without literal values</li>
+ *     <li>slow statements logged even when not sampled</li>
+ *     <li>sampled entries dropped, slow ones kept, when the buffer is full</li>
+ *     <li>row counts of queries and batched updates</li>
+ * </ul>
+ */
+class SqlLogTest {
+
+    private final List<SqlLog.Entry> entries = new CopyOnWriteArrayList<>();
+
+    /**
+     * Verifies that literals and parameter lists are replaced, and identifiers kept.
+     */
+    @Test
+    @DisplayName("Fingerprint senza valori letterali")
+    void fingerprintsHideValues() {
+        assertThat(SqlFingerprint.of("select b1_0.id from book b1_0\n  where b1_0.title = 'L''isola'  and b1_0.publication_year>1980"))
+                .isEqualTo("select b1_0.id from book b1_0 where b1_0.title = ? and b1_0.publication_year>?");
+        assertThat(SqlFingerprint.of("select a1_0.id from author a1_0 where a1_0.id in (?,?, ?)"))
+                .isEqualTo("select a1_0.id from author a1_0 where a1_0.id in (?, ...)");
+        assertThat(SqlFingerprint.of("select next value for book_seq")).isEqualTo("select next value for book_seq");
+    }
+
+    /**
+     * Verifies that unsampled statements are only logged over the threshold, and that a full
+     * buffer drops sampled statements but not slow ones.
+     */
+    @Test
+    @DisplayName("Le query lente sono sempre registrate")
+    void logsSlowStatementsWhenFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (SqlLog sqlLog = new SqlLog(1, Duration.ofMillis(100), 1, entry -> {
+            entries.add(entry);
+            if (entry.fingerprint().equals("first")) {
+                blocked.countDown();
+                awaitQuietly(release);
+            }
+        })) {
+            sqlLog.record("first", 0, 1, 1, true);
+            blocked.await();
+            sqlLog.record("queued", 0, 1, 1, true);
+            sqlLog.record("dropped", 0, 1, 1, true);
+            sqlLog.record("slow", Duration.ofMillis(150).toNanos(), 1, 1, false);
+            sqlLog.record("fast", Duration.ofMillis(50).toNanos(), 1, 1, false);
+            release.countDown();
+            await().until(() -> sqlLog.written() == 3);
+
+            assertThat(entries).extracting(SqlLog.Entry::fingerprint).containsExactlyInAnyOrder("first", "slow", "queued");
+            assertThat(entries).filteredOn(SqlLog.Entry::slow).extracting(SqlLog.Entry::fingerprint).containsExactly("slow");
+            assertThat(sqlLog.dropped()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Verifies the row counts reported for a batched insert and for the query reading it back.
+     */
+    @Test
+    @DisplayName("Righe lette e scritte dalle query registrate")
+    void countsRows() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqllog");
+        try (SqlLog sqlLog = new SqlLog(1, Duration.ofMinutes(1), 100, entries::add);
+             Connection connection = new SqlLoggingDataSource(h2, sqlLog).getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table book (id bigint primary key, title varchar(255))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into book values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "Titolo " + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("select id from book where id > ?")) {
+                select.setLong(1, 1);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        assertThat(rows.getLong(1)).isGreaterThan(1);
+                    }
+                }
+            }
+            await().until(() -> sqlLog.written() == 3);
+        }
+
+        assertThat(entries).extracting(SqlLog.Entry::fingerprint, SqlLog.Entry::rows, SqlLog.Entry::statements)
+                .containsExactly(
+                        tuple("create table book (id bigint primary key, title varchar(?))", 0L, 1),
+                        tuple("insert into book values (?, ...)", 3L, 3),
+                        tuple("select id from book where id > ?", 2L, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.library.librarymanagement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.config.CacheConfig;
 import com.library.librarymanagement.controller.UserController;
 import com.library.librarymanagement.entity.User;
 import com.library.librarymanagement.repository.UserRepository;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.PatchService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +41,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <h2>Scope</h2>
  * <ul>
  *     <li>GET /users — list users</li>
+ *     <li>GET /users/{id} — get a user (cached)</li>
+ *     <li>GET /users/{id} — 304 on a current {@code If-None-Match}, without a lookup</li>
  *     <li>POST /users — create a user</li>
  *     <li>PUT /users/{id} — update a user</li>
  *     <li>DELETE /users/{id} — delete a user</li>
@@ -47,6 +57,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * </p>
  */
 @WebMvcTest(UserController.class)
+@Import(CacheConfig.class)
 class UserControllerTest {
 
     @Autowired
@@ -55,9 +66,26 @@ class UserControllerTest {
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private BatchInsertService batchInsertService;
+
+    @MockitoBean
+    private PatchService patchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityCache<User> userCache;
+
+    /**
+     * Empties the read cache, which outlives the mocks between test cases.
+     */
+    @BeforeEach
+    void setup() {
+        userCache.clear();
+    }
+
     /**
      * Retrieves all users via GET request and verifies:
      * <ul>
@@ -75,7 +103,7 @@ class UserControllerTest {
                 new User("Mario Rossi", "mario.rossi@example.com"),
                 new User("Laura Bianchi", "laura.bianchi@example.com")
         );
-        Mockito.when(userRepository.findAll()).thenReturn(users);
+        Mockito.when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(users);
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -84,6 +112,98 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].email", is("laura.bianchi@example.com")));
     }
 
+    /**
+     * Looks a user up by email and verifies that the lookup goes through the email finder
+     * and returns a one-element list.
+     *
+     * @throws Exception if MockMvc execution fails
+     */
+    @Test
+    @DisplayName("GET /users?email= - cerca utente per email")
+    void getUserByEmail() throws Exception {
+        User user = new User("Mario Rossi", "mario.rossi@example.com");
+        ReflectionTestUtils.setField(user, "id", 5L);
+        Mockito.when(userRepository.findByEmail("mario.rossi@example.com")).thenReturn(Optional.of(user));
+
+        mockMvc.perform(get("/users").param("email", "mario.rossi@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(5)));
+
+        Mockito.verify(userRepository, Mockito.never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    /**
+     * Retrieves a user by ID twice and verifies:
+     * <ul>
+     *     <li>the user is returned as JSON</li>
+     *     <li>the second request is served from the cache</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc execution fails
+     */
+    @Test
+    @DisplayName("GET /users/{id} - restituisce l'utente dalla cache")
+    void getUserIsCached() throws Exception {
+        Long id = 3L;
+        Mockito.when(userRepository.findById(eq(id)))
+                .thenReturn(Optional.of(new User("Anna Neri", "anna.neri@example.com")));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/users/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name", is("Anna Neri")));
+        }
+
+        Mockito.verify(userRepository, Mockito.times(1)).findById(eq(id));
+    }
+
+    /**
+     * Retrieves a user, then revalidates it and verifies:
+     * <ul>
+     *     <li>a request carrying its {@code ETag} is answered with 304</li>
+     *     <li>the 304 is answered without calling the repository</li>
+     *     <li>a request carrying an older tag gets the user</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc execution fails
+     */
+    @Test
+    @DisplayName("GET /users/{id} - 304 senza interrogare il repository")
+    void getUserNotModified() throws Exception {
+        Mockito.when(userRepository.findById(eq(4L)))
+                .thenReturn(Optional.of(new User(4L, "Anna Neri", "anna.neri@example.com", 2L)));
+
+        mockMvc.perform(get("/users/{id}", 4L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+        Mockito.clearInvocations(userRepository);
+
+        mockMvc.perform(get("/users/{id}", 4L).header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(content().string(""));
+        Mockito.verify(userRepository, Mockito.never()).findById(any());
+
+        mockMvc.perform(get("/users/{id}", 4L).header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Anna Neri")));
+    }
+
+    /**
+     * Retrieves a missing user by ID and verifies that 404 is returned.
+     *
+     * @throws Exception if MockMvc execution fails
+     */
+    @Test
+    @DisplayName("GET /users/{id} - 404 se l'utente non esiste")
+    void getMissingUser() throws Exception {
+        Mockito.when(userRepository.findById(eq(99L))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/users/{id}", 99L))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Creates a new user via POST request and verifies:
      * <ul>
@@ -153,6 +273,6 @@ class UserControllerTest {
         mockMvc.perform(delete("/users/{id}", id))
                 .andExpect(status().isOk());
 
-        Mockito.verify(userRepository).deleteById(eq(id));
+        Mockito.verify(userRepository).deleteRowById(eq(id));
     }
 }
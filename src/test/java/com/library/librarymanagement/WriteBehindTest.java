@@ -0,0 +1,255 @@
+package com.library.librarymanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.AuthorLinkService;
+import com.library.librarymanagement.service.BatchInsertService;
+import com.library.librarymanagement.service.BatchItemResult;
+import com.library.librarymanagement.service.BookIngestStatus;
+import com.library.librarymanagement.service.BookViews;
+import com.library.librarymanagement.service.BookWriteBehind;
+import com.library.librarymanagement.service.WriteBehindJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link BookWriteBehind} and {@link WriteBehindJournal}.
+ * <p>
+ * The writer stores books through a mocked {@link BatchInsertService}, which the tests can hold
+ * back; journal tests write a journal in a temporary directory, close it and open it again, as
+ * the application does across a restart.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>accepted books are stored in batches and their outcome tracked</li>
+ *     <li>a full buffer rejects new books until the writer catches up</li>
+ *     <li>books are stored again, and kept in the journal, while the database is unreachable</li>
+ *     <li>accepted books not yet handled are read back, in order, when the writer starts</li>
+ *     <li>the file is emptied once every book is handled</li>
+ *     <li>a record cut short by a crash is skipped</li>
+ * </ul>
+ */
+class WriteBehindTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BatchInsertService batchInsertService = mock(BatchInsertService.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writerHeld = new CountDownLatch(1);
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+
+    @TempDir
+    private Path dir;
+
+    /**
+     * Holds the writer in its first batch, fills the buffer, verifies that one more book is
+     * rejected, then releases the writer and verifies the outcome of every book.
+     */
+    @Test
+    @DisplayName("Buffer pieno: rifiuta finché il writer non recupera")
+    void rejectsWhenFullThenStores() throws Exception {
+        doAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(1);
+            Consumer<BatchItemResult> results = invocation.getArgument(4);
+            batchSizes.add(books.size());
+            writerHeld.countDown();
+            writerReleased.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < books.size(); i++) {
+                results.accept(books.get(i).getTitle().isEmpty()
+                        ? BatchItemResult.failed(i, "title must not be empty")
+                        : BatchItemResult.created(i, 100L + i));
+            }
+            return null;
+        }).when(batchInsertService).insertAll(any(), anyList(), any(), any(), any());
+
+        try (BookWriteBehind writeBehind = new BookWriteBehind(mock(BookRepository.class), batchInsertService,
+                mock(AuthorLinkService.class), mock(BookViews.class), null,
+                3, 10, Duration.ZERO, Duration.ofMinutes(1), 100, Duration.ofSeconds(10))) {
+            writeBehind.start();
+            String first = writeBehind.submit(new Book("Il barone rampante", "Italo Calvino", 1957))
+                    .orElseThrow().trackingId();
+            assertThat(writerHeld.await(10, TimeUnit.SECONDS)).isTrue();
+            String second = writeBehind.submit(new Book("Il nome della rosa", "Umberto Eco", 1980))
+                    .orElseThrow().trackingId();
+            String third = writeBehind.submit(new Book("", "Cesare Pavese", 1950))
+                    .orElseThrow().trackingId();
+            assertThat(writeBehind.submit(new Book("Se una notte d'inverno", "Italo Calvino", 1979))).isEmpty();
+            assertThat(writeBehind.backlog()).isEqualTo(3);
+            assertThat(writeBehind.status(second)).get()
+                    .extracting(BookIngestStatus::state).isEqualTo(BookIngestStatus.State.QUEUED);
+
+            writerReleased.countDown();
+            await().atMost(Duration.ofSeconds(10)).until(() -> writeBehind.backlog() == 0);
+            assertThat(writeBehind.status(first)).contains(BookIngestStatus.created(first, 100L));
+            assertThat(writeBehind.status(second)).contains(BookIngestStatus.created(second, 100L));
+            assertThat(writeBehind.status(third))
+                    .contains(BookIngestStatus.failed(third, "title must not be empty"));
+            assertThat(writeBehind.status("unknown")).isEmpty();
+            assertThat(batchSizes).containsExactly(1, 2);
+        }
+    }
+
+    /**
+     * Makes the database unreachable when the second book is stored, and verifies that only that
+     * book is stored again, and that the journal is emptied once it is.
+     */
+    @Test
+    @DisplayName("Database irraggiungibile: il batch viene ritentato")
+    void retriesWhileDatabaseIsUnreachable() throws Exception {
+        List<String> attempts = new CopyOnWriteArrayList<>();
+        AtomicBoolean unreachable = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(1);
+            Consumer<BatchItemResult> results = invocation.getArgument(4);
+            for (int i = 0; i < books.size(); i++) {
+                String title = books.get(i).getTitle();
+                attempts.add(title);
+                if (title.equals("Il nome della rosa") && unreachable.getAndSet(false)) {
+                    throw new DataAccessResourceFailureException("Database unavailable");
+                }
+                results.accept(BatchItemResult.created(i, title.equals("Il nome della rosa") ? 2L : 1L));
+            }
+            return null;
+        }).when(batchInsertService).insertAll(any(), anyList(), any(), any(), any());
+
+        Path file = dir.resolve("write-behind.journal");
+        WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper);
+        try (BookWriteBehind writeBehind = new BookWriteBehind(mock(BookRepository.class), batchInsertService,
+                mock(AuthorLinkService.class), mock(BookViews.class), journal,
+                3, 10, Duration.ZERO, Duration.ofMinutes(1), 100, Duration.ofSeconds(10))) {
+            writeBehind.start();
+            String first = writeBehind.submit(new Book("Il barone rampante", "Italo Calvino", 1957))
+                    .orElseThrow().trackingId();
+            String second = writeBehind.submit(new Book("Il nome della rosa", "Umberto Eco", 1980))
+                    .orElseThrow().trackingId();
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> writeBehind.backlog() == 0);
+            assertThat(writeBehind.status(first)).contains(BookIngestStatus.created(first, 1L));
+            assertThat(writeBehind.status(second)).contains(BookIngestStatus.created(second, 2L));
+            assertThat(attempts).containsExactly("Il barone rampante", "Il nome della rosa", "Il nome della rosa");
+            assertThat(Files.size(file)).isZero();
+        }
+    }
+
+    /**
+     * Verifies that the books left in the journal are resubmitted when the writer is started,
+     * not when it is created.
+     */
+    @Test
+    @DisplayName("Il journal viene riletto all'avvio del writer")
+    void resubmitsJournalOnStart() throws Exception {
+        List<String> stored = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(1);
+            Consumer<BatchItemResult> results = invocation.getArgument(4);
+            for (int i = 0; i < books.size(); i++) {
+                stored.add(books.get(i).getTitle());
+                results.accept(BatchItemResult.created(i, 1L + i));
+            }
+            return null;
+        }).when(batchInsertService).insertAll(any(), anyList(), any(), any(), any());
+        Path file = dir.resolve("write-behind.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            journal.accepted("a", new Book("Il barone rampante", "Italo Calvino", 1957));
+        }
+
+        try (BookWriteBehind writeBehind = new BookWriteBehind(mock(BookRepository.class), batchInsertService,
+                mock(AuthorLinkService.class), mock(BookViews.class),
+                new WriteBehindJournal(file, false, objectMapper),
+                3, 10, Duration.ZERO, Duration.ofMinutes(1), 100, Duration.ofSeconds(10))) {
+            assertThat(writeBehind.backlog()).isZero();
+            assertThat(writeBehind.status("a")).isEmpty();
+
+            writeBehind.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> writeBehind.backlog() == 0);
+            assertThat(writeBehind.status("a")).contains(BookIngestStatus.created("a", 1L));
+            assertThat(stored).containsExactly("Il barone rampante");
+        }
+    }
+
+    /**
+     * Accepts three books, handles one, and verifies that the other two are pending after
+     * reopening.
+     */
+    @Test
+    @DisplayName("I libri non ancora scritti vengono riletti")
+    void readsBackOutstandingBooks() throws Exception {
+        Path file = dir.resolve("write-behind.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, true, objectMapper)) {
+            assertThat(journal.pending()).isEmpty();
+            journal.accepted("a", new Book("Il barone rampante", "Italo Calvino", 1957));
+            journal.accepted("b", new Book("Il nome della rosa", "Umberto Eco", 1980));
+            journal.accepted("c", new Book("La luna e i falò", "Cesare Pavese", 1950));
+            journal.completed(List.of("b"));
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            assertThat(journal.pending())
+                    .extracting(WriteBehindJournal.Entry::trackingId, entry -> entry.book().getTitle())
+                    .containsExactly(tuple("a", "Il barone rampante"), tuple("c", "La luna e i falò"));
+        }
+    }
+
+    /**
+     * Verifies that the file is truncated when the last outstanding book is handled, including
+     * the books read back at startup.
+     */
+    @Test
+    @DisplayName("Il journal si svuota quando tutto è scritto")
+    void truncatesWhenNothingIsOutstanding() throws Exception {
+        Path file = dir.resolve("write-behind.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            journal.accepted("a", new Book("Il barone rampante", "Italo Calvino", 1957));
+            journal.accepted("b", new Book("Il nome della rosa", "Umberto Eco", 1980));
+            journal.completed(List.of("a", "b"));
+            assertThat(Files.size(file)).isZero();
+            journal.accepted("c", new Book("La luna e i falò", "Cesare Pavese", 1950));
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            assertThat(journal.pending()).extracting(WriteBehindJournal.Entry::trackingId).containsExactly("c");
+            journal.completed(List.of("c"));
+            assertThat(Files.size(file)).isZero();
+        }
+    }
+
+    /**
+     * Appends half a record, as left by a crash in the middle of a write, and verifies that only
+     * the complete records are read back.
+     */
+    @Test
+    @DisplayName("Un record incompleto viene ignorato")
+    void skipsTornRecord() throws Exception {
+        Path file = dir.resolve("write-behind.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            journal.accepted("a", new Book("Il barone rampante", "Italo Calvino", 1957));
+        }
+        Files.writeString(file, "A b {\"title\":\"Il nome", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(file, false, objectMapper)) {
+            assertThat(journal.pending()).extracting(WriteBehindJournal.Entry::trackingId).containsExactly("a");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.library.librarymanagement.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the admission control in front of the controllers.
+ * <p>
+ * The application runs with a per-client rate of one request every ten seconds and a burst of
+ * three, so the limit is reached by a handful of requests. Clients are told apart by the remote
+ * address of the request.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>a client over its rate gets 429 with {@code Retry-After}, other clients do not</li>
+ *     <li>actuator endpoints are not limited</li>
+ *     <li>rejections and the concurrency limit are exposed as metrics</li>
+ * </ul>
+ */
+@SpringBootTest(properties = {
+        "library.admission.rate-limit.requests-per-second=0.1",
+        "library.admission.rate-limit.burst=3"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class AdmissionControlIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Sends four requests from one client, one from another, then scrapes the metrics from the
+     * first client.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /users - 429 oltre il limite del client")
+    void limitsEachClient() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(from("192.0.2.1", "/users")).andExpect(status().isOk());
+        }
+        mockMvc.perform(from("192.0.2.1", "/users"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", matchesPattern("10|9")));
+        mockMvc.perform(from("192.0.2.2", "/users")).andExpect(status().isOk());
+
+        mockMvc.perform(from("192.0.2.1", "/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "library_admission_rejected_total{application=\"library-management\",reason=\"rate-limit\"} 1.0")))
+                .andExpect(content().string(containsString(
+                        "library_admission_rejected_total{application=\"library-management\",reason=\"concurrency\"} 0.0")))
+                .andExpect(content().string(containsString("library_admission_concurrency_limit")))
+                .andExpect(content().string(containsString("library_admission_clients")));
+    }
+
+    private static MockHttpServletRequestBuilder from(String address, String path) {
+        return get(path).with(request -> {
+            request.setRemoteAddr(address);
+            return request;
+        });
+    }
+}
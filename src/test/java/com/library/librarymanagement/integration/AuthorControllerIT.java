@@ -2,7 +2,9 @@ package com.library.librarymanagement.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
 import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,8 +32,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <ul>
  *     <li>POST /authors — create an author</li>
  *     <li>GET  /authors — list authors</li>
+ *     <li>POST /authors/batch — bulk create authors</li>
+ *     <li>author creations link the existing books carrying their names</li>
  *     <li>PUT  /authors/{id} — update author</li>
  *     <li>DELETE /authors/{id} — delete author</li>
+ *     <li>GET  /authors/{id}/books — books linked to an author, following renames and deletes</li>
  * </ul>
  *
  * <p>
@@ -48,6 +57,9 @@ class AuthorControllerIT {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,6 +69,7 @@ class AuthorControllerIT {
      */
     @BeforeEach
     void setup() {
+        bookRepository.deleteAll();
         authorRepository.deleteAll();
     }
 
@@ -85,6 +98,33 @@ class AuthorControllerIT {
                 .andExpect(jsonPath("$[0].name").value("Primo Levi"));
     }
 
+    /**
+     * Integration test that creates several authors via POST /authors/batch and verifies
+     * that every author is reported as created with its generated ID and is persisted.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("POST /authors/batch - crea autori in blocco")
+    void createAuthorsInBatch() throws Exception {
+        List<Author> authors = List.of(
+                new Author("Italo Calvino", "Italiana"),
+                new Author("Elsa Morante", "Italiana"),
+                new Author("Jorge Luis Borges", "Argentina")
+        );
+
+        mockMvc.perform(post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authors)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[2].status").value("CREATED"))
+                .andExpect(jsonPath("$[2].id").isNumber());
+
+        assertThat(authorRepository.count()).isEqualTo(3);
+    }
+
     /**
      * Integration test that updates an existing author via PUT and verifies both
      * HTTP response and persisted state in the repository.
@@ -133,4 +173,111 @@ class AuthorControllerIT {
         // Verify the repository no longer contains the entity
         assertThat(authorRepository.findById(id)).isEmpty();
     }
+
+    /**
+     * Creates books before and after their author, then verifies that:
+     * <ul>
+     *     <li>creating the author links the existing books carrying its name</li>
+     *     <li>books created afterwards are linked on creation</li>
+     *     <li>books of other authors are not returned</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /authors/{id}/books - libri collegati all'autore")
+    void listBooksOfAuthor() throws Exception {
+        Book before = bookRepository.save(new Book("Se questo è un uomo", "Primo Levi", 1947));
+        bookRepository.save(new Book("Il barone rampante", "Italo Calvino", 1957));
+
+        String response = mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Author("Primo Levi", "Italiana"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long authorId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("La tregua", "Primo Levi", 1963))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorId").value(authorId));
+
+        mockMvc.perform(get("/authors/{id}/books", authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Se questo è un uomo"))
+                .andExpect(jsonPath("$[1].title").value("La tregua"));
+
+        mockMvc.perform(get("/books/{id}", before.getId()))
+                .andExpect(jsonPath("$.authorId").value(authorId));
+        mockMvc.perform(get("/authors/{id}/books", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Creates authors one by one and in a batch, verifying that the books already carrying
+     * their names are linked by the same request.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("POST /authors e /authors/batch - collegano i libri esistenti")
+    void creationLinksExistingBooks() throws Exception {
+        Book single = bookRepository.save(new Book("La tregua", "Primo Levi", 1963));
+        Book batched = bookRepository.save(new Book("La storia", "Elsa Morante", 1974));
+
+        Long levi = objectMapper.readTree(mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Author("Primo Levi", "Italiana"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+        Long morante = objectMapper.readTree(mockMvc.perform(post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new Author("Elsa Morante", "Italiana")))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get(0).get("id").asLong();
+
+        mockMvc.perform(get("/books/{id}", single.getId()))
+                .andExpect(jsonPath("$.authorId").value(levi));
+        mockMvc.perform(get("/books/{id}", batched.getId()))
+                .andExpect(jsonPath("$.authorId").value(morante));
+    }
+
+    /**
+     * Renames an author and then deletes it, verifying that its books follow: the new name is
+     * copied to them, and the deletion leaves them unlinked but in place.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PUT + DELETE /authors/{id} - i libri seguono l'autore")
+    void booksFollowAuthorChanges() throws Exception {
+        Author author = authorRepository.save(new Author("Italo Calvino", "Italiana"));
+        String response = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("Le città invisibili", "Italo Calvino", 1972))))
+                .andExpect(jsonPath("$.authorId").value(author.getId()))
+                .andReturn().getResponse().getContentAsString();
+        Book book = objectMapper.readValue(response, Book.class);
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.author").value("Italo Calvino"));
+
+        mockMvc.perform(put("/authors/{id}", author.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Author("I. Calvino", "Italiana"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.author").value("I. Calvino"))
+                .andExpect(jsonPath("$.authorId").value(author.getId()));
+        mockMvc.perform(get("/books/search").param("q", "calvino"))
+                .andExpect(jsonPath("$[0].author").value("I. Calvino"));
+
+        mockMvc.perform(delete("/authors/{id}", author.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author").value("I. Calvino"))
+                .andExpect(jsonPath("$.authorId").value(nullValue()));
+    }
 }
@@ -0,0 +1,73 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.config.AuthorLinkMigration;
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AuthorLinkMigration}.
+ * <p>
+ * These tests simulate books stored before the {@code author_id} column existed, and verify
+ * that they are linked to the authors matching their author names.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>books linked to the author with the same name, the lowest ID on duplicates</li>
+ *     <li>books without a matching author left unlinked</li>
+ *     <li>a second run changes nothing</li>
+ * </ul>
+ */
+@SpringBootTest
+class AuthorLinkMigrationIT {
+
+    @Autowired
+    private AuthorLinkMigration migration;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ensure clean repositories before every test case.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    /**
+     * Inserts unlinked books with plain SQL, as an older version of the application stored
+     * them, and runs the migration twice.
+     */
+    @Test
+    @DisplayName("Collega i libri esistenti agli autori per nome")
+    void linksBooksByAuthorName() {
+        Long levi = authorRepository.save(new Author("Primo Levi", "Italiana")).getId();
+        authorRepository.save(new Author("Primo Levi", "Italiana"));
+        jdbcTemplate.update("INSERT INTO book (id, title, author, publication_year) VALUES (?, ?, ?, ?)",
+                1_000_001L, "La chiave a stella", "Primo Levi", 1978);
+        jdbcTemplate.update("INSERT INTO book (id, title, author, publication_year) VALUES (?, ?, ?, ?)",
+                1_000_002L, "Opere", "Anonimo", 1900);
+
+        assertThat(migration.migrate()).isEqualTo(1);
+        assertThat(migration.migrate()).isZero();
+
+        assertThat(bookRepository.findById(1_000_001L).orElseThrow().getAuthorId()).isEqualTo(levi);
+        assertThat(bookRepository.findById(1_000_002L).orElseThrow().getAuthorId()).isNull();
+    }
+}
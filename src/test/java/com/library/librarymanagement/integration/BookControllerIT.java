@@ -3,6 +3,10 @@ package com.library.librarymanagement.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.librarymanagement.entity.Book;
 import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.BookViews;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,8 +15,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,8 +34,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <ul>
  *     <li>POST /books — create a book</li>
  *     <li>GET  /books — list books</li>
+ *     <li>GET  /books?after=&amp;limit= — keyset pagination</li>
+ *     <li>GET  /books?author=, ?year=, ?titlePrefix= — filtered pages</li>
+ *     <li>GET  /books/export — NDJSON export</li>
+ *     <li>GET  /books/search?q= — full-text search</li>
+ *     <li>GET  /books/stats — counts per year and per author</li>
  *     <li>PUT  /books/{id} — update book</li>
  *     <li>DELETE /books/{id} — delete book</li>
+ *     <li>DELETE /books?ids=, ?author= — bulk delete</li>
  * </ul>
  *
  * <p>
@@ -51,6 +65,12 @@ class BookControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BookViews bookViews;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     /**
      * Ensure a clean repository before every test case to avoid interference
      * between test executions.
@@ -87,6 +107,199 @@ class BookControllerIT {
                 .andExpect(jsonPath("$[0].title").value("Il nome della rosa"));
     }
 
+    /**
+     * Walks the catalogue with keyset pagination and verifies:
+     * <ul>
+     *     <li>a full page carries a {@code Link} header to the next page</li>
+     *     <li>the next page starts after the last ID of the previous one</li>
+     *     <li>the last page carries no {@code Link} header</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books?after=&limit= - paginazione a cursore")
+    void pageThroughBooks() throws Exception {
+        Book first = bookRepository.save(new Book("Primo", "A", 2001));
+        Book second = bookRepository.save(new Book("Secondo", "B", 2002));
+        bookRepository.save(new Book("Terzo", "C", 2003));
+
+        mockMvc.perform(get("/books").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(header().string("Link", containsString("after=" + second.getId())));
+
+        mockMvc.perform(get("/books").param("after", second.getId().toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Terzo"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    /**
+     * Filters the catalogue by author, year and title prefix and verifies:
+     * <ul>
+     *     <li>each filter returns only the matching books, in ID order</li>
+     *     <li>the {@code Link} header of a full page keeps the filter</li>
+     *     <li>wildcards in the title prefix are matched literally</li>
+     *     <li>a cached filtered page reflects a later update of a book</li>
+     *     <li>combining filters is rejected with 400</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books?author=&year=&titlePrefix= - filtri su indice")
+    void filterBooks() throws Exception {
+        Book baudolino = bookRepository.save(new Book("Baudolino", "Filtro Eco", 2000));
+        Book numeroZero = bookRepository.save(new Book("Numero zero", "Filtro Eco", 2015));
+        bookRepository.save(new Book("Baol", "Filtro Benni", 1990));
+        bookRepository.save(new Book("100% Baudo", "Filtro Benni", 2000));
+
+        mockMvc.perform(get("/books?author={author}&limit=1", "Filtro Eco"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(baudolino.getId()))
+                .andExpect(header().string("Link", containsString("author=Filtro%20Eco")));
+        mockMvc.perform(get("/books").param("author", "Filtro Eco").param("after", baudolino.getId().toString()))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(numeroZero.getId()));
+
+        mockMvc.perform(get("/books").param("year", "2000"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Baudolino"))
+                .andExpect(jsonPath("$[1].title").value("100% Baudo"));
+
+        mockMvc.perform(get("/books").param("titlePrefix", "Ba"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Baudolino"))
+                .andExpect(jsonPath("$[1].title").value("Baol"));
+        mockMvc.perform(get("/books").param("titlePrefix", "1_0%"))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        numeroZero.setPublicationYear(2000);
+        mockMvc.perform(put("/books/{id}", numeroZero.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(numeroZero)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books").param("year", "2000"))
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/books").param("author", "Filtro Eco").param("year", "2000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Exports the catalogue via GET request and verifies:
+     * <ul>
+     *     <li>the response is served as {@code application/x-ndjson}</li>
+     *     <li>every book is written on its own line, in ID order</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/export - esporta il catalogo in NDJSON")
+    void exportBooks() throws Exception {
+        bookRepository.save(new Book("Il nome della rosa", "Umberto Eco", 1980));
+        bookRepository.save(new Book("Norwegian Wood", "Haruki Murakami", 1987));
+
+        MvcResult started = mockMvc.perform(get("/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Book.class).getTitle()).isEqualTo("Il nome della rosa");
+        assertThat(objectMapper.readValue(lines[1], Book.class).getAuthor()).isEqualTo("Haruki Murakami");
+    }
+
+    /**
+     * Creates, updates and deletes books via HTTP and verifies that
+     * the full-text search reflects every change.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/search?q= - indice aggiornato a ogni modifica")
+    void searchFollowsWrites() throws Exception {
+        String created = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("Lessico famigliare", "Natalia Ginzburg", 1963))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, Book.class).getId();
+
+        mockMvc.perform(get("/books/search").param("q", "ginz lessico"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id));
+
+        mockMvc.perform(put("/books/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("Le voci della sera", "Natalia Ginzburg", 1961))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/search").param("q", "lessico ginzburg"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/books/search").param("q", "voci ginzburg"))
+                .andExpect(jsonPath("$[0].title").value("Le voci della sera"));
+
+        mockMvc.perform(delete("/books/{id}", id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/search").param("q", "voci ginzburg"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * Creates, updates and deletes books via the API and verifies that the statistics
+     * follow every write. Groups are unique to this test, so books left by other tests
+     * do not affect them.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /books/stats - conteggi aggiornati a ogni modifica")
+    void statsFollowWrites() throws Exception {
+        mockMvc.perform(post("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new Book("Statistica I", "Autore Statistiche", 1601),
+                                new Book("Statistica II", "Autore Statistiche", 1601)))))
+                .andExpect(status().isOk());
+        String created = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("Statistica III", "Autore Statistiche", 1602))))
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, Book.class).getId();
+
+        mockMvc.perform(get("/books/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byYear.1601").value(2))
+                .andExpect(jsonPath("$.byYear.1602").value(1))
+                .andExpect(jsonPath("$.byAuthor['Autore Statistiche']").value(3));
+
+        mockMvc.perform(put("/books/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Book("Statistica III", "Altro Statistiche", 1601))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/books/{id}", id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/stats"))
+                .andExpect(jsonPath("$.byYear.1601").value(2))
+                .andExpect(jsonPath("$.byYear.1602").doesNotExist())
+                .andExpect(jsonPath("$.byAuthor['Autore Statistiche']").value(2))
+                .andExpect(jsonPath("$.byAuthor['Altro Statistiche']").doesNotExist());
+    }
+
     /**
      * Updates an existing book via PUT request and verifies:
      * <ul>
@@ -135,4 +348,50 @@ class BookControllerIT {
 
         assertThat(bookRepository.findById(id)).isEmpty();
     }
+
+    /**
+     * Deletes books one at a time, by ID list and by author, and verifies:
+     * <ul>
+     *     <li>each delete by ID runs a single statement, without reading the books</li>
+     *     <li>the delete by author reads the IDs and deletes them, two statements in all</li>
+     *     <li>the deleted books leave the search index and the statistics</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("DELETE /books?ids=&author= - eliminazione con una sola istruzione")
+    void bulkDeleteBooks() throws Exception {
+        List<Book> saved = bookRepository.saveAll(List.of(
+                new Book("Cancellabile uno", "Autore Effimero", 1701),
+                new Book("Cancellabile due", "Autore Effimero", 1701),
+                new Book("Cancellabile tre", "Altro Autore", 1701),
+                new Book("Cancellabile quattro", "Altro Autore", 1701),
+                new Book("Cancellabile cinque", "Altro Autore", 1701)));
+        saved.forEach(bookViews::saved);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(delete("/books/{id}", saved.get(4).getId()))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(delete("/books?ids={a},{b},{c}", saved.get(2).getId(), saved.get(3).getId(), 999_999_999L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(delete("/books").param("author", "Autore Effimero"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(bookRepository.count()).isZero();
+        mockMvc.perform(get("/books/search").param("q", "cancellabile"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/books/stats"))
+                .andExpect(jsonPath("$.byYear.1701").doesNotExist());
+    }
 }
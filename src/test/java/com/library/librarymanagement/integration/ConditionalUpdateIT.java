@@ -0,0 +1,257 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for partial and conditional updates, and conditional reads.
+ * <p>
+ * These tests drive the {@code PATCH} endpoints, the {@code If-Match} header of {@code PUT} and
+ * the {@code If-None-Match} header of {@code GET} against the real database, and read
+ * Hibernate's statistics to verify that a patch does not read the row before updating it, and
+ * that a 304 response runs no query at all.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>GET /{resource}/{id} — ETag carrying the version</li>
+ *     <li>PATCH /books/{id} — one UPDATE, 412 on a stale {@code If-Match}, 404 on an unknown ID</li>
+ *     <li>PUT /books/{id} — 412 on a stale {@code If-Match}</li>
+ *     <li>PATCH /authors/{id} — a new name is copied to the linked books</li>
+ *     <li>PATCH /users/{id} — 409 on a duplicate email</li>
+ *     <li>GET /authors, /authors/{id} — 304 on a current {@code If-None-Match}</li>
+ * </ul>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalUpdateIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Ensure clean repositories before every test case.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Patches the title of a book and verifies:
+     * <ul>
+     *     <li>the ETag follows the version, from {@code "0"} to {@code "1"}</li>
+     *     <li>the other fields are left unchanged</li>
+     *     <li>the patch runs an UPDATE and the read-back only</li>
+     *     <li>a patch or a PUT with the old version is rejected with 412</li>
+     *     <li>a patch of an unknown ID is answered with 404</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PATCH /books/{id} - aggiorna solo i campi inviati e verifica la versione")
+    void patchBook() throws Exception {
+        Book book = bookRepository.save(new Book("Il barone rampante", "Italo Calvino", 1957));
+
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(patch("/books/{id}", book.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Il visconte dimezzato\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.title").value("Il visconte dimezzato"))
+                .andExpect(jsonPath("$.author").value("Italo Calvino"))
+                .andExpect(jsonPath("$.publicationYear").value(1957));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        mockMvc.perform(patch("/books/{id}", book.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Il cavaliere inesistente\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/books/{id}", book.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Il cavaliere inesistente\",\"author\":\"Italo Calvino\",\"publicationYear\":1959}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(bookRepository.findById(book.getId()))
+                .hasValueSatisfying(b -> assertThat(b.getTitle()).isEqualTo("Il visconte dimezzato"));
+
+        mockMvc.perform(patch("/books/{id}", book.getId() + 1000)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nessuno\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Renames an author via PATCH and verifies:
+     * <ul>
+     *     <li>the linked books carry the new name</li>
+     *     <li>a patch repeating the name leaves the books, and their ETag, unchanged</li>
+     *     <li>a book patched to the name of an author is linked to it, without a separate
+     *     read of the author</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PATCH /authors/{id} - il nuovo nome passa ai libri collegati")
+    void patchAuthorRenamesBooks() throws Exception {
+        Author author = authorRepository.save(new Author("Alberto Pincherle", "Italiana"));
+        Book book = new Book("Gli indifferenti", "Alberto Pincherle", 1929);
+        book.setAuthorRef(author);
+        book = bookRepository.save(book);
+
+        mockMvc.perform(patch("/authors/{id}", author.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alberto Moravia\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.name").value("Alberto Moravia"))
+                .andExpect(jsonPath("$.nationality").value("Italiana"));
+
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.author").value("Alberto Moravia"));
+
+        mockMvc.perform(patch("/authors/{id}", author.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alberto Moravia\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        Book other = bookRepository.save(new Book("La noia", "Anonimo", 1960));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(patch("/books/{id}", other.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"Alberto Moravia\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorId").value(author.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * Patches the email of a user to one already taken and verifies the 409.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("PATCH /users/{id} - 409 se l'email è già usata")
+    void patchUserWithDuplicateEmail() throws Exception {
+        userRepository.save(new User("Mario Rossi", "mario.rossi@example.com"));
+        User user = userRepository.save(new User("Luigi Bianchi", "luigi.bianchi@example.com"));
+
+        mockMvc.perform(patch("/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"mario.rossi@example.com\"}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch("/users/{id}", user.getId())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Luigi Verdi\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Luigi Verdi"))
+                .andExpect(jsonPath("$.email").value("luigi.bianchi@example.com"));
+    }
+
+    /**
+     * Polls the authors with the tags of the previous responses and verifies:
+     * <ul>
+     *     <li>the list carries a weak tag, and an unchanged list is answered with 304 and no
+     *     query</li>
+     *     <li>an author is answered with 304 while its version is unchanged</li>
+     *     <li>a patch changes both tags, and the next poll gets the new content</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /authors - 304 finché l'elenco non cambia")
+    void conditionalGet() throws Exception {
+        String created = mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Grazia Deledda\",\"nationality\":\"Italiana\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.<Number>read(created, "$.id").longValue();
+        String listTag = mockMvc.perform(get("/authors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/authors/{id}", id)).andExpect(header().string("ETag", "\"0\""));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/authors").header("If-None-Match", listTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", listTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/authors/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(patch("/authors/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nationality\":\"Sarda\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/authors").header("If-None-Match", listTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(listTag)))
+                .andExpect(jsonPath("$[0].nationality").value("Sarda"));
+        mockMvc.perform(get("/authors/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+}
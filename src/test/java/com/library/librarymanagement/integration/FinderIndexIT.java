@@ -0,0 +1,92 @@
+package com.library.librarymanagement.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the indexes behind the filtered finders.
+ * <p>
+ * These tests ask H2 for the plan of each filtered query, written as the repositories send it,
+ * and verify that the plan uses the expected index instead of scanning the table.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>books by author, year and title prefix</li>
+ *     <li>rows read by a short title prefix, with {@code EXPLAIN ANALYZE}</li>
+ *     <li>users by email, through a unique index</li>
+ * </ul>
+ */
+@SpringBootTest
+class FinderIndexIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Explains the book finders and verifies that each one seeks its own index. The title
+     * prefix query carries an index hint; the plan must turn its pattern into a range seek.
+     */
+    @Test
+    @DisplayName("Filtri sui libri serviti dagli indici")
+    void bookFindersUseIndexes() {
+        assertThat(plan("select * from book where author = ? and id > ? order by id fetch first 100 rows only",
+                "Umberto Eco", 0)).contains("IDX_BOOK_AUTHOR:");
+        assertThat(plan("select * from book where publication_year = ? and id > ? order by id fetch first 100 rows only",
+                1980, 0)).contains("IDX_BOOK_PUBLICATION_YEAR");
+        assertThat(plan("select * from book use index (idx_book_title) "
+                        + "where title like ? escape '\\' and id > ? order by id fetch first 100 rows only",
+                "Il nome%", 0)).contains("IDX_BOOK_TITLE: TITLE >=");
+    }
+
+    /**
+     * Inserts 1 000 books sharing the first letter of their title, rolled back after the test,
+     * and verifies that a page of 10 of them reads every one: the index range of a prefix is
+     * read and sorted by ID before the page is cut, so the cost grows with the matches.
+     */
+    @Test
+    @Transactional
+    @DisplayName("Un prefisso breve legge tutte le righe corrispondenti")
+    void shortTitlePrefixReadsEveryMatch() {
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            books.add(new Object[]{9_000_000L + i, "Zibaldone " + i, "Giacomo Leopardi", 1898});
+        }
+        jdbcTemplate.batchUpdate("insert into book (id, title, author, publication_year) values (?, ?, ?, ?)", books);
+
+        String plan = jdbcTemplate.queryForObject("explain analyze select * from book use index (idx_book_title) "
+                + "where title like ? escape '\\' and id > ? order by id fetch first 10 rows only", String.class, "Z%", 0);
+
+        assertThat(plan).contains("IDX_BOOK_TITLE: TITLE >=");
+        Matcher scanCount = Pattern.compile("scanCount: (\\d+)").matcher(plan);
+        assertThat(scanCount.find()).isTrue();
+        assertThat(Integer.parseInt(scanCount.group(1))).isGreaterThanOrEqualTo(1000);
+    }
+
+    /**
+     * Explains the lookup by email and verifies that it seeks the unique index.
+     */
+    @Test
+    @DisplayName("Ricerca per email servita dall'indice univoco")
+    void userFinderUsesUniqueIndex() {
+        assertThat(plan("select * from users where email = ?", "mario.rossi@example.com"))
+                .contains("UK_USERS_EMAIL");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.table_constraints "
+                        + "where constraint_name = 'UK_USERS_EMAIL' and constraint_type = 'UNIQUE'", Integer.class)).isEqualTo(1);
+    }
+
+    private String plan(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+}
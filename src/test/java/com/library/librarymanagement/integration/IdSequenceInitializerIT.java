@@ -0,0 +1,80 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.config.IdSequenceInitializer;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link IdSequenceInitializer}.
+ * <p>
+ * These tests simulate rows inserted with explicit identifiers, bypassing the sequence,
+ * and verify that the sequence is moved past the identifiers already in use.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>sequence restart after existing rows</li>
+ *     <li>no change on an aligned sequence</li>
+ * </ul>
+ */
+@SpringBootTest
+class IdSequenceInitializerIT {
+
+    @Autowired
+    private IdSequenceInitializer initializer;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ensure a clean repository before every test case.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+    }
+
+    /**
+     * Inserts a row with an identifier ahead of the sequence, as an import script would, and
+     * verifies that the sequence restarts right after it.
+     */
+    @Test
+    @DisplayName("Riallinea la sequenza agli ID esistenti")
+    void restartsSequenceAfterExistingRows() {
+        jdbcTemplate.update("INSERT INTO book (id, title, author, publication_year) VALUES (?, ?, ?, ?)",
+                1_000_000L, "Legacy", "A", 1950);
+
+        initializer.align("book", "book_seq");
+
+        assertThat(nextSequenceValue()).isEqualTo(1_000_001L);
+    }
+
+    /**
+     * Verifies that a sequence already ahead of the stored identifiers is left untouched.
+     */
+    @Test
+    @DisplayName("Non modifica una sequenza già allineata")
+    void leavesAlignedSequenceUntouched() {
+        Book saved = bookRepository.save(new Book("Nuovo", "B", 2020));
+        long before = nextSequenceValue();
+
+        initializer.align("book", "book_seq");
+
+        assertThat(nextSequenceValue()).isEqualTo(before).isGreaterThan(saved.getId());
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOK_SEQ'", Long.class);
+    }
+}
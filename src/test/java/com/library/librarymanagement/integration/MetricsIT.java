@@ -0,0 +1,73 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the metrics exposed at {@code /actuator/prometheus}.
+ * <p>
+ * A few requests are sent through the REST API first, then the scrape output is checked for
+ * each family of meters.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>per-endpoint latency histogram</li>
+ *     <li>connection pool utilisation</li>
+ *     <li>Hibernate statistics</li>
+ *     <li>read cache hits and misses</li>
+ * </ul>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    /**
+     * Reads a book twice (one cache miss, one hit) and an unknown book (404), then verifies
+     * that all the meter families show up in Prometheus format.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /actuator/prometheus - espone le metriche")
+    void exposesPrometheusMetrics() throws Exception {
+        Long id = bookRepository.save(new Book("Il Gattopardo", "Giuseppe Tomasi di Lampedusa", 1958)).getId();
+        mockMvc.perform(get("/books/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/books/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/books/{id}", -1L)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{application=\"library-management\",error=\"none\","
+                                + "exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\","
+                                + "uri=\"/books/{id}\"")))
+                .andExpect(content().string(containsString("status=\"404\",uri=\"/books/{id}\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")))
+                .andExpect(content().string(containsString(
+                        "cache_gets_total{application=\"library-management\",cache=\"books\","
+                                + "region=\"by-id\",result=\"hit\"} 1.0")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
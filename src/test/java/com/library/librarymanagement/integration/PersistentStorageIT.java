@@ -0,0 +1,81 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.LibraryManagementApplication;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.service.BookSearchHit;
+import com.library.librarymanagement.service.BookSearchIndex;
+import com.library.librarymanagement.service.BookStatistics;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@code persistent} profile.
+ * <p>
+ * The application is started twice on the same data directory, as a restart would, so the
+ * second start opens the file written by the first one.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>the schema is created by Flyway, then only validated</li>
+ *     <li>stored books survive a restart</li>
+ *     <li>the search index and the statistics are rebuilt from the file</li>
+ *     <li>new identifiers follow the stored ones</li>
+ * </ul>
+ */
+class PersistentStorageIT {
+
+    @TempDir
+    private Path dataDir;
+
+    /**
+     * Stores a book, restarts the application and verifies that the book, its views and the
+     * migration history are still there.
+     */
+    @Test
+    @DisplayName("I dati restano dopo il riavvio")
+    void dataSurvivesRestart() {
+        Long storedId;
+        try (ConfigurableApplicationContext context = start()) {
+            storedId = context.getBean(BookRepository.class)
+                    .save(new Book("Il nome della rosa", "Umberto Eco", 1980)).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            BookRepository bookRepository = context.getBean(BookRepository.class);
+            assertThat(bookRepository.findById(storedId))
+                    .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("Il nome della rosa"));
+            assertThat(context.getBean(BookSearchIndex.class).search("rosa", 10))
+                    .extracting(BookSearchHit::id).containsExactly(storedId);
+            assertThat(context.getBean(BookStatistics.class).snapshot().total()).isEqualTo(1);
+
+            MigrationInfoService migrations = context.getBean(Flyway.class).info();
+            assertThat(migrations.applied()).extracting(MigrationInfo::getVersion)
+                    .containsExactly(MigrationVersion.fromVersion("1"));
+            assertThat(migrations.pending()).isEmpty();
+
+            Book next = bookRepository.save(new Book("Il pendolo di Foucault", "Umberto Eco", 1988));
+            assertThat(next.getId()).isGreaterThan(storedId);
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .profiles("persistent")
+                .run("--library.data-dir=" + dataDir,
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off");
+    }
+}
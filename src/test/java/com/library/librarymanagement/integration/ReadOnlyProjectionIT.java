@@ -0,0 +1,90 @@
+package com.library.librarymanagement.integration;
+
+import com.library.librarymanagement.entity.Author;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.entity.User;
+import com.library.librarymanagement.repository.AuthorRepository;
+import com.library.librarymanagement.repository.BookRepository;
+import com.library.librarymanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the read-only projection queries behind the list endpoints.
+ * <p>
+ * These tests read Hibernate's statistics around the page queries of the three repositories
+ * and verify that rows are returned as copies, without loading entities.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>no entity is loaded into a persistence context</li>
+ *     <li>the copies carry every serialised attribute, including the author ID of a book</li>
+ * </ul>
+ */
+@SpringBootTest
+class ReadOnlyProjectionIT {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Ensure clean repositories before every test case.
+     */
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Loads one page of each resource and verifies that three queries ran and no entity
+     * was loaded.
+     */
+    @Test
+    @DisplayName("Pagine caricate come copie in sola lettura")
+    void pagesAreLoadedWithoutEntities() {
+        Author author = authorRepository.save(new Author("Elsa Morante", "Italiana"));
+        Book book = new Book("La storia", "Elsa Morante", 1974);
+        book.setAuthorRef(author);
+        bookRepository.save(book);
+        userRepository.save(new User("Mario Rossi", "mario.rossi@example.com"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(books).singleElement().satisfies(b -> {
+            assertThat(b.getTitle()).isEqualTo("La storia");
+            assertThat(b.getPublicationYear()).isEqualTo(1974);
+            assertThat(b.getAuthorId()).isEqualTo(author.getId());
+        });
+        assertThat(authors).extracting(Author::getNationality).containsExactly("Italiana");
+        assertThat(users).extracting(User::getEmail).containsExactly("mario.rossi@example.com");
+    }
+}
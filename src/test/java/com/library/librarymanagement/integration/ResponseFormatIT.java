@@ -0,0 +1,223 @@
+package com.library.librarymanagement.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.library.librarymanagement.cache.EntityCache;
+import com.library.librarymanagement.entity.Book;
+import com.library.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the response formats and their compression.
+ * <p>
+ * The application runs on a real embedded server, because compression is applied by Tomcat.
+ * Requests are sent with the JDK client, which does not decompress responses on its own.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>GET /books, /authors, /users in JSON, CBOR and Smile</li>
+ *     <li>the binary formats carry the same document as JSON, in fewer bytes</li>
+ *     <li>lists are gzip-compressed when the client accepts it</li>
+ *     <li>single entities, which carry a strong {@code ETag}, are not compressed</li>
+ *     <li>responses vary on {@code Accept}, and each format has its own {@code ETag}</li>
+ *     <li>JSON lists are assembled from the cached encodings, with their length, and follow
+ *     updates</li>
+ * </ul>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseFormatIT {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityCache<Book> bookCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long after;
+    private Long firstId;
+
+    /**
+     * Stores a page of books. Each test reads the books it stored, starting after the books of
+     * the previous tests, so no cached page is reused.
+     */
+    @BeforeEach
+    void setup() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            books.add(new Book("Titolo " + i, "Autore " + (i % 20), 1900 + i % 120));
+        }
+        List<Book> saved = bookRepository.saveAll(books);
+        firstId = saved.getFirst().getId();
+        after = firstId - 1;
+    }
+
+    /**
+     * Verifies that CBOR and Smile decode to the JSON document and are smaller.
+     */
+    @Test
+    @DisplayName("CBOR e Smile contengono lo stesso documento del JSON")
+    void binaryFormatsCarrySameDocument() throws Exception {
+        String page = "/books?limit=300&after=" + after;
+        HttpResponse<byte[]> json = get(page, "application/json", null);
+        HttpResponse<byte[]> cbor = get(page, CBOR, null);
+        HttpResponse<byte[]> smile = get(page, SMILE, null);
+
+        assertThat(json.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("application/json"));
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue(CBOR);
+        assertThat(smile.headers().firstValue("Content-Type")).hasValue(SMILE);
+
+        JsonNode document = new ObjectMapper().readTree(json.body());
+        assertThat(document).hasSize(300);
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor.body())).isEqualTo(document);
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile.body())).isEqualTo(document);
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+        assertThat(smile.body().length).isLessThan(cbor.body().length);
+    }
+
+    /**
+     * Verifies that JSON is the default and that authors and users are also negotiated.
+     */
+    @Test
+    @DisplayName("Tutte le liste supportano i formati binari")
+    void allListsNegotiate() throws Exception {
+        assertThat(get("/books?limit=1", "*/*", null).headers().firstValue("Content-Type"))
+                .hasValueSatisfying(type -> assertThat(type).startsWith("application/json"));
+        for (String list : List.of("/authors", "/users")) {
+            HttpResponse<byte[]> response = get(list, CBOR, null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue(CBOR);
+            assertThat(new ObjectMapper(new CBORFactory()).readTree(response.body()).isArray()).isTrue();
+        }
+    }
+
+    /**
+     * Verifies that lists are gzip-compressed on request, in every format, and single books are
+     * not.
+     */
+    @Test
+    @DisplayName("Le liste sono compresse con gzip")
+    void listsAreCompressed() throws Exception {
+        String page = "/books?limit=300&after=" + after;
+        for (String format : List.of("application/json", CBOR, SMILE)) {
+            HttpResponse<byte[]> plain = get(page, format, null);
+            HttpResponse<byte[]> compressed = get(page, format, "gzip");
+
+            assertThat(compressed.headers().firstValue("Content-Encoding")).as(format).hasValue("gzip");
+            assertThat(gunzip(compressed.body())).as(format).isEqualTo(plain.body());
+            assertThat(compressed.body().length).as(format).isLessThan(plain.body().length / 2);
+        }
+
+        HttpResponse<byte[]> book = get("/books/" + firstId, "application/json", "gzip");
+        assertThat(book.headers().firstValue("ETag")).isPresent();
+        assertThat(book.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    /**
+     * Verifies that responses declare {@code Vary: Accept} and that the tag of one format does
+     * not revalidate another.
+     */
+    @Test
+    @DisplayName("Ogni formato ha il proprio ETag")
+    void eachFormatHasItsOwnTag() throws Exception {
+        String item = "/books/" + firstId;
+        HttpResponse<byte[]> json = get(item, "application/json", null);
+        HttpResponse<byte[]> cbor = get(item, CBOR, null);
+        HttpResponse<byte[]> smile = get(item, SMILE, null);
+
+        assertThat(json.headers().firstValue("ETag")).hasValue("\"0\"");
+        assertThat(cbor.headers().firstValue("ETag")).hasValue("\"0-cbor\"");
+        assertThat(smile.headers().firstValue("ETag")).hasValue("\"0-smile\"");
+        assertThat(json.headers().allValues("Vary")).contains("Accept");
+        assertThat(get("/books?limit=1", CBOR, null).headers().firstValue("ETag"))
+                .hasValueSatisfying(tag -> assertThat(tag).startsWith("W/\"").endsWith("-cbor\""));
+
+        HttpResponse<byte[]> other = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + item))
+                .header("Accept", CBOR)
+                .header("If-None-Match", "\"0\"")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(other.statusCode()).isEqualTo(200);
+        HttpResponse<byte[]> same = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + item))
+                .header("Accept", CBOR)
+                .header("If-None-Match", "\"0-cbor\"")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(same.statusCode()).isEqualTo(304);
+        assertThat(same.headers().allValues("Vary")).contains("Accept");
+    }
+
+    /**
+     * Verifies that a JSON list is the document Jackson writes, is served from the cached
+     * encodings on the next request, and shows an update made through the API.
+     */
+    @Test
+    @DisplayName("Le liste JSON sono composte dalle codifiche in cache")
+    void listsReuseCachedEncodings() throws Exception {
+        String page = "/books?limit=300&after=" + after;
+        HttpResponse<byte[]> first = get(page, "application/json", null);
+        List<Book> books = bookRepository.findAllById(List.of(firstId));
+        assertThat(first.headers().firstValueAsLong("Content-Length")).hasValue(first.body().length);
+        assertThat(objectMapper.readTree(first.body()).get(0))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(books.getFirst())));
+
+        long hits = bookCache.encodedStats().hitCount();
+        get("/books?limit=299&after=" + firstId, "application/json", null);
+        assertThat(bookCache.encodedStats().hitCount() - hits).isEqualTo(299);
+
+        HttpResponse<byte[]> updated = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/books/" + firstId))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Titolo cambiato\",\"author\":\"Autore 0\",\"publicationYear\":1900}"))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(updated.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(get(page, "application/json", null).body()).get(0).get("title").asText())
+                .isEqualTo("Titolo cambiato");
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).as(path).isEqualTo(200);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +28,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <ul>
  *     <li>POST /users — create a user</li>
  *     <li>GET  /users — list users</li>
+ *     <li>GET  /users?email= — lookup by email</li>
+ *     <li>POST /users/batch — only the duplicate emails fail</li>
  *     <li>PUT  /users/{id} — update user</li>
  *     <li>DELETE /users/{id} — delete user</li>
  * </ul>
@@ -91,6 +95,7 @@ class UserControllerIT {
      * <ul>
      *     <li>the HTTP response contains updated attributes</li>
      *     <li>the persisted state matches the expected values</li>
+     *     <li>a cached read of the user reflects the update</li>
      * </ul>
      *
      * @throws Exception if MockMvc request execution fails
@@ -101,6 +106,10 @@ class UserControllerIT {
         User saved = userRepository.save(new User("Nome Vecchio", "old@example.com"));
         Long id = saved.getId();
 
+        mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Nome Vecchio"));
+
         User update = new User("Nome Nuovo", "new@example.com");
 
         mockMvc.perform(put("/users/{id}", id)
@@ -110,6 +119,10 @@ class UserControllerIT {
                 .andExpect(jsonPath("$.name").value("Nome Nuovo"))
                 .andExpect(jsonPath("$.email").value("new@example.com"));
 
+        mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Nome Nuovo"));
+
         User reloaded = userRepository.findById(id).orElseThrow();
         assertThat(reloaded.getName()).isEqualTo("Nome Nuovo");
         assertThat(reloaded.getEmail()).isEqualTo("new@example.com");
@@ -132,4 +145,66 @@ class UserControllerIT {
 
         assertThat(userRepository.findById(id)).isEmpty();
     }
+
+    /**
+     * Looks users up by email and verifies:
+     * <ul>
+     *     <li>the user with the address is returned as a one-element list</li>
+     *     <li>an unknown address returns an empty list</li>
+     *     <li>creating a second user with the same address is rejected with 409</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("GET /users?email= - ricerca per email univoca")
+    void findUserByEmail() throws Exception {
+        userRepository.save(new User("Anna Bianchi", "anna.bianchi@example.com"));
+        User luca = userRepository.save(new User("Luca Verdi", "luca.verdi@example.com"));
+
+        mockMvc.perform(get("/users").param("email", "luca.verdi@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(luca.getId()));
+
+        mockMvc.perform(get("/users").param("email", "nessuno@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new User("Omonimo", "luca.verdi@example.com"))))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Creates users in bulk, one of them with the email of a stored user, and verifies:
+     * <ul>
+     *     <li>only that user fails, the others of the same chunk are created</li>
+     *     <li>the reason names the constraint without quoting any email</li>
+     * </ul>
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("POST /users/batch - fallisce solo l'email duplicata")
+    void createUsersInBatchReportsEachFailure() throws Exception {
+        userRepository.save(new User("Anna Bianchi", "anna.bianchi@example.com"));
+        List<User> users = List.of(
+                new User("Luca Verdi", "luca.verdi@example.com"),
+                new User("Omonima", "anna.bianchi@example.com"),
+                new User("Sara Neri", "sara.neri@example.com"));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error").value("duplicate value (uk_users_email)"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        assertThat(userRepository.findAll()).extracting(User::getEmail).containsExactlyInAnyOrder(
+                "anna.bianchi@example.com", "luca.verdi@example.com", "sara.neri@example.com");
+    }
 }
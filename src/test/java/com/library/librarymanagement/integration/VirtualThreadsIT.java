@@ -0,0 +1,96 @@
+package com.library.librarymanagement.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@code virtual-threads} profile.
+ * <p>
+ * The application runs on a real embedded server, so requests go through the Tomcat
+ * executor configured by the profile.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>requests are handled on virtual threads</li>
+ *     <li>the connection pool has the configured fixed size</li>
+ *     <li>GET /books answers normally</li>
+ * </ul>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Reports whether the thread handling the request is virtual.
+     */
+    @TestConfiguration
+    static class ThreadProbeConfig {
+
+        @Bean
+        ThreadProbeController threadProbeController() {
+            return new ThreadProbeController();
+        }
+    }
+
+    @RestController
+    static class ThreadProbeController {
+
+        @GetMapping("/test/thread")
+        boolean isVirtual() {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+
+    /**
+     * Verifies that Tomcat dispatches the request to a virtual thread.
+     */
+    @Test
+    @DisplayName("Le richieste sono gestite da thread virtuali")
+    void requestsRunOnVirtualThreads() {
+        assertThat(restTemplate.getForObject("/test/thread", Boolean.class)).isTrue();
+    }
+
+    /**
+     * Verifies the pool settings of the profile.
+     */
+    @Test
+    @DisplayName("Il pool di connessioni ha dimensione fissa")
+    void connectionPoolIsSized() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(20);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(2000);
+    }
+
+    /**
+     * Verifies that a regular endpoint answers on the virtual-thread executor.
+     */
+    @Test
+    @DisplayName("GET /books - risponde con thread virtuali")
+    void listBooks() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/books", String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.librarymanagement.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.library.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the write-behind mode of {@code POST /books}.
+ * <p>
+ * The application runs with {@code library.write-behind.enabled}, keeping the accepted books in
+ * memory; books are stored by the background writer in the real database.
+ *
+ * <h2>Scope</h2>
+ * <ul>
+ *     <li>POST /books — 202 with a tracking ID and its {@code Location}</li>
+ *     <li>GET /books/ingest/{trackingId} — the generated ID once the book is stored</li>
+ *     <li>GET /books/{id} — the stored book</li>
+ * </ul>
+ */
+@SpringBootTest(properties = "library.write-behind.enabled=true")
+@AutoConfigureMockMvc
+class WriteBehindIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+    }
+
+    /**
+     * Creates a book, polls its status until it is stored, then reads it by the generated ID.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    @DisplayName("POST /books - 202, poi il libro viene salvato")
+    void acceptsThenStores() throws Exception {
+        String location = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Il sentiero dei nidi di ragno\",\"author\":\"Italo Calvino\",\"publicationYear\":1947}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/books/ingest/")))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andReturn().getResponse().getHeader("Location");
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().contains("CREATED"));
+        Number id = JsonPath.read(mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get("/books/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Il sentiero dei nidi di ragno"));
+        mockMvc.perform(get("/books/ingest/unknown")).andExpect(status().isNotFound());
+    }
+}